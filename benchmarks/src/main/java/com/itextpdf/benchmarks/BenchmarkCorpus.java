@@ -0,0 +1,221 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the documents and texts the benchmarks run on.
+ * <p>
+ * The corpora are generated from a fixed seed, so every run of every benchmark processes
+ * exactly the same content, which makes the results of different builds comparable.
+ * Only the creation dates and the document ids of the generated PDFs differ between runs.
+ */
+public final class BenchmarkCorpus {
+
+    public static final String NOTO_SERIF = "NotoSerif-Regular.ttf";
+    public static final String PURITAN = "Puritan2.otf";
+
+    private static final long SEED = 0x17E47L;
+
+    private static final String[] SYLLABLES = {"lo", "rem", "ip", "sum", "do", "lor", "sit", "a", "met", "con",
+            "sec", "te", "tur", "ad", "pi", "scing", "e", "lit", "sed", "eius", "mod", "tem", "por", "in", "ci",
+            "dunt", "ut", "la", "bo", "re", "et", "ma", "gna", "al", "iqua"};
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Generates the words of a pseudo text.
+     *
+     * @param count the number of words to generate
+     * @param seed  the seed, different seeds give different texts
+     * @return the list of the generated words
+     */
+    public static List<String> createWords(int count, long seed) {
+        Random random = new Random(SEED ^ seed);
+        List<String> words = new ArrayList<>(count);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.setLength(0);
+            int syllables = 1 + random.nextInt(4);
+            for (int k = 0; k < syllables; k++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            if (random.nextInt(12) == 0) {
+                word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Generates a pseudo text.
+     *
+     * @param wordCount the number of words in the text
+     * @param seed      the seed, different seeds give different texts
+     * @return the generated text
+     */
+    public static String createText(int wordCount, long seed) {
+        StringBuilder text = new StringBuilder();
+        for (String word : createWords(wordCount, seed)) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Generates a document of text paragraphs interleaved with small tables.
+     *
+     * @param pages           the approximate number of pages in the document
+     * @param fullCompression true if the document shall be written in full compression mode
+     * @return the bytes of the generated document
+     * @throws IOException
+     */
+    public static byte[] createTextDocument(int pages, boolean fullCompression) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties();
+        if (fullCompression) {
+            properties.setFullCompressionMode(true);
+        }
+        Document document = new Document(new PdfDocument(new PdfWriter(baos, properties)));
+        // a page holds roughly six paragraphs of this size and a table
+        for (int i = 0; i < pages; i++) {
+            for (int k = 0; k < 5; k++) {
+                document.add(new Paragraph(createText(80, i * 8 + k)));
+            }
+            document.add(createTable(4, 3, i));
+        }
+        document.close();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Generates a table filled with pseudo words.
+     *
+     * @param columns the number of columns
+     * @param rows    the number of rows
+     * @param seed    the seed, different seeds give different contents
+     * @return the generated table
+     */
+    public static Table createTable(int columns, int rows, long seed) {
+        Table table = new Table(columns);
+        List<String> words = createWords(columns * rows * 3, seed);
+        for (int i = 0; i < columns * rows; i++) {
+            table.addCell(words.get(3 * i) + " " + words.get(3 * i + 1) + " " + words.get(3 * i + 2));
+        }
+        return table;
+    }
+
+    /**
+     * Reads one of the fonts bundled with the benchmarks.
+     *
+     * @param name the file name of the font
+     * @return the bytes of the font program
+     * @throws IOException
+     */
+    public static byte[] loadFont(String name) throws IOException {
+        InputStream is = BenchmarkCorpus.class.getResourceAsStream("fonts/" + name);
+        if (is == null) {
+            throw new IOException("Benchmark font not found: " + name);
+        }
+        try {
+            return StreamUtil.inputStreamToArray(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Writes the generated documents to a directory, so that they could be inspected
+     * or processed by other tools.
+     *
+     * @param args the output directory
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: BenchmarkCorpus <output directory>");
+            return;
+        }
+        File dir = new File(args[0]);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can't create directory " + dir);
+        }
+        int[] sizes = {10, 100, 1000};
+        for (int pages : sizes) {
+            write(createTextDocument(pages, false), new File(dir, "text" + pages + ".pdf"));
+            write(createTextDocument(pages, true), new File(dir, "text" + pages + "_fullCompression.pdf"));
+        }
+    }
+
+    private static void write(byte[] bytes, File file) throws IOException {
+        OutputStream os = new FileOutputStream(file);
+        try {
+            os.write(bytes);
+        } finally {
+            os.close();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two sets of benchmark results and reports the changes of the scores.
+ * <p>
+ * The results are read from the CSV files written by JMH with the {@code -rf csv -rff <file>} options.
+ * A benchmark is reported as regressed if its score got worse by more than the given threshold,
+ * which is 10 percent by default. The exit code is 1 if there are regressions, so that the report
+ * could be used to fail a build.
+ */
+public final class BenchmarkReport {
+
+    private static final double DEFAULT_THRESHOLD = 10;
+    private static final String BENCHMARKS_PACKAGE = BenchmarkReport.class.getPackage().getName() + ".";
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args the baseline results file, the current results file and, optionally, the threshold in percent
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BenchmarkReport <baseline.csv> <current.csv> [threshold percent]");
+            return;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        int regressions = compare(readResults(args[0]), readResults(args[1]), threshold, System.out);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the comparison of the results.
+     *
+     * @param baseline  the baseline results
+     * @param current   the current results
+     * @param threshold the change of a score in percent, above which a benchmark is considered regressed
+     * @param out       the stream to print the report to
+     * @return the number of regressed benchmarks
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> current, double threshold, PrintStream out) {
+        int regressions = 0;
+        out.println(String.format(Locale.US, "%-60s %6s %14s %14s %9s %s", "Benchmark", "Mode", "Baseline", "Current", "Change", "Unit"));
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result result = entry.getValue();
+            Result base = baseline.get(entry.getKey());
+            if (base == null) {
+                out.println(String.format(Locale.US, "%-60s %6s %14s %14.3f %9s %s", entry.getKey(), result.mode, "-", result.score, "new", result.unit));
+                continue;
+            }
+            if (!base.unit.equals(result.unit)) {
+                out.println(String.format(Locale.US, "%-60s %6s %14s %14s %9s %s", entry.getKey(), result.mode, base.unit, result.unit, "unit?", ""));
+                continue;
+            }
+            double change = base.score == 0 ? 0 : (result.score - base.score) / base.score * 100;
+            // throughput is better when higher, all the other modes measure time
+            double worsening = "thrpt".equals(result.mode) ? -change : change;
+            boolean regressed = worsening > threshold && Math.abs(result.score - base.score) > base.error + result.error;
+            if (regressed) {
+                regressions++;
+            }
+            out.println(String.format(Locale.US, "%-60s %6s %14.3f %14.3f %+8.1f%% %s%s", entry.getKey(), result.mode,
+                    base.score, result.score, change, result.unit, regressed ? "  REGRESSION" : ""));
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                out.println(String.format(Locale.US, "%-60s %6s %14s %14s %9s", name, baseline.get(name).mode, "", "-", "missing"));
+            }
+        }
+        out.println(String.format(Locale.US, "%d regression(s) above %.1f%%", regressions, threshold));
+        return regressions;
+    }
+
+    /**
+     * Reads the results from a JMH CSV file.
+     *
+     * @param file the path to the file
+     * @return the results by the benchmark name with the parameter values appended
+     * @throws IOException
+     */
+    static Map<String, Result> readResults(String file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+        try {
+            String line = reader.readLine();
+            if (line == null) {
+                return results;
+            }
+            List<String> header = splitCsvLine(line);
+            int benchmarkIndex = header.indexOf("Benchmark");
+            int modeIndex = header.indexOf("Mode");
+            int scoreIndex = header.indexOf("Score");
+            int errorIndex = header.indexOf("Score Error (99.9%)");
+            int unitIndex = header.indexOf("Unit");
+            if (benchmarkIndex < 0 || modeIndex < 0 || scoreIndex < 0 || unitIndex < 0) {
+                throw new IOException("Not a JMH results file: " + file);
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                List<String> values = splitCsvLine(line);
+                String benchmark = values.get(benchmarkIndex);
+                if (benchmark.startsWith(BENCHMARKS_PACKAGE)) {
+                    benchmark = benchmark.substring(BENCHMARKS_PACKAGE.length());
+                }
+                StringBuilder name = new StringBuilder(benchmark);
+                for (int i = 0; i < header.size() && i < values.size(); i++) {
+                    if (header.get(i).startsWith("Param: ") && !values.get(i).isEmpty()) {
+                        name.append(' ').append(header.get(i).substring("Param: ".length())).append('=').append(values.get(i));
+                    }
+                }
+                Result result = new Result(values.get(modeIndex), parseNumber(values.get(scoreIndex)),
+                        errorIndex >= 0 ? parseNumber(values.get(errorIndex)) : 0, values.get(unitIndex));
+                results.put(name.toString(), result);
+            }
+        } finally {
+            reader.close();
+        }
+        return results;
+    }
+
+    private static double parseNumber(String value) {
+        if (value.isEmpty() || "NaN".equals(value)) {
+            return 0;
+        }
+        // JMH writes the numbers with the default locale
+        return Double.parseDouble(value.replace(',', '.'));
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    static class Result {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+}
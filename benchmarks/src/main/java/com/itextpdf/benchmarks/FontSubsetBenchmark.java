@@ -0,0 +1,121 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.font.CFFFontSubset;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.TrueTypeFont;
+import com.itextpdf.io.font.otf.Glyph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures subsetting of a TrueType font with {@link TrueTypeFont#getSubset(Set, boolean)}
+ * and of a CFF based OpenType font with {@link CFFFontSubset}.
+ * The subsets consist of the glyphs used in a generated text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FontSubsetBenchmark {
+
+    @Param({"1000"})
+    public int words;
+
+    private TrueTypeFont trueTypeFont;
+    private Set<Integer> trueTypeGlyphs;
+
+    private byte[] cff;
+    private Map<Integer, int[]> cffGlyphs;
+
+    @Setup
+    public void setup() throws IOException {
+        String text = BenchmarkCorpus.createText(words, 0) + "0123456789.,;:!?";
+        trueTypeFont = (TrueTypeFont) FontProgramFactory.createFont(BenchmarkCorpus.loadFont(BenchmarkCorpus.NOTO_SERIF));
+        trueTypeGlyphs = new LinkedHashSet<>();
+        TrueTypeFont cffFont = (TrueTypeFont) FontProgramFactory.createFont(BenchmarkCorpus.loadFont(BenchmarkCorpus.PURITAN));
+        cff = cffFont.getFontStreamBytes();
+        cffGlyphs = new HashMap<>();
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = trueTypeFont.getGlyph(text.charAt(i));
+            if (glyph != null) {
+                trueTypeGlyphs.add(glyph.getCode());
+            }
+            glyph = cffFont.getGlyph(text.charAt(i));
+            if (glyph != null) {
+                cffGlyphs.put(glyph.getCode(), new int[]{glyph.getCode(), glyph.getWidth(), glyph.getUnicode()});
+            }
+        }
+    }
+
+    @Benchmark
+    public int trueTypeSubset() {
+        return trueTypeFont.getSubset(new LinkedHashSet<>(trueTypeGlyphs), true).length;
+    }
+
+    @Benchmark
+    public int cffSubset() {
+        CFFFontSubset subset = new CFFFontSubset(cff, new HashMap<>(cffGlyphs));
+        return subset.Process(subset.getNames()[0]).length;
+    }
+}
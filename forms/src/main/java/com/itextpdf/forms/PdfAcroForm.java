@@ -43,6 +43,7 @@
  */
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.FormFieldFontCache;
 import com.itextpdf.forms.fields.PdfFormField;
 import com.itextpdf.forms.xfa.XfaForm;
 import com.itextpdf.kernel.PdfException;
@@ -66,6 +67,7 @@ import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -127,8 +129,14 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
     private static PdfName[] resourceNames = {PdfName.Font, PdfName.XObject, PdfName.ColorSpace, PdfName.Pattern};
     private PdfDictionary defaultResources;
     private Set<PdfFormField> fieldsForFlattening = new LinkedHashSet<>();
+    private boolean flushFlattenedPages;
     private XfaForm xfaForm;
 
+    /**
+     * The fonts shared by the appearances of the fields which are got from the form or added to it.
+     */
+    private FormFieldFontCache fontCache = new FormFieldFontCache();
+
     /**
      * Creates a PdfAcroForm as a wrapper of a dictionary.
      * Also initializes an XFA form if an <code>/XFA</code> entry is present in
@@ -219,6 +227,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         }
 
         getFields().add(fieldDic);
+        field.setFontCache(fontCache);
         fields.put(field.getFieldName().toUnicodeString(), field);
         if (field.getKids() != null) {
             iterateFields(field.getKids(), fields);
@@ -573,11 +582,39 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         this.generateAppearance = generateAppearance;
     }
 
+    /**
+     * Gets the attribute flushFlattenedPages, which tells {@link #flattenFields()}
+     * to flush every page as soon as all of its fields are flattened.
+     *
+     * @return boolean value indicating if the pages are flushed during flattening
+     */
+    public boolean isFlushFlattenedPages() {
+        return flushFlattenedPages;
+    }
+
+    /**
+     * Sets the attribute flushFlattenedPages, which tells {@link #flattenFields()}
+     * to flush every page as soon as all of its fields are flattened.
+     *
+     * Flushing the pages keeps memory consumption low when large forms are
+     * flattened, but the pages which contained flattened fields can't be
+     * modified afterwards. The default is <CODE>false</CODE>.
+     *
+     * @param flushFlattenedPages a boolean
+     */
+    public void setFlushFlattenedPages(boolean flushFlattenedPages) {
+        this.flushFlattenedPages = flushFlattenedPages;
+    }
+
     /**
      * Flattens interactive {@link PdfFormField form field}s in the document. If
      * no fields have been explicitly included via {#link #partialFormFlattening},
      * then all fields are flattened. Otherwise only the included fields are
      * flattened.
+     * <br>
+     * The appearances of the fields of each page are drawn into a single content
+     * stream. See {@link #setFlushFlattenedPages(boolean)} for flushing the pages
+     * as soon as they are flattened.
      */
     public void flattenFields() {
         if (document.isAppendMode()) {
@@ -594,102 +631,132 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             }
         }
 
-        // In case of appearance resources and page resources are the same object, it would not be possible to add
-        // the xObject to the page resources. So in that case we would copy page resources and use the copy for
-        // xObject, so that circular reference is avoided.
-        // We copy beforehand firstly not to produce a copy every time, and secondly not to copy all the
-        // xObjects that have already been added to the page resources.
-        Map<Integer, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
-        for (int i = 1; i <= document.getNumberOfPages(); i++) {
-            PdfObject resources = document.getPage(i).getPdfObject().getAsDictionary(PdfName.Resources);
-            initialPageResourceClones.put(i, resources == null ? null : resources.clone());
-        }
-
-        PdfPage page;
+        // Widgets are grouped by their pages, so that every page is visited only once and all the appearances
+        // of a page are drawn into a single content stream.
+        Map<PdfPage, List<PdfFormField>> fieldsByPage = new LinkedHashMap<>();
+        Map<PdfDictionary, PdfPage> annotationPages = null;
         for (PdfFormField field : fields) {
             PdfDictionary fieldObject = field.getPdfObject();
-            page = getFieldPage(fieldObject);
+            PdfPage page;
+            PdfDictionary pageDic = fieldObject.getAsDictionary(PdfName.P);
+            if (pageDic != null) {
+                page = document.getPage(pageDic);
+            } else {
+                if (annotationPages == null) {
+                    annotationPages = getAnnotationPages();
+                }
+                page = annotationPages.get(fieldObject);
+            }
             if (page == null) {
                 continue;
             }
-
-            PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
-            TagTreePointer tagPointer = null;
-            if (annotation != null && document.isTagged()) {
-                tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
+            List<PdfFormField> pageFields = fieldsByPage.get(page);
+            if (pageFields == null) {
+                pageFields = new ArrayList<>();
+                fieldsByPage.put(page, pageFields);
             }
+            pageFields.add(field);
+        }
 
-            PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
-            PdfObject asNormal = null;
-            if (appDic != null) {
-                asNormal = appDic.getAsStream(PdfName.N);
-                if (asNormal == null) {
-                    asNormal = appDic.getAsDictionary(PdfName.N);
-                }
-            }
-            if (generateAppearance) {
-                if (appDic == null || asNormal == null) {
-                    field.regenerateField();
-                    appDic = fieldObject.getAsDictionary(PdfName.AP);
+        // In case of appearance resources and page resources are the same object, it would not be possible to add
+        // the xObject to the page resources. So in that case we would copy page resources and use the copy for
+        // xObject, so that circular reference is avoided.
+        // We copy the resources right before the first xObject is added to them, firstly not to produce a copy
+        // every time, and secondly not to copy all the xObjects that have already been added to the page resources.
+        // Pages may share the same resources dictionary, that's why the copies are kept per dictionary.
+        Map<PdfDictionary, PdfObject> initialResourcesClones = new HashMap<>();
+        for (Map.Entry<PdfPage, List<PdfFormField>> pageFields : fieldsByPage.entrySet()) {
+            PdfPage page = pageFields.getKey();
+            PdfCanvas canvas = null;
+            for (PdfFormField field : pageFields.getValue()) {
+                PdfDictionary fieldObject = field.getPdfObject();
+                PdfAnnotation annotation = PdfAnnotation.makeAnnotation(fieldObject);
+                TagTreePointer tagPointer = null;
+                if (annotation != null && document.isTagged()) {
+                    tagPointer = document.getTagStructureContext().removeAnnotationTag(annotation);
                 }
-            }
-            if (appDic != null) {
-                PdfObject normal = appDic.get(PdfName.N);
-                PdfFormXObject xObject = null;
-                if (normal.isStream()) {
-                    xObject = new PdfFormXObject((PdfStream) normal);
-                } else if (normal.isDictionary()) {
-                    PdfName as = fieldObject.getAsName(PdfName.AS);
-                    if (((PdfDictionary)normal).getAsStream(as) != null) {
-                        xObject = new PdfFormXObject(((PdfDictionary)normal).getAsStream(as));
-                        xObject.makeIndirect(document);
+
+                PdfDictionary appDic = fieldObject.getAsDictionary(PdfName.AP);
+                PdfObject asNormal = null;
+                if (appDic != null) {
+                    asNormal = appDic.getAsStream(PdfName.N);
+                    if (asNormal == null) {
+                        asNormal = appDic.getAsDictionary(PdfName.N);
                     }
                 }
-
-                // Subtype is required key, if there is no Subtype it is invalid XObject. DEVSIX-725
-                if (xObject != null && xObject.getPdfObject().get(PdfName.Subtype) != null) {
-                    Rectangle box = fieldObject.getAsRectangle(PdfName.Rect);
-                    if (page.isFlushed()) {
-                        throw new PdfException(PdfException.PageWasAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
+                if (generateAppearance) {
+                    if (appDic == null || asNormal == null) {
+                        field.regenerateField();
+                        appDic = fieldObject.getAsDictionary(PdfName.AP);
                     }
-                    PdfCanvas canvas = new PdfCanvas(page);
-
-                    // Here we avoid circular reference which might occur when page resources and the appearance xObject's
-                    // resources are the same object
-                    PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
-                    PdfObject pageResources = page.getResources().getPdfObject();
-                    if (xObjectResources != null && pageResources != null &&
-                            xObjectResources == pageResources) {
-                        xObject.getPdfObject().put(PdfName.Resources, initialPageResourceClones.get(document.getPageNumber(page)));
+                }
+                if (appDic != null) {
+                    PdfObject normal = appDic.get(PdfName.N);
+                    PdfFormXObject xObject = null;
+                    if (normal.isStream()) {
+                        xObject = new PdfFormXObject((PdfStream) normal);
+                    } else if (normal.isDictionary()) {
+                        PdfName as = fieldObject.getAsName(PdfName.AS);
+                        if (((PdfDictionary)normal).getAsStream(as) != null) {
+                            xObject = new PdfFormXObject(((PdfDictionary)normal).getAsStream(as));
+                            xObject.makeIndirect(document);
+                        }
                     }
 
-                    if (tagPointer != null) {
-                        tagPointer.setPageForTagging(page);
-                        TagReference tagRef = tagPointer.getTagReference();
-                        canvas.openTag(tagRef);
-                    }
-                    canvas.addXObject(xObject, box.getX(), box.getY());
-                    if (tagPointer != null) {
-                        canvas.closeTag();
+                    // Subtype is required key, if there is no Subtype it is invalid XObject. DEVSIX-725
+                    if (xObject != null && xObject.getPdfObject().get(PdfName.Subtype) != null) {
+                        Rectangle box = fieldObject.getAsRectangle(PdfName.Rect);
+                        if (canvas == null) {
+                            if (page.isFlushed()) {
+                                throw new PdfException(PdfException.PageWasAlreadyFlushedUseAddFieldAppearanceToPageMethodBeforePageFlushing);
+                            }
+                            PdfDictionary resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+                            if (resources != null && !initialResourcesClones.containsKey(resources)) {
+                                initialResourcesClones.put(resources, resources.clone());
+                            }
+                            canvas = new PdfCanvas(page);
+                        }
+
+                        // Here we avoid circular reference which might occur when page resources and the appearance xObject's
+                        // resources are the same object
+                        PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
+                        PdfObject pageResources = page.getResources().getPdfObject();
+                        if (xObjectResources != null && pageResources != null &&
+                                xObjectResources == pageResources) {
+                            xObject.getPdfObject().put(PdfName.Resources, initialResourcesClones.get(pageResources));
+                        }
+
+                        if (tagPointer != null) {
+                            tagPointer.setPageForTagging(page);
+                            TagReference tagRef = tagPointer.getTagReference();
+                            canvas.openTag(tagRef);
+                        }
+                        canvas.addXObject(xObject, box.getX(), box.getY());
+                        if (tagPointer != null) {
+                            canvas.closeTag();
+                        }
                     }
                 }
-            }
 
-            PdfArray fFields = getFields();
-            removeObjectFromArray(fFields, fieldObject);
-            if (annotation != null) {
-                page.removeAnnotation(annotation);
-            }
-            PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
-            if (parent != null) {
-                PdfArray kids = parent.getAsArray(PdfName.Kids);
-                removeObjectFromArray(kids, fieldObject);
-                // TODO what if parent was in it's turn the only child of it's parent (parent of parent)?
-                // shouldn't we remove them recursively? check it
-                if (kids.isEmpty()) {
-                    removeObjectFromArray(fFields, parent);
+                PdfArray fFields = getFields();
+                removeObjectFromArray(fFields, fieldObject);
+                if (annotation != null) {
+                    page.removeAnnotation(annotation);
+                }
+                PdfDictionary parent = fieldObject.getAsDictionary(PdfName.Parent);
+                if (parent != null) {
+                    PdfArray kids = parent.getAsArray(PdfName.Kids);
+                    removeObjectFromArray(kids, fieldObject);
+                    // TODO what if parent was in it's turn the only child of it's parent (parent of parent)?
+                    // shouldn't we remove them recursively? check it
+                    if (kids.isEmpty()) {
+                        removeObjectFromArray(fFields, parent);
+                    }
                 }
             }
+            if (flushFlattenedPages) {
+                page.flush();
+            }
         }
 
         getPdfObject().remove(PdfName.NeedAppearances);
@@ -815,6 +882,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         int index = 1;
         for (PdfObject field : array) {
             PdfFormField formField = PdfFormField.makeFormField(field, document);
+            formField.setFontCache(fontCache);
             PdfString fieldName = formField.getFieldName();
             String name;
             if (fieldName == null) {
@@ -1045,6 +1113,27 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return null;
     }
 
+    private Map<PdfDictionary, PdfPage> getAnnotationPages() {
+        Map<PdfDictionary, PdfPage> annotationPages = new HashMap<>();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            PdfPage page = document.getPage(i);
+            if (page.isFlushed()) {
+                continue;
+            }
+            PdfArray annots = page.getPdfObject().getAsArray(PdfName.Annots);
+            if (annots == null) {
+                continue;
+            }
+            for (int j = 0; j < annots.size(); j++) {
+                PdfDictionary annotDic = annots.getAsDictionary(j);
+                if (annotDic != null && !annotationPages.containsKey(annotDic)) {
+                    annotationPages.put(annotDic, page);
+                }
+            }
+        }
+        return annotationPages;
+    }
+
     private Set<PdfFormField> prepareFieldsForFlattening(PdfFormField field) {
         Set<PdfFormField> preparedFields = new LinkedHashSet<>();
         preparedFields.add(field);
@@ -1058,6 +1147,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
                     fieldDict = (PdfDictionary) kid;
                 }
                 PdfFormField kidField = new PdfFormField(fieldDict);
+                kidField.setFontCache(fontCache);
                 preparedFields.add(kidField);
                 if (kidField.getKids() != null) {
                     preparedFields.addAll(prepareFieldsForFlattening(kidField));
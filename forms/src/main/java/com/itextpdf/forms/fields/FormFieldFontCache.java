@@ -0,0 +1,107 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.forms.fields;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fonts used for the appearances of the form fields of a document. Fields drawn with the same font dictionary,
+ * or with the default font, share one {@link PdfFont} instance and thus its subset and its font dictionary.
+ * <br/>
+ * The cache is held by the {@link com.itextpdf.forms.PdfAcroForm} of the document and shared by the fields
+ * which are got from the form or added to it. A cached font is replaced once its dictionary has been flushed.
+ */
+public final class FormFieldFontCache implements Serializable {
+
+    private static final long serialVersionUID = -2187417734518302731L;
+
+    private final Map<PdfDictionary, PdfFont> fonts = new HashMap<>();
+
+    private PdfFont defaultFont;
+
+    /**
+     * Creates an empty font cache for the form fields of a document.
+     */
+    public FormFieldFontCache() {
+    }
+
+    /**
+     * Gets a {@link PdfFont} wrapping the specified font dictionary.
+     *
+     * @param dictionary the font dictionary
+     * @return the {@link PdfFont} instance for the dictionary
+     */
+    PdfFont getFont(PdfDictionary dictionary) {
+        PdfFont font = fonts.get(dictionary);
+        if (font == null || font.getPdfObject().isFlushed()) {
+            font = PdfFontFactory.createFont(dictionary);
+            fonts.put(dictionary, font);
+        }
+        return font;
+    }
+
+    /**
+     * Gets the default font of the form fields, which is Helvetica in WinAnsi encoding.
+     *
+     * @return the default {@link PdfFont}
+     */
+    PdfFont getDefaultFont() {
+        if (defaultFont == null || defaultFont.getPdfObject().isFlushed()) {
+            try {
+                defaultFont = PdfFontFactory.createFont();
+            } catch (IOException e) {
+                throw new PdfException(e);
+            }
+        }
+        return defaultFont;
+    }
+}
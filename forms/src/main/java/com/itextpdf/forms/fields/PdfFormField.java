@@ -158,6 +158,11 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
     protected PdfFormXObject form;
     protected PdfAConformanceLevel pdfAConformanceLevel;
 
+    /**
+     * The fonts shared with the other fields of the form, null if the field doesn't belong to a form.
+     */
+    private FormFieldFontCache fontCache;
+
     protected static final String check = "0.8 0 0 0.8 0.3 0.5 cm 0 0 m\n" +
             "0.066 -0.026 l\n" +
             "0.137 -0.15 l\n" +
@@ -975,6 +980,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
                     PdfFormField field = new PdfFormField((PdfDictionary) kid);
                     field.font = font;
                     field.fontSize = fontSize;
+                    field.fontCache = fontCache;
                     field.setValue(value);
                 }
             }
@@ -1580,6 +1586,19 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         regenerateField();
     }
 
+    /**
+     * Sets the fonts which the field appearance is generated with, if the field has no font of its own.
+     * The fields of a {@link com.itextpdf.forms.PdfAcroForm} share the cache of the form,
+     * so that they use the same font instances.
+     *
+     * @param fontCache the font cache of the form, or null to create new fonts for every appearance
+     * @return the edited field
+     */
+    public PdfFormField setFontCache(FormFieldFontCache fontCache) {
+        this.fontCache = fontCache;
+        return this;
+    }
+
     /**
      * Basic setter for the <code>fontSize</code> property. Regenerates the
      * field appearance after setting the new value.
@@ -2207,7 +2226,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
                 if (font != null) {
                     fontAndSize[0] = font;
                 } else {
-                    fontAndSize[0] = PdfFontFactory.createFont(fontDic.getAsDictionary(fontName));
+                    fontAndSize[0] = getCachedFont(fontDic.getAsDictionary(fontName));
                 }
                 if (fontSize != 0) {
                     fontAndSize[1] = fontSize;
@@ -2221,7 +2240,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
                 if (font != null) {
                     fontAndSize[0] = font;
                 } else {
-                    fontAndSize[0] = PdfFontFactory.createFont();
+                    fontAndSize[0] = getCachedDefaultFont();
                 }
                 if (fontSize != 0) {
                     fontAndSize[1] = fontSize;
@@ -2233,7 +2252,7 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
             if (font != null) {
                 fontAndSize[0] = font;
             } else {
-                fontAndSize[0] = PdfFontFactory.createFont();
+                fontAndSize[0] = getCachedDefaultFont();
             }
             if (fontSize != 0) {
                 fontAndSize[1] = fontSize;
@@ -2245,6 +2264,14 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
         return fontAndSize;
     }
 
+    private PdfFont getCachedFont(PdfDictionary fontDictionary) {
+        return fontCache != null ? fontCache.getFont(fontDictionary) : PdfFontFactory.createFont(fontDictionary);
+    }
+
+    private PdfFont getCachedDefaultFont() throws IOException {
+        return fontCache != null ? fontCache.getDefaultFont() : PdfFontFactory.createFont();
+    }
+
     protected static Object[] splitDAelements(String da) {
         PdfTokenizer tk = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(PdfEncodings.convertToBytes(da, null))));
         List<String> stack = new ArrayList<>();
@@ -42,4 +42,25 @@ public class FormFieldFlatteningTest extends ExtendedITextTest {
             Assert.fail(errorMessage);
         }
     }
+
+    @Test
+    public void formFlatteningTest02() throws IOException, InterruptedException {
+        String srcFilename = sourceFolder + "formFlatteningSource.pdf";
+        String filename = destinationFolder + "formFlatteningTest02.pdf";
+
+        PdfDocument doc = new PdfDocument(new PdfReader(srcFilename), new PdfWriter(filename));
+
+        PdfAcroForm form = PdfAcroForm.getAcroForm(doc, true);
+        form.setFlushFlattenedPages(true);
+        form.flattenFields();
+        Assert.assertTrue(doc.getFirstPage().isFlushed());
+
+        doc.close();
+
+        CompareTool compareTool = new CompareTool();
+        String errorMessage = compareTool.compareByContent(filename, sourceFolder + "cmp_formFlatteningTest01.pdf", destinationFolder, "diff_");
+        if (errorMessage != null) {
+            Assert.fail(errorMessage);
+        }
+    }
 }
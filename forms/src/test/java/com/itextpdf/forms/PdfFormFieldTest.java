@@ -6,7 +6,9 @@ import com.itextpdf.forms.fields.PdfFormField;
 import com.itextpdf.forms.fields.PdfTextFormField;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -207,4 +209,33 @@ public class PdfFormFieldTest extends ExtendedITextTest {
 
         Assert.assertEquals(3, form.getFormFields().size());
     }
+
+    @Test
+    public void fillFieldsWithSharedFontTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDoc.addNewPage();
+
+        PdfAcroForm form = PdfAcroForm.getAcroForm(pdfDoc, true);
+        // the fields have no font of their own, so their appearances are drawn with the default font of the form
+        PdfTextFormField text1 = PdfFormField.createText(pdfDoc, new Rectangle(100, 700, 200, 20));
+        text1.setFieldName("text1");
+        PdfTextFormField text2 = PdfFormField.createText(pdfDoc, new Rectangle(100, 650, 200, 20));
+        text2.setFieldName("text2");
+        form.addField(text1);
+        form.addField(text2);
+
+        text1.setValue("first");
+        text2.setValue("second");
+
+        PdfDictionary font1 = getAppearanceFont(text1);
+        Assert.assertNotNull(font1);
+        Assert.assertSame(font1, getAppearanceFont(text2));
+        pdfDoc.close();
+    }
+
+    private static PdfDictionary getAppearanceFont(PdfFormField field) {
+        PdfDictionary fonts = field.getPdfObject().getAsDictionary(PdfName.AP).getAsStream(PdfName.N)
+                .getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.Font);
+        return fonts.getAsDictionary(fonts.keySet().iterator().next());
+    }
 }
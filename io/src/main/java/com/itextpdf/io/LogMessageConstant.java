@@ -58,6 +58,8 @@ public final class LogMessageConstant {
     public static final String EXCEPTION_WHILE_UPDATING_XMPMETADATA = "Exception while updating XmpMetadata";
     public static final String REMOVING_PAGE_HAS_ALREADY_BEEN_FLUSHED = "The removing page has already been flushed.";
     public static final String FONT_HAS_INVALID_GLYPH = "Font {0} has invalid glyph: {1}";
+    public static final String FONT_INDEX_CANNOT_BE_READ = "Font index {0} cannot be read. The fonts will be indexed again.";
+    public static final String FONT_INDEX_CANNOT_BE_WRITTEN = "Font index {0} cannot be written.";
     public static final String FORBID_RELEASE_IS_SET = "ForbidRelease flag is set and release is called. Releasing will not be performed.";
     public static final String IMAGE_HAS_AMBIGUOUS_SCALE = "The image cannot be auto scaled and scaled by a certain parameter simultaneously";
     public static final String IMAGE_HAS_JBIG2DECODE_FILTER = "Image cannot be inline if it has JBIG2Decode filter. It will be added as an ImageXObject";
@@ -88,4 +90,5 @@ public final class LogMessageConstant {
     public static final String PDF_READER_CLOSING_FAILED = "PdfReader closing failed due to the error occurred!";
     public static final String FILE_CHANNEL_CLOSING_FAILED = "Closing of the file channel this source is based on failed.";
     public static final String ONE_OF_GROUPED_SOURCES_CLOSING_FAILED = "Closing of one of the grouped sources failed.";
+    public static final String TEMPORARY_FILE_DELETION_FAILED = "Deletion of the temporary file {0} failed.";
 }
@@ -55,8 +55,10 @@ import com.itextpdf.io.font.cmap.CMapParser;
 import com.itextpdf.io.font.cmap.CMapUniCid;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -80,8 +82,27 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
+    /**
+     * The maximum number of the parsed CMaps kept in the cache.
+     */
+    private static final int CMAP_CACHE_SIZE = 32;
+
     private static Map<String, FontProgram> fontCache = new ConcurrentHashMap<>();
 
+    /**
+     * The parsed CMaps, the least recently used ones are evicted. The CMaps are not modified after parsing,
+     * so the same instances are shared between all the fonts and threads.
+     */
+    private static final Map<String, AbstractCMap> cmapCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, AbstractCMap>(CMAP_CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 4587612305563456378L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AbstractCMap> eldest) {
+                    return size() > CMAP_CACHE_SIZE;
+                }
+            });
+
     static {
         try {
             loadRegistry();
@@ -134,23 +155,35 @@ public class FontCache {
     }
 
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        CMapCidUni cidUni = getCachedCmap(uniMap, CMapCidUni.class);
+        if (cidUni == null) {
+            cidUni = saveCmap(uniMap, parseCmap(uniMap, new CMapCidUni()));
+        }
+        return cidUni;
     }
 
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        CMapUniCid uniCid = new CMapUniCid();
-        return parseCmap(uniMap, uniCid);
+        CMapUniCid uniCid = getCachedCmap(uniMap, CMapUniCid.class);
+        if (uniCid == null) {
+            uniCid = saveCmap(uniMap, parseCmap(uniMap, new CMapUniCid()));
+        }
+        return uniCid;
     }
 
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        CMapByteCid uniCid = getCachedCmap(cmap, CMapByteCid.class);
+        if (uniCid == null) {
+            uniCid = saveCmap(cmap, parseCmap(cmap, new CMapByteCid()));
+        }
+        return uniCid;
     }
 
     public static CMapCidByte getCid2Byte(String cmap) {
-        CMapCidByte cidByte = new CMapCidByte();
-        return parseCmap(cmap, cidByte);
+        CMapCidByte cidByte = getCachedCmap(cmap, CMapCidByte.class);
+        if (cidByte == null) {
+            cidByte = saveCmap(cmap, parseCmap(cmap, new CMapCidByte()));
+        }
+        return cidByte;
     }
 
     public static FontProgram getFont(String fontName) {
@@ -238,6 +271,19 @@ public class FontCache {
         return cmap;
     }
 
+    private static <T extends AbstractCMap> T getCachedCmap(String name, Class<T> cmapClass) {
+        return cmapClass.cast(cmapCache.get(getCmapCacheKey(name, cmapClass)));
+    }
+
+    private static <T extends AbstractCMap> T saveCmap(String name, T cmap) {
+        cmapCache.put(getCmapCacheKey(name, cmap.getClass()), cmap);
+        return cmap;
+    }
+
+    private static String getCmapCacheKey(String name, Class<?> cmapClass) {
+        return cmapClass.getSimpleName() + "/" + name;
+    }
+
     private static String getFontCacheKey(String fontName) {
         return fontName;
     }
@@ -0,0 +1,325 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.LogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A file with the names of the font files registered by {@link FontRegisterProvider}, kept between runs.
+ * <p>
+ * Reading the names of a font requires parsing the font file, which takes a few seconds for the thousands of fonts
+ * of a system font directory. The index keeps the names together with the modification time and the length of
+ * the font file, and a font file is parsed again only if either of them has changed.
+ */
+final class FontIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FontIndex.class);
+
+    private static final int MAGIC = 0x69544649;
+    private static final int VERSION = 1;
+
+    private final String path;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Creates the index and reads the entries from the index file, if it exists.
+     *
+     * @param path the path to the index file
+     */
+    FontIndex(String path) {
+        this.path = path;
+        if (new File(path).isFile()) {
+            read();
+        }
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the names of the font, if the font file has not been changed since it was indexed.
+     *
+     * @param fontPath the path to the font file, with the font index for TrueType collections
+     * @return the font names, or null if the font is not indexed
+     */
+    FontNames getFontNames(String fontPath) {
+        Entry entry = getValidEntry(fontPath);
+        if (entry == null || entry.ttcSize >= 0) {
+            return null;
+        }
+        FontNames fontNames = new FontNames();
+        fontNames.setFontName(entry.fontName);
+        fontNames.setFullName(entry.fullName);
+        fontNames.setFamilyName(entry.familyName);
+        return fontNames;
+    }
+
+    void putFontNames(String fontPath, FontNames fontNames) {
+        Entry entry = createEntry(fontPath);
+        if (entry != null) {
+            entry.fontName = fontNames.getFontName();
+            entry.fullName = fontNames.getFullName();
+            entry.familyName = fontNames.getFamilyName();
+            entries.put(fontPath, entry);
+            modified = true;
+        }
+    }
+
+    /**
+     * Gets the number of fonts in the TrueType collection, if the file has not been changed since it was indexed.
+     *
+     * @param ttcPath the path to the TrueType collection file
+     * @return the number of fonts, or -1 if the collection is not indexed
+     */
+    int getTtcSize(String ttcPath) {
+        Entry entry = getValidEntry(ttcPath);
+        return entry != null ? entry.ttcSize : -1;
+    }
+
+    void putTtcSize(String ttcPath, int ttcSize) {
+        Entry entry = createEntry(ttcPath);
+        if (entry != null) {
+            entry.ttcSize = ttcSize;
+            entries.put(ttcPath, entry);
+            modified = true;
+        }
+    }
+
+    /**
+     * Removes the entries of the font files which do not exist anymore.
+     * It checks every indexed file, so it is done once per registered directory rather than on each save.
+     */
+    void removeMissingFonts() {
+        for (Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator(); iterator.hasNext(); ) {
+            if (!getFontFile(iterator.next().getKey()).isFile()) {
+                iterator.remove();
+                modified = true;
+            }
+        }
+    }
+
+    /**
+     * Writes the index file, if any entry has been added or removed since it was read or last written.
+     */
+    void save() {
+        if (!modified) {
+            return;
+        }
+        File file = new File(path);
+        File tempFile = new File(path + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.lastModified);
+                out.writeLong(entry.length);
+                out.writeInt(entry.ttcSize);
+                if (entry.ttcSize < 0) {
+                    writeString(out, entry.fontName);
+                    writeNames(out, entry.fullName);
+                    writeNames(out, entry.familyName);
+                }
+            }
+            out.close();
+            out = null;
+            // replace the index at once, so that the index is never read half written
+            if (file.exists() && !file.delete() || !tempFile.renameTo(file)) {
+                throw new java.io.IOException(path);
+            }
+            modified = false;
+        } catch (java.io.IOException e) {
+            LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_INDEX_CANNOT_BE_WRITTEN, path), e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (java.io.IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void read() {
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new java.io.IOException(path);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String fontPath = in.readUTF();
+                Entry entry = new Entry();
+                entry.lastModified = in.readLong();
+                entry.length = in.readLong();
+                entry.ttcSize = in.readInt();
+                if (entry.ttcSize < 0) {
+                    entry.fontName = readString(in);
+                    entry.fullName = readNames(in);
+                    entry.familyName = readNames(in);
+                }
+                entries.put(fontPath, entry);
+            }
+        } catch (java.io.IOException e) {
+            LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_INDEX_CANNOT_BE_READ, path));
+            entries.clear();
+            modified = true;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (java.io.IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private Entry getValidEntry(String fontPath) {
+        Entry entry = entries.get(fontPath);
+        if (entry != null) {
+            File file = getFontFile(fontPath);
+            if (entry.lastModified != file.lastModified() || entry.length != file.length()) {
+                entries.remove(fontPath);
+                modified = true;
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    private static Entry createEntry(String fontPath) {
+        File file = getFontFile(fontPath);
+        if (!file.isFile()) {
+            return null;
+        }
+        Entry entry = new Entry();
+        entry.lastModified = file.lastModified();
+        entry.length = file.length();
+        entry.ttcSize = -1;
+        return entry;
+    }
+
+    private static File getFontFile(String fontPath) {
+        return new File(OpenTypeParser.getTTCName(fontPath));
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws java.io.IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws java.io.IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNames(DataOutputStream out, String[][] names) throws java.io.IOException {
+        out.writeInt(names != null ? names.length : -1);
+        if (names != null) {
+            for (String[] name : names) {
+                out.writeInt(name.length);
+                for (String s : name) {
+                    writeString(out, s);
+                }
+            }
+        }
+    }
+
+    private static String[][] readNames(DataInputStream in) throws java.io.IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        String[][] names = new String[checkLength(length)][];
+        for (int i = 0; i < length; i++) {
+            names[i] = new String[checkLength(in.readInt())];
+            for (int j = 0; j < names[i].length; j++) {
+                names[i][j] = readString(in);
+            }
+        }
+        return names;
+    }
+
+    private static int checkLength(int length) throws java.io.IOException {
+        // the name table cannot have more entries, a larger value means that the index is corrupted
+        if (length < 0 || length > 0xFFFF) {
+            throw new java.io.IOException("Invalid length: " + length);
+        }
+        return length;
+    }
+
+    private static class Entry {
+        long lastModified;
+        long length;
+        /**
+         * The number of fonts for a TrueType collection, -1 for a single font.
+         */
+        int ttcSize;
+        String fontName;
+        String[][] fullName;
+        String[][] familyName;
+    }
+}
@@ -476,6 +476,37 @@ public final class FontProgramFactory {
         fontRegisterProvider.registerFontFamily(familyName, fullName, path);
     }
 
+    /**
+     * Sets the file in which the names of the registered font files are kept between runs.
+     * If the file exists, the font files which have not been changed since they were indexed
+     * are registered without being parsed. The file is created or updated after a font directory is registered,
+     * and on {@link #saveFontIndex()}.
+     *
+     * @param path the path to the index file, or null if the fonts should not be indexed
+     */
+    public static void setFontIndexFile(String path) {
+        fontRegisterProvider.setFontIndexFile(path);
+    }
+
+    /**
+     * Gets the file in which the names of the registered font files are kept between runs.
+     *
+     * @return the path to the index file, or null if the fonts are not indexed
+     */
+    public static String getFontIndexFile() {
+        return fontRegisterProvider.getFontIndexFile();
+    }
+
+    /**
+     * Writes the names of the registered font files to the index file, if they have changed.
+     * Fonts registered one by one are written to the index only by this method.
+     *
+     * @see #setFontIndexFile(String)
+     */
+    public static void saveFontIndex() {
+        fontRegisterProvider.saveFontIndex();
+    }
+
     /**
      * Register a ttf- or a ttc-file.
      *
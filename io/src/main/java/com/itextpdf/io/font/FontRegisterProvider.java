@@ -80,6 +80,11 @@ class FontRegisterProvider {
      */
     private final Map<String, List<String>> fontFamilies = new HashMap<>();
 
+    /**
+     * The index of the names of the registered font files, null if the fonts are not indexed.
+     */
+    private FontIndex fontIndex;
+
     /**
      * Creates new FontRegisterProvider
      */
@@ -239,6 +244,26 @@ class FontRegisterProvider {
         }
     }
 
+    /**
+     * Sets the file in which the names of the registered font files are kept between runs.
+     * If the file exists, the names are read from it instead of parsing the font files which have not been changed.
+     * The file is created or updated after a font directory is registered, and on {@link #saveFontIndex()}.
+     *
+     * @param path the path to the index file, or null if the fonts should not be indexed
+     */
+    public void setFontIndexFile(String path) {
+        fontIndex = path != null ? new FontIndex(path) : null;
+    }
+
+    /**
+     * Gets the file in which the names of the registered font files are kept between runs.
+     *
+     * @return the path to the index file, or null if the fonts are not indexed
+     */
+    public String getFontIndexFile() {
+        return fontIndex != null ? fontIndex.getPath() : null;
+    }
+
     /**
      * Register a ttf- or a ttc-file.
      *
@@ -257,10 +282,25 @@ class FontRegisterProvider {
      */
 
     public void registerFont(String path, String alias) {
+        registerFontFile(path, alias);
+    }
+
+    /**
+     * Writes the names of the registered font files to the index file, if they have changed since the index was read
+     * or last written. The index is written after a font directory is registered. Fonts registered one by one are
+     * written to the index only by this method, so that the index is written once after all of them are registered.
+     */
+    public void saveFontIndex() {
+        if (fontIndex != null) {
+            fontIndex.save();
+        }
+    }
+
+    private void registerFontFile(String path, String alias) {
         try {
             if (path.toLowerCase().endsWith(".ttf") || path.toLowerCase().endsWith(".otf") || path.toLowerCase().indexOf(".ttc,") > 0) {
-                FontProgram fontProgram = FontProgramFactory.createFont(path);
-                Object[] allNames = new Object[]{fontProgram.getFontNames().getFontName(), fontProgram.getFontNames().getFamilyName(), fontProgram.getFontNames().getFullName()};
+                FontNames fontProgramNames = getFontNames(path, true);
+                Object[] allNames = new Object[]{fontProgramNames.getFontName(), fontProgramNames.getFamilyName(), fontProgramNames.getFullName()};
                 fontNames.put(((String) allNames[0]).toLowerCase(), path);
                 if (alias != null) {
                     String lcAlias = alias.toLowerCase();
@@ -312,15 +352,21 @@ class FontRegisterProvider {
                 if (alias != null) {
                     LOGGER.error("You can't define an alias for a true type collection.");
                 }
-                TrueTypeCollection ttc = new TrueTypeCollection(path, PdfEncodings.WINANSI);
-                for (int i = 0; i < ttc.getTTCSize(); i++) {
-                    registerFont(path + "," + i);
+                int ttcSize = fontIndex != null ? fontIndex.getTtcSize(path) : -1;
+                if (ttcSize < 0) {
+                    ttcSize = new TrueTypeCollection(path, PdfEncodings.WINANSI).getTTCSize();
+                    if (fontIndex != null) {
+                        fontIndex.putTtcSize(path, ttcSize);
+                    }
+                }
+                for (int i = 0; i < ttcSize; i++) {
+                    registerFontFile(path + "," + i, null);
                 }
             } else if (path.toLowerCase().endsWith(".afm") || path.toLowerCase().endsWith(".pfm")) {
-                FontProgram fontProgram = FontProgramFactory.createFont(path, false);
-                String fullName = fontProgram.getFontNames().getFullName()[0][3].toLowerCase();
-                String familyName = fontProgram.getFontNames().getFamilyName()[0][3].toLowerCase();
-                String psName =fontProgram.getFontNames().getFontName().toLowerCase();
+                FontNames fontProgramNames = getFontNames(path, false);
+                String fullName = fontProgramNames.getFullName()[0][3].toLowerCase();
+                String familyName = fontProgramNames.getFamilyName()[0][3].toLowerCase();
+                String psName = fontProgramNames.getFontName().toLowerCase();
                 registerFontFamily(familyName, fullName, null);
                 fontNames.put(psName, path);
                 fontNames.put(fullName, path);
@@ -331,6 +377,21 @@ class FontRegisterProvider {
         }
     }
 
+    /**
+     * Gets the names of the font from the index, or from the font program, if the font is not indexed.
+     * The font program itself is created on the first use of the font.
+     */
+    private FontNames getFontNames(String path, boolean cached) throws java.io.IOException {
+        FontNames fontProgramNames = fontIndex != null ? fontIndex.getFontNames(path) : null;
+        if (fontProgramNames == null) {
+            fontProgramNames = FontProgramFactory.createFont(path, cached).getFontNames();
+            if (fontIndex != null) {
+                fontIndex.putFontNames(path, fontProgramNames);
+            }
+        }
+        return fontProgramNames;
+    }
+
     // remove regular and correct last symbol
     // do this job to give higher priority to regular fonts in comparison with light, narrow, etc
     // Don't use this method for not regular fonts!
@@ -362,6 +423,12 @@ class FontRegisterProvider {
      * @return the number of fonts registered
      */
     public int registerFontDirectory(String dir, boolean scanSubdirectories) {
+        int count = registerFontDirectoryFiles(dir, scanSubdirectories);
+        updateFontIndex();
+        return count;
+    }
+
+    private int registerFontDirectoryFiles(String dir, boolean scanSubdirectories) {
         LOGGER.debug(MessageFormat.format("Registering directory {0}, looking for fonts", dir));
         int count = 0;
         try {
@@ -375,11 +442,11 @@ class FontRegisterProvider {
                         /* Only register Type 1 fonts with matching .pfb files */
                         String pfb = file.substring(0, file.length() - 4) + ".pfb";
                         if (FileUtil.fileExists(pfb)) {
-                            registerFont(file, null);
+                            registerFontFile(file, null);
                             ++count;
                         }
                     } else if (".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix)) {
-                        registerFont(file, null);
+                        registerFontFile(file, null);
                         ++count;
                     }
                 } catch (Exception e) {
@@ -392,6 +459,16 @@ class FontRegisterProvider {
         return count;
     }
 
+    /**
+     * Removes the font files which do not exist anymore from the index and writes the index.
+     */
+    private void updateFontIndex() {
+        if (fontIndex != null) {
+            fontIndex.removeMissingFonts();
+            fontIndex.save();
+        }
+    }
+
     /**
      * Register fonts in some probable directories. It usually works in Windows,
      * Linux and Solaris.
@@ -409,7 +486,7 @@ class FontRegisterProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += registerFontDirectory(directory, true);
+            count += registerFontDirectoryFiles(directory, true);
         }
 
         String[] withoutSubDirs = {
@@ -417,8 +494,9 @@ class FontRegisterProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += registerFontDirectory(directory, false);
+            count += registerFontDirectoryFiles(directory, false);
         }
+        updateFontIndex();
 
         return count;
     }
@@ -0,0 +1,334 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The glyphs of a {@link TrueTypeFont}, kept in primitive arrays.
+ * <p>
+ * Widths and bounding boxes are indexed by the glyph index, and the cmap is kept as two parallel arrays sorted
+ * by the character code, so the table costs a few ints per glyph instead of a map entry, a boxed key and a
+ * {@link Glyph} per glyph and per character code. The {@link Glyph} objects are created on the first request
+ * and then reused, so that the same glyph is always returned for the same key. The table may be shared by the
+ * threads using the same font, so the glyphs are created and replaced under the lock of the table.
+ * <p>
+ * The glyphs are available through two read-only maps, {@link #getGlyphsByIndex()} and {@link #getGlyphsByUnicode()}.
+ * The only modification allowed is replacing the glyph of an existing key.
+ */
+final class GlyphTable implements Serializable {
+
+    private static final long serialVersionUID = 1969470498016734712L;
+
+    private final int[] widths;
+    private final int[][] bBoxes;
+
+    /**
+     * The character code which the glyph returned for the glyph index is created for, -1 if the glyph is not mapped.
+     */
+    private final int[] unicodesByIndex;
+
+    private final int[] charCodes;
+    private final int[] charCodeIndexes;
+
+    private transient Glyph[] glyphsByIndex;
+    private transient Glyph[] glyphsByCharCode;
+
+    private final Map<Integer, Glyph> byIndex = new ByIndexMap();
+    private final Map<Integer, Glyph> byUnicode = new ByUnicodeMap();
+
+    /**
+     * Creates the glyph table.
+     *
+     * @param cmap   the cmap of the font, character code to the array of glyph index and width
+     * @param widths the glyph widths by glyph index
+     * @param bBoxes the glyph bounding boxes by glyph index, may be null
+     */
+    GlyphTable(Map<Integer, int[]> cmap, int[] widths, int[][] bBoxes) {
+        this.widths = widths;
+        this.bBoxes = bBoxes;
+        unicodesByIndex = new int[widths.length];
+        Arrays.fill(unicodesByIndex, -1);
+        long[] mapping = new long[cmap.size()];
+        int count = 0;
+        for (Map.Entry<Integer, int[]> entry : cmap.entrySet()) {
+            int charCode = (int) entry.getKey();
+            int index = entry.getValue()[0];
+            if (index < widths.length) {
+                // in case several character codes are mapped to the glyph, the last one is used, as before
+                unicodesByIndex[index] = charCode;
+                mapping[count++] = ((long) charCode << 32) | index;
+            }
+        }
+        Arrays.sort(mapping, 0, count);
+        charCodes = new int[count];
+        charCodeIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            charCodes[i] = (int) (mapping[i] >> 32);
+            charCodeIndexes[i] = (int) mapping[i];
+        }
+    }
+
+    /**
+     * Gets the glyphs keyed by the glyph index. All the glyph indexes of the font are present.
+     *
+     * @return the map of glyph index to glyph
+     */
+    Map<Integer, Glyph> getGlyphsByIndex() {
+        return byIndex;
+    }
+
+    /**
+     * Gets the glyphs keyed by the character code of the font cmap.
+     *
+     * @return the map of character code to glyph
+     */
+    Map<Integer, Glyph> getGlyphsByUnicode() {
+        return byUnicode;
+    }
+
+    /**
+     * Checks whether any character code of the cmap is mapped to the glyph.
+     *
+     * @param index the glyph index
+     * @return true if the glyph is mapped
+     */
+    boolean isMapped(int index) {
+        return unicodesByIndex[index] != -1;
+    }
+
+    private synchronized Glyph getGlyphByIndex(int index) {
+        if (glyphsByIndex == null) {
+            glyphsByIndex = new Glyph[widths.length];
+        }
+        Glyph glyph = glyphsByIndex[index];
+        if (glyph == null) {
+            int unicode = unicodesByIndex[index];
+            if (unicode != -1) {
+                glyph = getGlyphByCharCode(Arrays.binarySearch(charCodes, unicode));
+            } else {
+                glyph = new Glyph(index, widths[index], -1);
+            }
+            glyphsByIndex[index] = glyph;
+        }
+        return glyph;
+    }
+
+    private synchronized Glyph getGlyphByCharCode(int position) {
+        if (glyphsByCharCode == null) {
+            glyphsByCharCode = new Glyph[charCodes.length];
+        }
+        Glyph glyph = glyphsByCharCode[position];
+        if (glyph == null) {
+            int index = charCodeIndexes[position];
+            glyph = new Glyph(index, widths[index], charCodes[position], bBoxes != null ? bBoxes[index] : null);
+            glyphsByCharCode[position] = glyph;
+        }
+        return glyph;
+    }
+
+    private synchronized Glyph replaceGlyphByIndex(int index, Glyph glyph) {
+        Glyph previous = getGlyphByIndex(index);
+        glyphsByIndex[index] = glyph;
+        return previous;
+    }
+
+    private synchronized Glyph replaceGlyphByCharCode(int position, Glyph glyph) {
+        Glyph previous = getGlyphByCharCode(position);
+        glyphsByCharCode[position] = glyph;
+        return previous;
+    }
+
+    private int getIndex(Object key) {
+        if (key instanceof Integer) {
+            int index = (int) (Integer) key;
+            if (index >= 0 && index < widths.length) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int getCharCodePosition(Object key) {
+        return key instanceof Integer ? Arrays.binarySearch(charCodes, (int) (Integer) key) : -1;
+    }
+
+    private abstract class GlyphMap extends AbstractMap<Integer, Glyph> implements Serializable {
+
+        private static final long serialVersionUID = -2549962539049473734L;
+
+        abstract int getPosition(Object key);
+
+        abstract int getKey(int position);
+
+        abstract Glyph getGlyph(int position);
+
+        abstract Glyph replaceGlyph(int position, Glyph glyph);
+
+        @Override
+        public boolean containsKey(Object key) {
+            return getPosition(key) >= 0;
+        }
+
+        @Override
+        public Glyph get(Object key) {
+            int position = getPosition(key);
+            return position >= 0 ? getGlyph(position) : null;
+        }
+
+        @Override
+        public Glyph put(Integer key, Glyph value) {
+            int position = getPosition(key);
+            if (position < 0 || value == null) {
+                throw new UnsupportedOperationException();
+            }
+            return replaceGlyph(position, value);
+        }
+
+        @Override
+        public Set<Map.Entry<Integer, Glyph>> entrySet() {
+            return new AbstractSet<Map.Entry<Integer, Glyph>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, Glyph>> iterator() {
+                    return new Iterator<Map.Entry<Integer, Glyph>>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size();
+                        }
+
+                        @Override
+                        public Map.Entry<Integer, Glyph> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int position = next++;
+                            return new SimpleImmutableEntry<>(getKey(position), getGlyph(position));
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return GlyphMap.this.size();
+                }
+            };
+        }
+    }
+
+    private final class ByIndexMap extends GlyphMap {
+
+        private static final long serialVersionUID = 5126469226428127014L;
+
+        @Override
+        public int size() {
+            return widths.length;
+        }
+
+        @Override
+        int getPosition(Object key) {
+            return getIndex(key);
+        }
+
+        @Override
+        int getKey(int position) {
+            return position;
+        }
+
+        @Override
+        Glyph getGlyph(int position) {
+            return getGlyphByIndex(position);
+        }
+
+        @Override
+        Glyph replaceGlyph(int position, Glyph glyph) {
+            return replaceGlyphByIndex(position, glyph);
+        }
+    }
+
+    private final class ByUnicodeMap extends GlyphMap {
+
+        private static final long serialVersionUID = -4516716318806815180L;
+
+        @Override
+        public int size() {
+            return charCodes.length;
+        }
+
+        @Override
+        int getPosition(Object key) {
+            return getCharCodePosition(key);
+        }
+
+        @Override
+        int getKey(int position) {
+            return charCodes[position];
+        }
+
+        @Override
+        Glyph getGlyph(int position) {
+            return getGlyphByCharCode(position);
+        }
+
+        @Override
+        Glyph replaceGlyph(int position, Glyph glyph) {
+            return replaceGlyphByCharCode(position, glyph);
+        }
+    }
+}
@@ -52,7 +52,6 @@ import com.itextpdf.io.font.otf.OpenTypeGdefTableReader;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.text.MessageFormat;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -72,6 +71,7 @@ public class TrueTypeFont extends FontProgram {
     private GlyphSubstitutionTableReader gsubTable;
     private GlyphPositioningTableReader gposTable;
     private OpenTypeGdefTableReader gdefTable;
+    private boolean layoutTablesRead;
 
     /**
      * The map containing the kerning information. It represents the content of
@@ -189,14 +189,17 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        readLayoutTables();
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        readLayoutTables();
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        readLayoutTables();
         return gdefTable;
     }
 
@@ -310,42 +313,54 @@ public class TrueTypeFont extends FontProgram {
 
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(glyphWidths.length);
         avgWidth = 0;
-        for (int charCode : cmap.keySet()) {
-            int index = cmap.get(charCode)[0];
+        for (Map.Entry<Integer, int[]> entry : cmap.entrySet()) {
+            int index = entry.getValue()[0];
             if (index >= glyphWidths.length) {
                 Logger LOGGER = LoggerFactory.getLogger(TrueTypeFont.class);
                 LOGGER.warn(MessageFormat.format(LogMessageConstant.FONT_HAS_INVALID_GLYPH, getFontNames().getFontName(), index));
                 continue;
             }
-            Glyph glyph = new Glyph(index, glyphWidths[index], charCode, bBoxes != null ? bBoxes[index] : null);
-            unicodeToGlyph.put(charCode, glyph);
-            codeToGlyph.put(index, glyph);
-            avgWidth += glyph.getWidth();
+            avgWidth += glyphWidths[index];
         }
+        // glyphs are created on demand, large CJK fonts have tens of thousands of them
+        GlyphTable glyphTable = new GlyphTable(cmap, glyphWidths, bBoxes);
+        unicodeToGlyph = glyphTable.getGlyphsByUnicode();
+        codeToGlyph = glyphTable.getGlyphsByIndex();
         fixSpaceIssue();
         for (int index = 0; index < glyphWidths.length; index++) {
-            if (codeToGlyph.containsKey(index)) {
-                continue;
+            if (!glyphTable.isMapped(index)) {
+                avgWidth += glyphWidths[index];
             }
-            Glyph glyph = new Glyph(index, glyphWidths[index], -1);
-            codeToGlyph.put(index, glyph);
-            avgWidth += glyph.getWidth();
         }
 
         if (codeToGlyph.size() != 0) {
             avgWidth /= codeToGlyph.size();
         }
 
-        readGdefTable();
-        readGsubTable();
-        readGposTable();
-
         isVertical = false;
     }
 
+    /**
+     * Reads the GDEF, GSUB and GPOS tables on the first request.
+     * Parsing them takes a considerable time for large fonts, while most of the fonts are used without them.
+     * The font may be shared by threads, so the tables are read and published under the lock of the font.
+     * If reading fails, the tables are read again on the next request.
+     */
+    private synchronized void readLayoutTables() {
+        if (layoutTablesRead || fontParser == null) {
+            return;
+        }
+        try {
+            readGdefTable();
+            readGsubTable();
+            readGposTable();
+        } catch (java.io.IOException e) {
+            throw new IOException(IOException.IoException, e);
+        }
+        layoutTablesRead = true;
+    }
+
     /**
      * Gets the code pages supported by the font.
      *
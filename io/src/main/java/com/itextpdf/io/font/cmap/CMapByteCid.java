@@ -45,8 +45,7 @@ package com.itextpdf.io.font.cmap;
 
 import com.itextpdf.io.IOException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * @author psoares
@@ -64,11 +63,15 @@ public class CMapByteCid extends AbstractCMap {
         }
     }
 
-    private List<char[]> planes = new ArrayList<>();
+    private static final int PLANE_SIZE = 256;
 
-    public CMapByteCid() {
-        planes.add(new char[256]);
-    }
+    /**
+     * CIDs indexed by the byte values of a code: an entry with the high bit set refers to the plane
+     * of the next byte of the code, the first plane is the plane of the first byte.
+     */
+    private char[][] planes = new char[][] {new char[PLANE_SIZE]};
+
+    private int planeCount = 1;
 
     @Override
     void addChar(String mark, CMapObject code) {
@@ -100,7 +103,7 @@ public class CMapByteCid extends AbstractCMap {
         while (cursor.offset < end) {
             int one = cidBytes[cursor.offset++] & 0xff;
             cursor.length--;
-            char[] plane = planes.get(currentPlane);
+            char[] plane = planes[currentPlane];
             int cid = plane[one];
             if ((cid & 0x8000) == 0) {
                 return cid;
@@ -115,19 +118,22 @@ public class CMapByteCid extends AbstractCMap {
         int size = seq.length - 1;
         int nextPlane = 0;
         for (int idx = 0; idx < size; ++idx) {
-            char[] plane = planes.get(nextPlane);
+            char[] plane = planes[nextPlane];
             int one = seq[idx] & 0xff;
             char c = plane[one];
             if (c != 0 && (c & 0x8000) == 0)
                 throw new IOException("inconsistent.mapping");
             if (c == 0) {
-                planes.add(new char[256]);
-                c = (char)(planes.size() - 1 | 0x8000);
+                if (planeCount == planes.length) {
+                    planes = Arrays.copyOf(planes, planeCount * 2);
+                }
+                planes[planeCount] = new char[PLANE_SIZE];
+                c = (char)(planeCount++ | 0x8000);
                 plane[one] = c;
             }
             nextPlane = c & 0x7fff;
         }
-        char[] plane = planes.get(nextPlane);
+        char[] plane = planes[nextPlane];
         int one = seq[size] & 0xff;
         char c = plane[one];
         if ((c & 0x8000) != 0)
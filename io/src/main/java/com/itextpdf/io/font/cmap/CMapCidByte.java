@@ -45,27 +45,37 @@ package com.itextpdf.io.font.cmap;
 
 import com.itextpdf.io.util.IntHashtable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * @author psoares
  */
 public class CMapCidByte extends AbstractCMap {
 
-    private Map<Integer, byte[]> map = new HashMap<>();
+    /**
+     * Byte codes indexed by CID.
+     */
+    private byte[][] map = new byte[256][];
+    private int count;
     private final byte[] EMPTY = {};
 
     @Override
     void addChar(String mark, CMapObject code) {
         if (code.isNumber()) {
             byte[] ser = decodeStringToByte(mark);
-            map.put((int)code.getValue(), ser);
+            int cid = (int)code.getValue();
+            if (cid >= map.length) {
+                map = Arrays.copyOf(map, Math.max(cid + 1, map.length * 2));
+            }
+            if (map[cid] == null) {
+                count++;
+            }
+            map[cid] = ser;
         }
     }
 
     public byte[] lookup(int cid) {
-        byte[] ser = map.get(cid);
+        byte[] ser = cid >= 0 && cid < map.length ? map[cid] : null;
         if (ser == null) {
             return EMPTY;
         } else {
@@ -74,9 +84,12 @@ public class CMapCidByte extends AbstractCMap {
     }
 
     public IntHashtable getReversMap() {
-        IntHashtable code2cid = new IntHashtable(map.size());
-        for (int cid : map.keySet()) {
-            byte[] bytes = map.get(cid);
+        IntHashtable code2cid = new IntHashtable(count);
+        for (int cid = 0; cid < map.length; cid++) {
+            byte[] bytes = map[cid];
+            if (bytes == null) {
+                continue;
+            }
             int byteCode = 0;
             for (byte b: bytes) {
                 byteCode <<= 8;
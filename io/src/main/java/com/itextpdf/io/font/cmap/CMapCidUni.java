@@ -43,15 +43,19 @@
  */
 package com.itextpdf.io.font.cmap;
 
-import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.TextUtil;
 
+import java.util.Arrays;
+
 /**
  * @author psoares
  */
 public class CMapCidUni extends AbstractCMap {
 
-    private IntHashtable map = new IntHashtable(65537);
+    /**
+     * Unicode code points indexed by CID, zero stands for the missing mapping.
+     */
+    private int[] map = new int[256];
 
     @Override
     void addChar(String mark, CMapObject code) {
@@ -63,15 +67,33 @@ public class CMapCidUni extends AbstractCMap {
             } else {
                 codePoint = (int) s.charAt(0);
             }
-            map.put((int)code.getValue(), codePoint);
+            int cid = (int)code.getValue();
+            if (cid >= map.length) {
+                map = Arrays.copyOf(map, Math.max(cid + 1, map.length * 2));
+            }
+            map[cid] = codePoint;
         }
     }
 
     public int lookup(int character) {
-        return map.get(character);
+        return character >= 0 && character < map.length ? map[character] : 0;
     }
 
     public int[] getCids(){
-        return map.getKeys();
+        int count = 0;
+        for (int uni : map) {
+            if (uni != 0) {
+                count++;
+            }
+        }
+        // keep the descending order in which the cids used to be enumerated
+        int[] cids = new int[count];
+        int ptr = 0;
+        for (int cid = map.length - 1; cid >= 0; cid--) {
+            if (map[cid] != 0) {
+                cids[ptr++] = cid;
+            }
+        }
+        return cids;
     }
 }
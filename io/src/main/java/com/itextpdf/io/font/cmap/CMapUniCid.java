@@ -43,7 +43,6 @@
  */
 package com.itextpdf.io.font.cmap;
 
-import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.util.TextUtil;
 
 /**
@@ -51,7 +50,13 @@ import com.itextpdf.io.util.TextUtil;
  */
 public class CMapUniCid extends AbstractCMap {
 
-    private IntHashtable map = new IntHashtable(65537);
+    private static final int PLANE_SIZE = 256;
+
+    /**
+     * CIDs indexed by Unicode code point: the planes of 256 consecutive code points are allocated on demand,
+     * zero stands for the missing mapping.
+     */
+    private int[][] planes = new int[(0x10ffff + 1) / PLANE_SIZE][];
 
     @Override
     void addChar(String mark, CMapObject code) {
@@ -63,19 +68,32 @@ public class CMapUniCid extends AbstractCMap {
             } else {
                 codePoint = (int) s.charAt(0);
             }
-            map.put(codePoint, (int)code.getValue());
+            int[] plane = planes[codePoint / PLANE_SIZE];
+            if (plane == null) {
+                plane = planes[codePoint / PLANE_SIZE] = new int[PLANE_SIZE];
+            }
+            plane[codePoint % PLANE_SIZE] = (int)code.getValue();
         }
     }
 
     public int lookup(int character) {
-        return map.get(character);
+        if (character < 0 || character / PLANE_SIZE >= planes.length) {
+            return 0;
+        }
+        int[] plane = planes[character / PLANE_SIZE];
+        return plane != null ? plane[character % PLANE_SIZE] : 0;
     }
 
     public CMapToUnicode exportToUnicode() {
         CMapToUnicode uni = new CMapToUnicode();
-        int[] keys = map.toOrderedKeys();
-        for (int key : keys) {
-            uni.addChar(map.get(key), TextUtil.convertFromUtf32(key));
+        for (int i = 0; i < planes.length; i++) {
+            if (planes[i] != null) {
+                for (int j = 0; j < PLANE_SIZE; j++) {
+                    if (planes[i][j] != 0) {
+                        uni.addChar(planes[i][j], TextUtil.convertFromUtf32(i * PLANE_SIZE + j));
+                    }
+                }
+            }
         }
         int spaceCid = lookup(32);
         if (spaceCid != 0) {
@@ -45,6 +45,8 @@ package com.itextpdf.io.source;
 
 public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
 
+    private int modificationCount;
+
     public ByteArrayOutputStream() {
         super();
     }
@@ -56,13 +58,43 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
     public ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
         buf = bytes;
         this.count = count;
+        modificationCount++;
         return this;
     }
 
     public ByteArrayOutputStream assignBytes(byte[] bytes) {
         buf = bytes;
         this.count = bytes.length;
+        modificationCount++;
         return this;
     }
 
+    @Override
+    public synchronized void write(int b) {
+        super.write(b);
+        modificationCount++;
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        super.write(b, off, len);
+        modificationCount++;
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        modificationCount++;
+    }
+
+    /**
+     * Gets the number of the changes of the content, so that it could be checked
+     * whether the content was changed since some point without comparing the bytes.
+     *
+     * @return the number of the writes, resets and assignments of the content
+     */
+    public synchronized int getModificationCount() {
+        return modificationCount;
+    }
+
 }
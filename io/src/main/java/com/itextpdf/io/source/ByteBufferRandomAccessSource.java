@@ -118,6 +118,15 @@ class ByteBufferRandomAccessSource implements IRandomAccessSource {
         return byteBuffer.limit();
     }
 
+    /**
+     * Creates a source reading the same bytes through a duplicate of the buffer. The duplicate has its own position,
+     * so the sources may be read on different threads. Closing the created source does not clean the buffer.
+     * @return the source reading the duplicate of the buffer
+     */
+    IRandomAccessSource createView() {
+        return new IndependentRandomAccessSource(new ByteBufferRandomAccessSource(byteBuffer.duplicate()));
+    }
+
     /**
      * @see java.io.RandomAccessFile#close()
      * Cleans the mapped bytebuffers and closes the channel
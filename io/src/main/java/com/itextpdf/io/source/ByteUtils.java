@@ -54,6 +54,11 @@ public class ByteUtils {
     private static final byte[] one = new byte[]{49};
     private static final byte[] negOne = new byte[]{(byte) '-', 49};
 
+    // powers of ten which are exactly representable as double
+    private static final double[] exactPowersOfTen = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long maxExactMantissa = 1L << 53;
+
     public static byte[] getIsoBytes(String text) {
         if (text == null)
             return null;
@@ -249,6 +254,63 @@ public class ByteUtils {
         return buffer == null ? buf.getInternalBuffer() : null;
     }
 
+    /**
+     * Parses a decimal number, written in PDF syntax, directly from the bytes.
+     * <p>
+     * Numbers which are exactly representable by a mantissa of up to 53 bits and 22 fraction digits
+     * (i.e. nearly all numbers in PDF documents) are parsed without creating any objects,
+     * the result is the same as the one of {@link Double#parseDouble(String)}.
+     * All the other inputs are passed to {@link Double#parseDouble(String)}.
+     *
+     * @param content the bytes holding the number
+     * @param offset  the offset of the number in the bytes
+     * @param length  the length of the number
+     * @return the parsed value, or {@link Double#NaN} if the bytes do not represent a number
+     */
+    public static double parseDouble(byte[] content, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (content[i] == '-' || content[i] == '+')) {
+            negative = content[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean hasDigits = false;
+        boolean hasPoint = false;
+        boolean fastPath = true;
+        for (; i < end; i++) {
+            int ch = content[i];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + ch - '0';
+                if (mantissa >= maxExactMantissa) {
+                    fastPath = false;
+                    break;
+                }
+                hasDigits = true;
+                if (hasPoint) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                fastPath = false;
+                break;
+            }
+        }
+        if (fastPath && hasDigits && fractionDigits < exactPowersOfTen.length) {
+            // both the mantissa and the power of ten are exact, so is the correctly rounded quotient
+            double value = fractionDigits == 0 ? mantissa : mantissa / exactPowersOfTen[fractionDigits];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(content, offset, length));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
     private static int longSize(long l) {
         long m = 10;
         for (int i = 1; i < 19; i++) {
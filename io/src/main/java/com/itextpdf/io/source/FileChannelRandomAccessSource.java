@@ -80,6 +80,13 @@ public class FileChannelRandomAccessSource implements IRandomAccessSource, Seria
     }
 
 
+    /**
+     * @return the source reading the map of the channel
+     */
+    MappedChannelRandomAccessSource getSource() {
+        return source;
+    }
+
     /**
      * {@inheritDoc}
      * Cleans the mapped byte buffers and closes the channel
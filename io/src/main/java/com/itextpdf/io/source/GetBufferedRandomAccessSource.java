@@ -94,6 +94,13 @@ public class GetBufferedRandomAccessSource implements IRandomAccessSource, Seria
         return source.length();
     }
 
+    /**
+     * @return the buffered source
+     */
+    IRandomAccessSource getSource() {
+        return source;
+    }
+
     /**
      * Does nothing - the underlying source is not closed
      */
@@ -82,6 +82,13 @@ public class IndependentRandomAccessSource implements IRandomAccessSource {
         return source.length();
     }
 
+    /**
+     * @return the source this view reads
+     */
+    IRandomAccessSource getSource() {
+        return source;
+    }
+
     /**
      * Does nothing - the underlying source is not closed
      */
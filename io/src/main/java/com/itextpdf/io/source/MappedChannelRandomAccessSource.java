@@ -147,6 +147,29 @@ class MappedChannelRandomAccessSource implements IRandomAccessSource {
         return length;
     }
 
+    /**
+     * @return the channel this source is based on
+     */
+    FileChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return the offset of the mapped region in the channel
+     */
+    long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Creates a source reading the mapped region through its own duplicate of the map. The created source
+     * shall not be read after this source is closed.
+     * @return the source reading the duplicate of the map, or null if the region is not mapped
+     */
+    IRandomAccessSource createView() {
+        return source != null ? source.createView() : null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -152,6 +152,13 @@ class PagedChannelRandomAccessSource extends GroupedRandomAccessSource implement
         ((MappedChannelRandomAccessSource)source).open();
     }
 
+    /**
+     * @return the channel this source is based on
+     */
+    FileChannel getChannel() {
+        return channel;
+    }
+
     /**
      * {@inheritDoc}
      * Cleans the mapped bytebuffers and closes the channel
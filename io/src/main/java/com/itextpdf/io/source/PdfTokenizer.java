@@ -179,6 +179,26 @@ public class PdfTokenizer implements Closeable, Serializable {
         return outBuf.toByteArray();
     }
 
+    /**
+     * Gets the buffer holding the content of the current token, without copying it.
+     * Only the first {@link #getTokenLength()} bytes of the buffer belong to the token.
+     * The buffer is reused, so its content is only valid until the next token is read.
+     *
+     * @return the internal buffer of the tokenizer
+     */
+    public byte[] getTokenBuffer() {
+        return outBuf.getInternalBuffer();
+    }
+
+    /**
+     * Gets the length of the content of the current token.
+     *
+     * @return the number of bytes of the current token in {@link #getTokenBuffer()}
+     */
+    public int getTokenLength() {
+        return outBuf.size();
+    }
+
     public String getStringValue() {
         return new String(outBuf.getInternalBuffer(), 0, outBuf.size());
     }
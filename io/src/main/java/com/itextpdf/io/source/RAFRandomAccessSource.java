@@ -111,6 +111,13 @@ class RAFRandomAccessSource implements IRandomAccessSource {
         return length;
     }
 
+    /**
+     * @return the file this source is based on
+     */
+    RandomAccessFile getRaf() {
+        return raf;
+    }
+
     /**
      * Closes the underlying RandomAccessFile
      */
@@ -49,6 +49,7 @@ import com.itextpdf.io.util.StreamUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
@@ -78,6 +79,12 @@ public final class RandomAccessSourceFactory implements Serializable {
      */
     private boolean exclusivelyLockFile = false;
 
+    /**
+     * The number of bytes of a stream, which are kept in memory, before the stream is copied to a temporary file.
+     * Negative value means that streams are always read into memory.
+     */
+    private long tempFileThreshold = -1;
+
     /**
      * Creates a factory that will give preference to accessing the underling data source using memory mapped files
      */
@@ -109,6 +116,19 @@ public final class RandomAccessSourceFactory implements Serializable {
         return this;
     }
 
+    /**
+     * Determines whether the content of an {@link InputStream} or a URL, which is longer than the specified number
+     * of bytes, should be copied to a temporary file instead of being read into memory.
+     * The temporary file is deleted when the created source is closed.
+     * @param tempFileThreshold the maximal number of bytes read into memory, or a negative value
+     *                          if the content should always be read into memory (default)
+     * @return this object (this allows chaining of method calls)
+     */
+    public RandomAccessSourceFactory setTempFileThreshold(long tempFileThreshold) {
+        this.tempFileThreshold = tempFileThreshold;
+        return this;
+    }
+
     /**
      * Creates a {@link IRandomAccessSource} based on a byte array
      * @param data the byte array
@@ -123,7 +143,8 @@ public final class RandomAccessSourceFactory implements Serializable {
     }
 
     /**
-     * Creates a {@link IRandomAccessSource} based on a URL.  The data available at the URL is read into memory and used
+     * Creates a {@link IRandomAccessSource} based on a URL.  The data available at the URL is read into memory, or copied
+     * to a temporary file if it is longer than the threshold set by {@link #setTempFileThreshold(long)}, and used
      * as the source for the {@link IRandomAccessSource}
      * @param url the url to read from
      * @return the newly created {@link IRandomAccessSource}
@@ -141,13 +162,29 @@ public final class RandomAccessSourceFactory implements Serializable {
     }
 
     /**
-     * Creates a {@link IRandomAccessSource} based on an {@link InputStream}.  The full content of the InputStream is read into memory and used
+     * Creates a {@link IRandomAccessSource} based on an {@link InputStream}.  The full content of the InputStream is read into memory,
+     * or copied to a temporary file if it is longer than the threshold set by {@link #setTempFileThreshold(long)}, and used
      * as the source for the {@link IRandomAccessSource}
      * @param inputStream the stream to read from
      * @return the newly created {@link IRandomAccessSource}
      */
     public IRandomAccessSource createSource(InputStream inputStream) throws java.io.IOException{
-        return createSource(StreamUtil.inputStreamToArray(inputStream));
+        if (tempFileThreshold < 0) {
+            return createSource(StreamUtil.inputStreamToArray(inputStream));
+        }
+        byte[] buffer = new byte[8192];
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        while (true) {
+            int read = inputStream.read(buffer);
+            if (read < 1) {
+                break;
+            }
+            memory.write(buffer, 0, read);
+            if (memory.size() > tempFileThreshold) {
+                return createByCopyingToTempFile(memory, inputStream);
+            }
+        }
+        return new ArrayRandomAccessSource(memory.toByteArray());
     }
 
     /**
@@ -233,6 +270,123 @@ public final class RandomAccessSourceFactory implements Serializable {
         return new GroupedRandomAccessSource(sources);
     }
 
+    /**
+     * Creates a source which is a concatenation of the given sources
+     * @param sources the sources to concatenate
+     * @return the source which reads the given sources one after another
+     * @throws java.io.IOException if there is an exception
+     */
+    public IRandomAccessSource createGrouped(IRandomAccessSource[] sources) throws java.io.IOException {
+        return new GroupedRandomAccessSource(sources);
+    }
+
+    /**
+     * Creates a view of the source, which may be read on one thread, while the source itself and its other views
+     * are read on other threads, without any synchronization between them. The view has its own read buffer.
+     * It reads the mapped files through its own duplicate of the map, the other files with positional reads
+     * of the file channel, and byte arrays directly.
+     * Closing the view does not close the source.
+     * @param source the source to create the view of
+     * @return the view, or {@code null} if the source is not known to support concurrent reads
+     * @throws java.io.IOException if the size of the underlying file cannot be read
+     */
+    public IRandomAccessSource createConcurrentView(IRandomAccessSource source) throws java.io.IOException {
+        IRandomAccessSource view = createPositionalSource(source);
+        return view != null ? new GetBufferedRandomAccessSource(view) : null;
+    }
+
+    /**
+     * Creates an unbuffered source, which reads the same bytes as the given source and keeps no read state,
+     * so that it can be read by several threads at once
+     * @param source the source to read
+     * @return the source without read state, or {@code null} if the given source is not known
+     * @throws java.io.IOException if the size of the underlying file cannot be read
+     */
+    private IRandomAccessSource createPositionalSource(IRandomAccessSource source) throws java.io.IOException {
+        if (source instanceof ArrayRandomAccessSource) {
+            return new IndependentRandomAccessSource(source);
+        } else if (source instanceof IndependentRandomAccessSource) {
+            return createPositionalSource(((IndependentRandomAccessSource) source).getSource());
+        } else if (source instanceof GetBufferedRandomAccessSource) {
+            return createPositionalSource(((GetBufferedRandomAccessSource) source).getSource());
+        } else if (source instanceof TempFileRandomAccessSource) {
+            return createPositionalSource(((TempFileRandomAccessSource) source).getSource());
+        } else if (source instanceof WindowRandomAccessSource) {
+            WindowRandomAccessSource window = (WindowRandomAccessSource) source;
+            IRandomAccessSource windowSource = createPositionalSource(window.getSource());
+            return windowSource != null ? new WindowRandomAccessSource(windowSource, window.getOffset(), window.length()) : null;
+        } else if (source instanceof ByteBufferRandomAccessSource) {
+            return ((ByteBufferRandomAccessSource) source).createView();
+        } else if (source instanceof FileChannelRandomAccessSource) {
+            return createPositionalSource(((FileChannelRandomAccessSource) source).getSource());
+        } else if (source instanceof PagedChannelRandomAccessSource) {
+            // the pages are mapped and unmapped as they are read, so their maps cannot be shared with the view
+            return new PositionalChannelRandomAccessSource(((PagedChannelRandomAccessSource) source).getChannel());
+        } else if (source instanceof RAFRandomAccessSource) {
+            return new PositionalChannelRandomAccessSource(((RAFRandomAccessSource) source).getRaf().getChannel());
+        } else if (source instanceof MappedChannelRandomAccessSource) {
+            MappedChannelRandomAccessSource mapped = (MappedChannelRandomAccessSource) source;
+            IRandomAccessSource mappedView = mapped.createView();
+            if (mappedView != null) {
+                return mappedView;
+            }
+            return new WindowRandomAccessSource(new PositionalChannelRandomAccessSource(mapped.getChannel()), mapped.getOffset(), mapped.length());
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new {@link IRandomAccessSource} by copying the already read bytes and the rest of the stream to a temporary file
+     * @param head the bytes, which have already been read from the stream
+     * @param stream the stream to copy the rest from
+     * @return the newly created {@link IRandomAccessSource}, which deletes the temporary file on closing
+     * @throws java.io.IOException if reading the stream or writing the temporary file fails
+     */
+    private IRandomAccessSource createByCopyingToTempFile(ByteArrayOutputStream head, InputStream stream) throws java.io.IOException {
+        File file = File.createTempFile("itext", ".pdf.tmp");
+        try {
+            FileOutputStream output = new FileOutputStream(file);
+            try {
+                head.writeTo(output);
+                head.reset();
+                byte[] buffer = new byte[8192];
+                while (true) {
+                    int read = stream.read(buffer);
+                    if (read < 1) {
+                        break;
+                    }
+                    output.write(buffer, 0, read);
+                }
+            } finally {
+                output.close();
+            }
+
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            IRandomAccessSource source;
+            try {
+                if (usePlainRandomAccess) {
+                    source = new RAFRandomAccessSource(raf);
+                } else {
+                    try {
+                        // ownership of the RAF passes to whatever source is created by createBestSource.
+                        source = createBestSource(raf.getChannel());
+                    } catch (MapFailedException e) {
+                        source = new RAFRandomAccessSource(raf);
+                    }
+                }
+            } catch (Exception e) {
+                try {
+                    raf.close();
+                } catch (java.io.IOException ignore) {}
+                throw e;
+            }
+            return new TempFileRandomAccessSource(source, file);
+        } catch (Exception e) {
+            file.delete();
+            throw e;
+        }
+    }
+
     /**
      * Creates a new {@link IRandomAccessSource} by reading the specified file/resource into memory
      * @param filename the name of the resource to read
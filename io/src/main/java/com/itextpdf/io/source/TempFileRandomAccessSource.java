@@ -0,0 +1,124 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.LogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.Serializable;
+import java.text.MessageFormat;
+
+/**
+ * A RandomAccessSource that reads a temporary file, which content was copied from a stream.
+ * The file is deleted when the source is closed.
+ */
+class TempFileRandomAccessSource implements IRandomAccessSource, Serializable {
+
+    private static final long serialVersionUID = 3474233934562153373L;
+
+    /**
+     * The source reading the temporary file
+     */
+    private final IRandomAccessSource source;
+
+    /**
+     * The temporary file
+     */
+    private final File file;
+
+    /**
+     * Constructs a new {@link TempFileRandomAccessSource}
+     * @param source the source reading the temporary file, it is closed together with this source
+     * @param file the temporary file, it is deleted when this source is closed
+     */
+    public TempFileRandomAccessSource(IRandomAccessSource source, File file) {
+        this.source = source;
+        this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        return source.get(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        return source.get(position, bytes, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return source.length();
+    }
+
+    /**
+     * @return the source reading the temporary file
+     */
+    IRandomAccessSource getSource() {
+        return source;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Closes the source reading the temporary file and deletes the file
+     */
+    public void close() throws java.io.IOException {
+        try {
+            source.close();
+        } finally {
+            if (file.exists() && !file.delete()) {
+                Logger logger = LoggerFactory.getLogger(TempFileRandomAccessSource.class);
+                logger.warn(MessageFormat.format(LogMessageConstant.TEMPORARY_FILE_DELETION_FAILED, file.getAbsolutePath()));
+            }
+        }
+    }
+}
@@ -113,6 +113,20 @@ public class WindowRandomAccessSource implements IRandomAccessSource {
         return length;
     }
 
+    /**
+     * @return the source this window is cut from
+     */
+    IRandomAccessSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return the offset of the window in the source
+     */
+    long getOffset() {
+        return offset;
+    }
+
     /**
      * {@inheritDoc}
      */
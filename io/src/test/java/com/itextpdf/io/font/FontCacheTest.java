@@ -0,0 +1,38 @@
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.cmap.CMapCidByte;
+import com.itextpdf.io.font.cmap.CMapCidUni;
+import com.itextpdf.io.font.cmap.CMapUniCid;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class FontCacheTest {
+
+    @Test
+    public void parsedCmapsAreCachedTest() {
+        Assert.assertSame(FontCache.getCid2UniCmap("UniJIS-UCS2-H"), FontCache.getCid2UniCmap("UniJIS-UCS2-H"));
+        Assert.assertSame(FontCache.getUni2CidCmap("UniJIS-UCS2-H"), FontCache.getUni2CidCmap("UniJIS-UCS2-H"));
+        Assert.assertSame(FontCache.getCid2Byte("90ms-RKSJ-H"), FontCache.getCid2Byte("90ms-RKSJ-H"));
+        Assert.assertSame(FontCache.getByte2CidCmap("90ms-RKSJ-H"), FontCache.getByte2CidCmap("90ms-RKSJ-H"));
+    }
+
+    @Test
+    public void cmapLookupTest() {
+        CMapUniCid uni2Cid = FontCache.getUni2CidCmap("UniJIS-UCS2-H");
+        CMapCidUni cid2Uni = FontCache.getCid2UniCmap("UniJIS-UCS2-H");
+        int cid = uni2Cid.lookup('\u3042');
+        Assert.assertNotEquals(0, cid);
+        Assert.assertEquals('\u3042', cid2Uni.lookup(cid));
+        Assert.assertEquals(0, uni2Cid.lookup(0x10ffff));
+        Assert.assertEquals(0, cid2Uni.lookup(-1));
+
+        CMapCidByte cid2Byte = FontCache.getCid2Byte("90ms-RKSJ-H");
+        int latinCid = cid2Byte.getReversMap().get(0x41);
+        Assert.assertNotEquals(0, latinCid);
+        Assert.assertArrayEquals(new byte[] {0x41}, cid2Byte.lookup(latinCid));
+        Assert.assertEquals(0, cid2Byte.lookup(Integer.MAX_VALUE).length);
+    }
+}
@@ -0,0 +1,111 @@
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class GlyphTableTest {
+
+    @Test
+    public void lookupTest() {
+        int[] widths = new int[] {500, 600, 700, 800};
+        int[][] bBoxes = new int[][] {{0, 0, 1, 1}, {0, 0, 2, 2}, {0, 0, 3, 3}, {0, 0, 4, 4}};
+        Map<Integer, int[]> cmap = new LinkedHashMap<>();
+        cmap.put(0x42, new int[] {2, 700});
+        cmap.put(0x41, new int[] {1, 600});
+        cmap.put(0xA0, new int[] {1, 600});
+        // invalid glyph index
+        cmap.put(0x43, new int[] {10, 0});
+
+        GlyphTable glyphTable = new GlyphTable(cmap, widths, bBoxes);
+        Map<Integer, Glyph> byIndex = glyphTable.getGlyphsByIndex();
+        Map<Integer, Glyph> byUnicode = glyphTable.getGlyphsByUnicode();
+
+        Assert.assertEquals(4, byIndex.size());
+        Assert.assertEquals(3, byUnicode.size());
+        Assert.assertNull(byUnicode.get(0x43));
+        Assert.assertNull(byIndex.get(4));
+
+        Glyph a = byUnicode.get(0x41);
+        Assert.assertEquals(1, a.getCode());
+        Assert.assertEquals(600, a.getWidth());
+        Assert.assertEquals(0x41, a.getUnicode());
+        Assert.assertArrayEquals(bBoxes[1], a.getBbox());
+        Assert.assertSame(a, byUnicode.get(0x41));
+
+        // the last character code mapped to the glyph is used
+        Assert.assertSame(byUnicode.get(0xA0), byIndex.get(1));
+        Assert.assertSame(byUnicode.get(0x42), byIndex.get(2));
+        Assert.assertTrue(glyphTable.isMapped(2));
+
+        Glyph notMapped = byIndex.get(3);
+        Assert.assertFalse(glyphTable.isMapped(3));
+        Assert.assertEquals(-1, notMapped.getUnicode());
+        Assert.assertEquals(800, notMapped.getWidth());
+        Assert.assertNull(notMapped.getBbox());
+
+        List<Integer> charCodes = new ArrayList<>(byUnicode.keySet());
+        Assert.assertEquals(Arrays.asList(0x41, 0x42, 0xA0), charCodes);
+    }
+
+    @Test
+    public void replaceGlyphTest() {
+        Map<Integer, int[]> cmap = new LinkedHashMap<>();
+        cmap.put(0x20, new int[] {1, 250});
+        cmap.put(0xA0, new int[] {1, 250});
+        GlyphTable glyphTable = new GlyphTable(cmap, new int[] {0, 250}, null);
+
+        Glyph space = glyphTable.getGlyphsByUnicode().get(0x20);
+        Assert.assertNotSame(space, glyphTable.getGlyphsByIndex().get(1));
+        glyphTable.getGlyphsByIndex().put(space.getCode(), space);
+        Assert.assertSame(space, glyphTable.getGlyphsByIndex().get(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addGlyphTest() {
+        GlyphTable glyphTable = new GlyphTable(new LinkedHashMap<Integer, int[]>(), new int[] {0}, null);
+        glyphTable.getGlyphsByIndex().put(1, new Glyph(1, 0, -1));
+    }
+
+    @Test
+    public void concurrentLookupTest() throws InterruptedException {
+        int glyphCount = 10000;
+        Map<Integer, int[]> cmap = new LinkedHashMap<>();
+        for (int i = 0; i < glyphCount; i++) {
+            cmap.put(i + 0x20, new int[] {i, 500});
+        }
+        final GlyphTable glyphTable = new GlyphTable(cmap, new int[glyphCount], null);
+        final Glyph[][] glyphs = new Glyph[4][glyphCount];
+        Thread[] threads = new Thread[glyphs.length];
+        for (int i = 0; i < threads.length; i++) {
+            final Glyph[] threadGlyphs = glyphs[i];
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int index = 0; index < threadGlyphs.length; index++) {
+                        threadGlyphs[index] = glyphTable.getGlyphsByIndex().get(index);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int index = 0; index < glyphCount; index++) {
+            Glyph glyph = glyphTable.getGlyphsByUnicode().get(index + 0x20);
+            for (Glyph[] threadGlyphs : glyphs) {
+                Assert.assertSame(glyph, threadGlyphs[index]);
+            }
+        }
+    }
+}
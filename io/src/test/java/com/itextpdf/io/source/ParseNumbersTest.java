@@ -0,0 +1,52 @@
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ParseNumbersTest {
+
+    @Test
+    public void parseRandomNumbersTest() {
+        Random rnd = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            String number = String.valueOf(rnd.nextInt(2000000) - 1000000);
+            int places = rnd.nextInt(8);
+            if (places > 0) {
+                number = number + "." + String.valueOf(100000000 + rnd.nextInt(100000000)).substring(1, 1 + places);
+            }
+            checkNumber(number);
+        }
+    }
+
+    @Test
+    public void parseSpecialNumbersTest() {
+        String[] numbers = {"0", "-0", "+5", "5.", ".5", "-.5", "007", "0.1", "3.14159265358979323846",
+                "123456789012345678901234567890", "0.000000000000000000000001234", "9007199254740993"};
+        for (String number : numbers) {
+            checkNumber(number);
+        }
+    }
+
+    @Test
+    public void parseInvalidNumbersTest() {
+        String[] numbers = {"", "-", ".", "--5", "1.2.3", "5-"};
+        for (String number : numbers) {
+            Assert.assertTrue(number, Double.isNaN(parse(number)));
+        }
+    }
+
+    private static void checkNumber(String number) {
+        Assert.assertEquals(number, Double.doubleToLongBits(Double.parseDouble(number)), Double.doubleToLongBits(parse(number)));
+    }
+
+    private static double parse(String number) {
+        byte[] bytes = ByteUtils.getIsoBytes(" " + number + " ");
+        return ByteUtils.parseDouble(bytes, 1, number.length());
+    }
+}
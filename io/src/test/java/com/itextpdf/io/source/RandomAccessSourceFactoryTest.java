@@ -0,0 +1,113 @@
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class RandomAccessSourceFactoryTest {
+
+    @Test
+    public void streamBelowThresholdTest() throws IOException {
+        byte[] data = createData(1000);
+        IRandomAccessSource source = new RandomAccessSourceFactory().setTempFileThreshold(1000)
+                .createSource(new ByteArrayInputStream(data));
+        Assert.assertTrue(source instanceof ArrayRandomAccessSource);
+        assertContent(data, source);
+        source.close();
+    }
+
+    @Test
+    public void streamAboveThresholdTest() throws IOException, ReflectiveOperationException {
+        byte[] data = createData(100000);
+        RandomAccessSourceFactory[] factories = {
+                new RandomAccessSourceFactory().setTempFileThreshold(1000),
+                new RandomAccessSourceFactory().setTempFileThreshold(0).setUsePlainRandomAccess(true)
+        };
+        for (RandomAccessSourceFactory factory : factories) {
+            IRandomAccessSource source = factory.createSource(new ByteArrayInputStream(data));
+            Assert.assertTrue(source instanceof TempFileRandomAccessSource);
+            Field fileField = TempFileRandomAccessSource.class.getDeclaredField("file");
+            fileField.setAccessible(true);
+            File file = (File) fileField.get(source);
+            Assert.assertTrue(file.exists());
+            Assert.assertEquals(data.length, file.length());
+            assertContent(data, source);
+            source.close();
+            Assert.assertFalse(file.exists());
+        }
+    }
+
+    @Test
+    public void streamWithoutThresholdTest() throws IOException {
+        byte[] data = createData(100000);
+        IRandomAccessSource source = new RandomAccessSourceFactory().createSource(new ByteArrayInputStream(data));
+        Assert.assertTrue(source instanceof ArrayRandomAccessSource);
+        assertContent(data, source);
+        source.close();
+    }
+
+    @Test
+    public void concurrentViewTest() throws Exception {
+        final byte[] data = createData(100000);
+        RandomAccessSourceFactory[] factories = {
+                new RandomAccessSourceFactory(),
+                new RandomAccessSourceFactory().setTempFileThreshold(1000),
+                new RandomAccessSourceFactory().setTempFileThreshold(0).setUsePlainRandomAccess(true)
+        };
+        for (RandomAccessSourceFactory factory : factories) {
+            IRandomAccessSource source = factory.createSource(new ByteArrayInputStream(data));
+            final IRandomAccessSource[] views = new IRandomAccessSource[4];
+            final Throwable[] errors = new Throwable[views.length];
+            Thread[] threads = new Thread[views.length];
+            for (int i = 0; i < views.length; i++) {
+                views[i] = factory.createConcurrentView(new IndependentRandomAccessSource(source));
+                Assert.assertNotNull(views[i]);
+                final int index = i;
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int pos = index; pos < data.length; pos += 7) {
+                                Assert.assertEquals(data[pos] & 0xff, views[index].get(pos));
+                            }
+                            assertContent(data, views[index]);
+                        } catch (Throwable e) {
+                            errors[index] = e;
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+            for (int i = 0; i < views.length; i++) {
+                threads[i].join();
+                Assert.assertNull(errors[i]);
+                views[i].close();
+            }
+            assertContent(data, source);
+            source.close();
+        }
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    private static void assertContent(byte[] expected, IRandomAccessSource source) throws IOException {
+        Assert.assertEquals(expected.length, source.length());
+        byte[] actual = new byte[expected.length];
+        Assert.assertEquals(expected.length, source.get(0, actual, 0, actual.length));
+        Assert.assertArrayEquals(expected, actual);
+        Assert.assertEquals(expected[expected.length - 1] & 0xff, source.get(expected.length - 1));
+        Assert.assertEquals(-1, source.get(expected.length));
+    }
+}
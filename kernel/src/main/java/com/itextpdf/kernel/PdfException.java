@@ -75,6 +75,7 @@ public class PdfException extends RuntimeException {
     public static final String CannotCreatePdfStreamByInputStreamWithoutPdfDocument = "cannot.create.pdfstream.by.inputstream.without.pdfdocument";
     public static final String CannotGetContentBytes = "cannot.get.content.bytes";
     public static final String CannotGetPdfStreamBytes = "cannot.get.pdfstream.bytes";
+    public static final String CannotReadSourceDocument = "cannot.read.source.document";
     public static final String CannotRetrieveMediaBoxAttribute = "Invalid pdf. There is no media box attribute for page or its parents.";
     public static final String CannotFindImageDataOrEI = "cannot.find.image.data.or.EI";
     public static final String CannotFlushDocumentRootTagBeforeDocumentIsClosed = "cannot.flush.document.root.tag.before.document.is.closed";
@@ -103,6 +104,7 @@ public class PdfException extends RuntimeException {
     public static final String CodabarStartStopCharacterAreOnlyExtremes = "in.codabar.start.stop.characters.are.only.allowed.at.the.extremes";
     public static final String ColorNotFound = "color.not.found";
     public static final String ColorSpaceNotFound = "color.space.not.found";
+    public static final String ConcurrentTextExtractionRequiresDocumentOpenedInReadingMode = "concurrent.text.extraction.requires.document.opened.in.reading.mode";
     public static final String ContentStreamMustNotInvokeOperatorsThatSpecifyColorsOrOtherColorRelatedParameters = "content.stream.must.not.invoke.operators.that.specify.colors.or.other.color.related.parameters.in.the.graphics.state";
     public static final String DecodeParameterType1IsNotSupported = "decode.parameter.type {0} is.not.supported";
     public static final String DefaultcryptfilterNotFoundEncryption = "defaultcryptfilter.not.found.encryption";
@@ -166,6 +168,7 @@ public class PdfException extends RuntimeException {
     public static final String MacroSegmentIdMustBeGtOrEqZero = "macrosegmentid.must.be.gt.eq.0";
     public static final String MacroSegmentIdMustBeGtZero = "macrosegmentid.must.be.gt.0";
     public static final String MacroSegmentIdMustBeLtMacroSegmentCount = "macrosegmentid.must.be.lt.macrosegmentcount";
+    public static final String MergingWasInterrupted = "merging.was.interrupted";
     public static final String MustBeATaggedDocument = "must.be.a.tagged.document";
     public static final String NumberOfEntriesInThisXrefSubsectionNotFound = "number.of.entries.in.this.xref.subsection.not.found";
     public static final String NameAlreadyExistsInTheNameTree = "name.already.exist.in.the.name.tree";
@@ -212,6 +215,7 @@ public class PdfException extends RuntimeException {
     public static final String RoleIsNotMappedWithAnyStandardRole = "role.is.not.mapped.with.any.standard.role";
     public static final String ShadingTypeNotFound = "shading.type.not.found";
     public static final String SignatureWithName1IsNotTheLastItDoesntCoverWholeDocument = "signature.with.name.1.is.not.the.last.it.doesnt.cover.whole.document";
+    public static final String SplittingWasInterrupted = "splitting.was.interrupted";
     public static final String StdcfNotFoundEncryption = "stdcf.not.found.encryption";
     public static final String StructParentIndexNotFoundInTaggedObject = "struct.parent.index.not.found.in.tagged.object";
     public static final String StructureElementShallContainParentObject = "structure.element.shall.contain.parent.object";
@@ -308,6 +308,26 @@ public final class PdfFontFactory {
         return FontProgramFactory.registerSystemFontDirectories();
     }
 
+    /**
+     * Sets the file in which the names of the registered font files are kept between runs,
+     * so that the font files which have not been changed are registered without being parsed.
+     *
+     * @param path the path to the index file, or null if the fonts should not be indexed
+     * @see FontProgramFactory#setFontIndexFile(String)
+     */
+    public static void setFontIndexFile(String path) {
+        FontProgramFactory.setFontIndexFile(path);
+    }
+
+    /**
+     * Writes the names of the registered font files to the index file, if they have changed.
+     *
+     * @see FontProgramFactory#saveFontIndex()
+     */
+    public static void saveFontIndex() {
+        FontProgramFactory.saveFontIndex();
+    }
+
     /**
      * Gets a set of registered font names.
      *
@@ -0,0 +1,332 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The storage of {@link PdfDictionary} entries, sorted by the keys.
+ * <p>
+ * Most of the dictionaries have only a few entries, so they are kept in two parallel arrays, which are
+ * much more compact than the nodes of a {@link TreeMap}. Keys are looked up by identity first, as most of
+ * the names used are the predefined {@link PdfName} constants, and then by the binary search.
+ * Once the number of entries exceeds {@link #MAX_ARRAY_SIZE}, the entries are moved to a {@link TreeMap}.
+ * The iteration order is the order of the keys in both cases.
+ */
+final class CompactPdfNameMap extends AbstractMap<PdfName, PdfObject> implements Serializable {
+
+    private static final long serialVersionUID = 2617845013961723684L;
+
+    static final int MAX_ARRAY_SIZE = 16;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private PdfName[] keys;
+    private PdfObject[] values;
+    private int size;
+
+    /**
+     * The entries, once there are too many of them to keep in the arrays.
+     */
+    private TreeMap<PdfName, PdfObject> tree;
+
+    private transient int modCount;
+    private transient Set<Map.Entry<PdfName, PdfObject>> entrySet;
+
+    @Override
+    public int size() {
+        return tree != null ? tree.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (tree != null) {
+            return tree.containsKey(key);
+        }
+        return indexOf((PdfName) key) >= 0;
+    }
+
+    @Override
+    public PdfObject get(Object key) {
+        if (tree != null) {
+            return tree.get(key);
+        }
+        int index = indexOf((PdfName) key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public PdfObject put(PdfName key, PdfObject value) {
+        if (tree != null) {
+            return tree.put(key, value);
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            PdfObject previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        if (size == MAX_ARRAY_SIZE) {
+            tree = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                tree.put(keys[i], values[i]);
+            }
+            keys = null;
+            values = null;
+            size = 0;
+            modCount++;
+            return tree.put(key, value);
+        }
+        index = -index - 1;
+        if (keys == null) {
+            keys = new PdfName[INITIAL_CAPACITY];
+            values = new PdfObject[INITIAL_CAPACITY];
+        } else if (size == keys.length) {
+            int capacity = Math.min(size * 2, MAX_ARRAY_SIZE);
+            PdfName[] newKeys = new PdfName[capacity];
+            PdfObject[] newValues = new PdfObject[capacity];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            keys = newKeys;
+            values = newValues;
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public PdfObject remove(Object key) {
+        if (tree != null) {
+            return tree.remove(key);
+        }
+        int index = indexOf((PdfName) key);
+        if (index < 0) {
+            return null;
+        }
+        PdfObject previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        tree = null;
+        keys = null;
+        values = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<PdfName, PdfObject>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Finds the key in the arrays.
+     *
+     * @return the index of the key, or {@code -(insertion point) - 1} if there is no such key
+     */
+    private int indexOf(PdfName key) {
+        if (key == null) {
+            // the same as TreeMap does
+            throw new NullPointerException();
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = keys[middle].compareTo(key);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<PdfName, PdfObject>> {
+        @Override
+        public Iterator<Map.Entry<PdfName, PdfObject>> iterator() {
+            if (tree != null) {
+                return tree.entrySet().iterator();
+            }
+            return new ArrayIterator();
+        }
+
+        @Override
+        public int size() {
+            return CompactPdfNameMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            CompactPdfNameMap.this.clear();
+        }
+    }
+
+    private final class ArrayIterator implements Iterator<Map.Entry<PdfName, PdfObject>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            // the entries could have been moved to the tree, so the iteration can't go on silently
+            checkModCount();
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<PdfName, PdfObject> next() {
+            checkModCount();
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ArrayEntry(keys[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkModCount();
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class ArrayEntry implements Map.Entry<PdfName, PdfObject> {
+        private final PdfName key;
+
+        ArrayEntry(PdfName key) {
+            this.key = key;
+        }
+
+        @Override
+        public PdfName getKey() {
+            return key;
+        }
+
+        @Override
+        public PdfObject getValue() {
+            return get(key);
+        }
+
+        @Override
+        public PdfObject setValue(PdfObject value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            PdfObject value = getValue();
+            return key.equals(entry.getKey()) && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            PdfObject value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
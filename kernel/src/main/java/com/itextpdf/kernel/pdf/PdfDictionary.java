@@ -58,7 +58,7 @@ import java.util.*;
 public class PdfDictionary extends PdfObject {
 
     private static final long serialVersionUID = -1122075818690871644L;
-    private Map<PdfName, PdfObject> map = new TreeMap<>();
+    private Map<PdfName, PdfObject> map = new CompactPdfNameMap();
 
     /**
      * Creates a new PdfDictionary instance.
@@ -701,12 +701,15 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                         }
                     }
 
+                    writer.compressWaitingStreams();
                     for(int pageNum = 1; pageNum <= getNumberOfPages(); pageNum++) {
                         getPage(pageNum).flush();
                     }
                     catalog.getPdfObject().flush(false);
                     info.flush();
                     flushFonts();
+                    // the font programs are created on flushing the fonts
+                    writer.compressWaitingStreams();
                     writer.flushWaitingObjects();
                     // flush unused objects
                     if (isFlushUnusedObjects()) {
@@ -763,6 +766,9 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
             removeAllHandlers();
         } catch (IOException e) {
             throw new PdfException(PdfException.CannotCloseDocument, e, this);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotCloseDocument, e, this);
         } finally {
 
             if (writer != null && isCloseWriter()) {
@@ -1267,6 +1273,7 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         try {
             if (reader != null) {
                 reader.pdfDocument = this;
+                xref.setDocument(this);
                 reader.readPdf();
                 Counter counter = getCounter();
                 if (counter != null) {
@@ -63,7 +63,7 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
     /**
      * PdfObject that current PdfIndirectReference instance refers to.
      */
-    protected PdfObject refersTo = null;
+    protected volatile PdfObject refersTo = null;
 
     /**
      * Indirect reference number of object stream containing refersTo object.
@@ -124,7 +124,8 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
     public PdfObject getRefersTo(boolean recursively) {
         if (!recursively) {
             if (refersTo == null && !checkState(FLUSHED) && !checkState(MODIFIED) && getReader() != null) {
-                refersTo = getReader().readObject(this);
+                // the reader assigns refersTo under its lock, so that concurrent calls resolve to the same object
+                getReader().readObject(this);
             }
             return refersTo;
         } else {
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.kernel.PdfException;
 
 import java.util.*;
@@ -51,8 +52,19 @@ public class PdfNameTree {
 
     private static final int NODE_SIZE = 40;
 
+    /**
+     * Orders the names by the bytes they are written with, so that the tree is built in the same order
+     * in which {@link #getItem(String)} looks the names up.
+     */
+    private static final Comparator<byte[]> NAME_BYTES_ORDER = new Comparator<byte[]>() {
+        @Override
+        public int compare(byte[] nameBytes1, byte[] nameBytes2) {
+            return PdfNameTree.compare(nameBytes1, nameBytes2);
+        }
+    };
+
     private PdfCatalog catalog;
-    private Map<String, PdfObject> items = new HashMap<>();
+    private Map<String, PdfObject> items;
     private PdfName treeType;
     private boolean modified;
 
@@ -65,55 +77,52 @@ public class PdfNameTree {
     public PdfNameTree(PdfCatalog catalog, PdfName treeType) {
         this.treeType = treeType;
         this.catalog = catalog;
-        items = getNames();
     }
 
-
+    /**
+     * Gets the entries of the tree.
+     * <p>
+     * The whole tree is read only when the entries are iterated or modified. Looking a single entry up with
+     * {@link Map#get(Object)} or {@link Map#containsKey(Object)} before that descends the tree by the /Limits
+     * of the nodes and reads only the nodes on the path to the entry.
+     *
+     * @return the map of names to values
+     */
     public Map<String, PdfObject> getNames() {
-        if (items.size() > 0) {
+        if (items != null) {
             return items;
         }
+        return new AbstractMap<String, PdfObject>() {
+            @Override
+            public PdfObject get(Object key) {
+                return key instanceof String ? getItem((String) key) : null;
+            }
 
-        PdfDictionary dictionary = catalog.getPdfObject().getAsDictionary(PdfName.Names);
-        if (dictionary != null) {
-            dictionary = dictionary.getAsDictionary(treeType);
-            if (dictionary != null) {
-                items = readTree(dictionary);
-                //@TODO It's done for auto porting to itextsharp, cuz u cannot change collection which you iterate
-                // in for loop (even if you change only value of a Map entry) in .NET. Java doesn't have such a problem.
-                // We should find a better solution in the future.
-                Set<String> keys = new HashSet<>();
-                keys.addAll(items.keySet());
-                for (String key : keys) {
-                    PdfArray arr = getNameArray(items.get(key));
-                    if (arr != null) {
-                        items.put(key, arr);
-                    }
-                    else
-                        items.remove(key);
-                }
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
             }
-        }
 
-        if (treeType.equals(PdfName.Dests)) {
-            PdfDictionary destinations = catalog.getPdfObject().getAsDictionary(PdfName.Dests);
-            if (destinations != null) {
-                Set<PdfName> keys = destinations.keySet();
-                for (PdfName key : keys) {
-                    PdfArray array = getNameArray(destinations.get(key));
-                    if (array == null) {
-                        continue;
-                    }
-                    items.put(key.getValue(), array);
-                }
+            @Override
+            public PdfObject put(String key, PdfObject value) {
+                return readItems().put(key, value);
             }
-        }
 
-        return items;
+            @Override
+            public PdfObject remove(Object key) {
+                return readItems().remove(key);
+            }
+
+            @Override
+            public Set<Entry<String, PdfObject>> entrySet() {
+                return readItems().entrySet();
+            }
+        };
     }
 
     public void addEntry(String key, PdfObject value) {
-        if (items.keySet().contains(key)) {
+        Map<String, PdfObject> items = readItems();
+        if (items.containsKey(key)) {
             throw new PdfException(PdfException.NameAlreadyExistsInTheNameTree);
         }
         modified = true;
@@ -125,77 +134,276 @@ public class PdfNameTree {
     }
 
     public PdfDictionary buildTree() {
-        String[] names = new String[items.size()];
-        names = items.keySet().toArray(names);
-        Arrays.sort(names);
-        if (names.length <= NODE_SIZE) {
+        Map<String, PdfObject> items = readItems();
+        // every name is encoded once and the names are sorted by their bytes. Different names with the same bytes
+        // are read as the same name anyway, so only one of them is written
+        TreeMap<byte[], PdfString> names = new TreeMap<>(NAME_BYTES_ORDER);
+        for (String key : items.keySet()) {
+            PdfString name = toPdfString(key);
+            names.put(name.getValueBytes(), name);
+        }
+        if (names.size() <= NODE_SIZE) {
             PdfDictionary dic = new PdfDictionary();
             PdfArray ar = new PdfArray();
-            for (String name : names) {
-                ar.add(new PdfString(name, null));
-                ar.add(items.get(name));
+            for (PdfString name : names.values()) {
+                ar.add(name);
+                ar.add(items.get(name.getValue()));
             }
             dic.put(PdfName.Names, ar);
             return dic;
         }
-        int skip = NODE_SIZE;
-        PdfDictionary[] kids = new PdfDictionary[(names.length + NODE_SIZE - 1) / NODE_SIZE];
-        for (int k = 0; k < kids.length; ++k) {
-            int offset = k * NODE_SIZE;
-            int end = Math.min(offset + NODE_SIZE, names.length);
-            PdfDictionary dic = new PdfDictionary();
-            PdfArray arr = new PdfArray();
-            arr.add(new PdfString(names[offset], null));
-            arr.add(new PdfString(names[end - 1], null));
-            dic.put(PdfName.Limits, arr);
-            arr = new PdfArray();
-            for (; offset < end; ++offset) {
-                arr.add(new PdfString(names[offset], null));
-                arr.add(items.get(names[offset]));
-            }
-            dic.put(PdfName.Names, arr);
-            dic.makeIndirect(catalog.getDocument());
-            kids[k] = dic;
-        }
-        int top = kids.length;
-        while (true) {
-            if (top <= NODE_SIZE) {
-                PdfArray arr = new PdfArray();
-                for (int i = 0; i < top; ++i)
-                    arr.add(kids[i]);
-                PdfDictionary dic = new PdfDictionary();
-                dic.put(PdfName.Kids, arr);
-                return dic;
-            }
-            skip *= NODE_SIZE;
-            int tt = (names.length + skip - 1 )/ skip;
-            for (int i = 0; i < tt; ++i) {
-                int offset = i * NODE_SIZE;
-                int end = Math.min(offset + NODE_SIZE, top);
+        // the leaves are filled while iterating the sorted names and only the first and the last name of every node
+        // are kept for building the upper levels
+        List<PdfDictionary> kids = new ArrayList<>();
+        List<PdfString> firstNames = new ArrayList<>();
+        List<PdfString> lastNames = new ArrayList<>();
+        PdfArray arr = new PdfArray();
+        PdfString lastName = null;
+        for (PdfString name : names.values()) {
+            if (arr.size() == 0) {
+                firstNames.add(name);
+            }
+            lastName = name;
+            arr.add(name);
+            arr.add(items.get(name.getValue()));
+            if (arr.size() == 2 * NODE_SIZE) {
+                lastNames.add(lastName);
+                kids.add(createLeaf(firstNames.get(kids.size()), lastName, arr));
+                arr = new PdfArray();
+            }
+        }
+        if (arr.size() > 0) {
+            lastNames.add(lastName);
+            kids.add(createLeaf(firstNames.get(kids.size()), lastName, arr));
+        }
+        while (kids.size() > NODE_SIZE) {
+            List<PdfDictionary> parents = new ArrayList<>();
+            List<PdfString> parentFirstNames = new ArrayList<>();
+            List<PdfString> parentLastNames = new ArrayList<>();
+            for (int offset = 0; offset < kids.size(); offset += NODE_SIZE) {
+                int end = Math.min(offset + NODE_SIZE, kids.size());
                 PdfDictionary dic = new PdfDictionary().makeIndirect(catalog.getDocument());
-                PdfArray arr = new PdfArray();
-                arr.add(new PdfString(names[i * skip], null));
-                arr.add(new PdfString(names[Math.min((i + 1) * skip, names.length) - 1], null));
-                dic.put(PdfName.Limits, arr);
                 arr = new PdfArray();
-                for (; offset < end; ++offset) {
-                    arr.add(kids[offset]);
-                }
-                dic.put(PdfName.Kids, arr);
-                kids[i] = dic;
+                arr.add(firstNames.get(offset));
+                arr.add(lastNames.get(end - 1));
+                dic.put(PdfName.Limits, arr);
+                dic.put(PdfName.Kids, new PdfArray(kids.subList(offset, end)));
+                parents.add(dic);
+                parentFirstNames.add(firstNames.get(offset));
+                parentLastNames.add(lastNames.get(end - 1));
             }
-            top = tt;
+            kids = parents;
+            firstNames = parentFirstNames;
+            lastNames = parentLastNames;
         }
+        PdfDictionary dic = new PdfDictionary();
+        dic.put(PdfName.Kids, new PdfArray(kids));
+        return dic;
     }
 
-    private Map<String, PdfObject> readTree(PdfDictionary dictionary) {
-        Map<String, PdfObject> items = new HashMap<String, PdfObject>();
+    private PdfDictionary createLeaf(PdfString firstName, PdfString lastName, PdfArray names) {
+        PdfDictionary dic = new PdfDictionary();
+        PdfArray limits = new PdfArray();
+        limits.add(firstName);
+        limits.add(lastName);
+        dic.put(PdfName.Limits, limits);
+        dic.put(PdfName.Names, names);
+        dic.makeIndirect(catalog.getDocument());
+        return dic;
+    }
+
+    private PdfDictionary getTreeRoot() {
+        PdfDictionary dictionary = catalog.getPdfObject().getAsDictionary(PdfName.Names);
+        return dictionary != null ? dictionary.getAsDictionary(treeType) : null;
+    }
+
+    /**
+     * Reads all the entries of the tree, if they have not been read yet.
+     */
+    private Map<String, PdfObject> readItems() {
+        if (items != null) {
+            return items;
+        }
+        items = new HashMap<>();
+        PdfDictionary dictionary = getTreeRoot();
         if (dictionary != null) {
             iterateItems(dictionary, items, null);
+            //@TODO It's done for auto porting to itextsharp, cuz u cannot change collection which you iterate
+            // in for loop (even if you change only value of a Map entry) in .NET. Java doesn't have such a problem.
+            // We should find a better solution in the future.
+            Set<String> keys = new HashSet<>();
+            keys.addAll(items.keySet());
+            for (String key : keys) {
+                PdfArray arr = getNameArray(items.get(key));
+                if (arr != null) {
+                    items.put(key, arr);
+                }
+                else
+                    items.remove(key);
+            }
+        }
+
+        if (treeType.equals(PdfName.Dests)) {
+            PdfDictionary destinations = catalog.getPdfObject().getAsDictionary(PdfName.Dests);
+            if (destinations != null) {
+                Set<PdfName> keys = destinations.keySet();
+                for (PdfName key : keys) {
+                    PdfArray array = getNameArray(destinations.get(key));
+                    if (array == null) {
+                        continue;
+                    }
+                    items.put(key.getValue(), array);
+                }
+            }
         }
+
         return items;
     }
 
+    /**
+     * Looks a single entry up, reading the whole tree only if the /Limits of the nodes on the path to the entry
+     * are missing or inconsistent, so that the entry cannot be looked up by them.
+     */
+    private PdfObject getItem(String key) {
+        if (items != null) {
+            return items.get(key);
+        }
+        if (treeType.equals(PdfName.Dests)) {
+            PdfDictionary destinations = catalog.getPdfObject().getAsDictionary(PdfName.Dests);
+            if (destinations != null) {
+                PdfArray array = getNameArray(destinations.get(new PdfName(key)));
+                if (array != null) {
+                    return array;
+                }
+            }
+        }
+        PdfDictionary dictionary = getTreeRoot();
+        if (dictionary == null) {
+            return null;
+        }
+        // the names are sorted by their bytes, and the name may be written either in PDFDocEncoding or in UTF-16BE
+        List<byte[]> keyEncodings = new ArrayList<>(2);
+        if (PdfEncodings.isPdfDocEncoding(key)) {
+            keyEncodings.add(PdfEncodings.convertToBytes(key, PdfEncodings.PDF_DOC_ENCODING));
+        }
+        keyEncodings.add(PdfEncodings.convertToBytes(key, PdfEncodings.UNICODE_BIG));
+        PdfObject[] value = new PdfObject[1];
+        for (byte[] keyBytes : keyEncodings) {
+            if (!findItem(dictionary, keyBytes, value)) {
+                return readItems().get(key);
+            }
+            if (value[0] != null) {
+                return getNameArray(value[0]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks the entry up by the /Limits of the tree nodes.
+     *
+     * @param node     the root of the tree
+     * @param keyBytes the bytes of the name
+     * @param value    the array to store the value of the entry to, null is stored if there is no such entry
+     * @return false if the /Limits of a node on the path to the entry are missing or inconsistent, true otherwise
+     */
+    private static boolean findItem(PdfDictionary node, byte[] keyBytes, PdfObject[] value) {
+        value[0] = null;
+        PdfString lowerLimit = null;
+        PdfString upperLimit = null;
+        while (true) {
+            PdfArray names = node.getAsArray(PdfName.Names);
+            if (names != null) {
+                int low = 0;
+                int high = names.size() / 2 - 1;
+                if (high >= 0 && lowerLimit != null) {
+                    PdfString first = names.getAsString(0);
+                    PdfString last = names.getAsString(2 * high);
+                    if (first == null || last == null || compare(first, lowerLimit.getValueBytes()) < 0
+                            || compare(last, upperLimit.getValueBytes()) > 0) {
+                        return false;
+                    }
+                }
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    PdfString name = names.getAsString(2 * mid);
+                    if (name == null) {
+                        return false;
+                    }
+                    int cmp = compare(name, keyBytes);
+                    if (cmp < 0) {
+                        low = mid + 1;
+                    } else if (cmp > 0) {
+                        high = mid - 1;
+                    } else {
+                        value[0] = names.get(2 * mid + 1);
+                        return true;
+                    }
+                }
+                return true;
+            }
+            PdfArray kids = node.getAsArray(PdfName.Kids);
+            if (kids == null) {
+                return true;
+            }
+            node = null;
+            int low = 0;
+            int high = kids.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                PdfDictionary kid = kids.getAsDictionary(mid);
+                PdfArray limits = kid != null ? kid.getAsArray(PdfName.Limits) : null;
+                PdfString first = limits != null ? limits.getAsString(0) : null;
+                PdfString last = limits != null ? limits.getAsString(1) : null;
+                if (first == null || last == null || compare(first, last.getValueBytes()) > 0) {
+                    return false;
+                }
+                if (compare(first, keyBytes) > 0) {
+                    high = mid - 1;
+                } else if (compare(last, keyBytes) < 0) {
+                    low = mid + 1;
+                } else {
+                    node = kid;
+                    lowerLimit = first;
+                    upperLimit = last;
+                    break;
+                }
+            }
+            if (node == null) {
+                // the name is between the limits of two kids
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Creates the string the name is written with: in PDFDocEncoding if possible, in UTF-16BE otherwise.
+     */
+    private static PdfString toPdfString(String name) {
+        return new PdfString(name, PdfEncodings.UNICODE_BIG);
+    }
+
+    /**
+     * Compares the bytes of the string with the specified bytes as unsigned values, the way the names are sorted.
+     */
+    private static int compare(PdfString name, byte[] keyBytes) {
+        return compare(name.getValueBytes(), keyBytes);
+    }
+
+    /**
+     * Compares the bytes as unsigned values.
+     */
+    private static int compare(byte[] nameBytes, byte[] keyBytes) {
+        int length = Math.min(nameBytes.length, keyBytes.length);
+        for (int i = 0; i < length; i++) {
+            int cmp = (nameBytes[i] & 0xff) - (keyBytes[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return nameBytes.length - keyBytes.length;
+    }
+
     private PdfString iterateItems(PdfDictionary dictionary, Map<String, PdfObject> items, PdfString leftOver) {
         PdfArray names = dictionary.getAsArray(PdfName.Names);
         if (names != null) {
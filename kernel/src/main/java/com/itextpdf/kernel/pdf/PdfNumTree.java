@@ -53,7 +53,7 @@ public class PdfNumTree implements Serializable {
     private static final int NODE_SIZE = 40;
 
     private PdfCatalog catalog;
-    private Map<Integer, PdfObject> items = new HashMap<>();
+    private Map<Integer, PdfObject> items = new TreeMap<>();
     private PdfName treeType;
 
     /**
@@ -68,27 +68,45 @@ public class PdfNumTree implements Serializable {
         this.catalog = catalog;
     }
 
-
+    /**
+     * Gets the entries of the tree.
+     * <p>
+     * The whole tree is read only when the entries are iterated or modified. Looking a single entry up with
+     * {@link Map#get(Object)} or {@link Map#containsKey(Object)} before that descends the tree by the /Limits
+     * of the nodes and reads only the nodes on the path to the entry.
+     *
+     * @return the map of numbers to values
+     */
     public Map<Integer, PdfObject> getNumbers() {
         if (items.size() > 0) {
             return items;
         }
+        return new AbstractMap<Integer, PdfObject>() {
+            @Override
+            public PdfObject get(Object key) {
+                return key instanceof Integer ? getItem((int) (Integer) key) : null;
+            }
 
-        PdfDictionary numbers = null;
-        if (treeType.equals(PdfName.PageLabels)) {
-            numbers = catalog.getPdfObject().getAsDictionary(PdfName.PageLabels);
-        } else if (treeType.equals(PdfName.ParentTree)) {
-            PdfDictionary structTreeRoot = catalog.getPdfObject().getAsDictionary(PdfName.StructTreeRoot);
-            if (structTreeRoot != null) {
-                numbers = structTreeRoot.getAsDictionary(PdfName.ParentTree);
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
             }
-        }
 
-        if (numbers != null) {
-            readTree(numbers);
-        }
+            @Override
+            public PdfObject put(Integer key, PdfObject value) {
+                return readItems().put(key, value);
+            }
 
-        return items;
+            @Override
+            public PdfObject remove(Object key) {
+                return readItems().remove(key);
+            }
+
+            @Override
+            public Set<Entry<Integer, PdfObject>> entrySet() {
+                return readItems().entrySet();
+            }
+        };
     }
 
     public void addEntry(Integer key, PdfObject value) {
@@ -96,72 +114,190 @@ public class PdfNumTree implements Serializable {
     }
 
     public PdfDictionary buildTree() {
-        Integer[] numbers = new Integer[items.size()];
-        numbers = items.keySet().toArray(numbers);
-        Arrays.sort(numbers);
-        if (numbers.length <= NODE_SIZE) {
+        if (items.size() <= NODE_SIZE) {
             PdfDictionary dic = new PdfDictionary();
             PdfArray ar = new PdfArray();
-            for (int k = 0; k < numbers.length; ++k) {
-                ar.add(new PdfNumber((int) numbers[k]));
-                ar.add(items.get(numbers[k]));
+            for (Map.Entry<Integer, PdfObject> entry : items.entrySet()) {
+                ar.add(new PdfNumber((int) entry.getKey()));
+                ar.add(entry.getValue());
             }
             dic.put(PdfName.Nums, ar);
             return dic;
         }
-        int skip = NODE_SIZE;
-        PdfDictionary[] kids = new PdfDictionary[(numbers.length + NODE_SIZE - 1) / NODE_SIZE];
-        for (int i = 0; i < kids.length; ++i) {
-            int offset = i * NODE_SIZE;
-            int end = Math.min(offset + NODE_SIZE, numbers.length);
-            PdfDictionary dic = new PdfDictionary();
-            PdfArray arr = new PdfArray();
-            arr.add(new PdfNumber((int) numbers[offset]));
-            arr.add(new PdfNumber((int) numbers[end - 1]));
-            dic.put(PdfName.Limits, arr);
-            arr = new PdfArray();
-            for (; offset < end; ++offset) {
-                arr.add(new PdfNumber((int) numbers[offset]));
-                arr.add(items.get(numbers[offset]));
-            }
-            dic.put(PdfName.Nums, arr);
-            dic.makeIndirect(catalog.getDocument());
-            kids[i] = dic;
+        // the entries are kept sorted, so the leaves are filled while iterating them and only the first and the last
+        // number of every node are kept for building the upper levels
+        List<PdfDictionary> kids = new ArrayList<>();
+        List<Integer> firstNumbers = new ArrayList<>();
+        List<Integer> lastNumbers = new ArrayList<>();
+        PdfArray arr = new PdfArray();
+        int lastNumber = 0;
+        for (Map.Entry<Integer, PdfObject> entry : items.entrySet()) {
+            if (arr.size() == 0) {
+                firstNumbers.add(entry.getKey());
+            }
+            lastNumber = (int) entry.getKey();
+            arr.add(new PdfNumber(lastNumber));
+            arr.add(entry.getValue());
+            if (arr.size() == 2 * NODE_SIZE) {
+                lastNumbers.add(lastNumber);
+                kids.add(createLeaf(firstNumbers.get(kids.size()), lastNumber, arr));
+                arr = new PdfArray();
+            }
         }
-        int top = kids.length;
-        while (true) {
-            if (top <= NODE_SIZE) {
-                PdfArray arr = new PdfArray();
-                for (int k = 0; k < top; ++k)
-                    arr.add(kids[k]);
-                PdfDictionary dic = new PdfDictionary();
-                dic.put(PdfName.Kids, arr);
-                return dic;
-            }
-            skip *= NODE_SIZE;
-            int tt = (numbers.length + skip - 1 )/ skip;
-            for (int k = 0; k < tt; ++k) {
-                int offset = k * NODE_SIZE;
-                int end = Math.min(offset + NODE_SIZE, top);
+        if (arr.size() > 0) {
+            lastNumbers.add(lastNumber);
+            kids.add(createLeaf(firstNumbers.get(kids.size()), lastNumber, arr));
+        }
+        while (kids.size() > NODE_SIZE) {
+            List<PdfDictionary> parents = new ArrayList<>();
+            List<Integer> parentFirstNumbers = new ArrayList<>();
+            List<Integer> parentLastNumbers = new ArrayList<>();
+            for (int offset = 0; offset < kids.size(); offset += NODE_SIZE) {
+                int end = Math.min(offset + NODE_SIZE, kids.size());
                 PdfDictionary dic = new PdfDictionary().makeIndirect(catalog.getDocument());
-                PdfArray arr = new PdfArray();
-                arr.add(new PdfNumber((int) numbers[k * skip]));
-                arr.add(new PdfNumber((int) numbers[Math.min((k + 1) * skip, numbers.length) - 1]));
-                dic.put(PdfName.Limits, arr);
                 arr = new PdfArray();
-                for (; offset < end; ++offset) {
-                    arr.add(kids[offset]);
-                }
-                dic.put(PdfName.Kids, arr);
-                kids[k] = dic;
+                arr.add(new PdfNumber((int) firstNumbers.get(offset)));
+                arr.add(new PdfNumber((int) lastNumbers.get(end - 1)));
+                dic.put(PdfName.Limits, arr);
+                dic.put(PdfName.Kids, new PdfArray(kids.subList(offset, end)));
+                parents.add(dic);
+                parentFirstNumbers.add(firstNumbers.get(offset));
+                parentLastNumbers.add(lastNumbers.get(end - 1));
             }
-            top = tt;
+            kids = parents;
+            firstNumbers = parentFirstNumbers;
+            lastNumbers = parentLastNumbers;
         }
+        PdfDictionary dic = new PdfDictionary();
+        dic.put(PdfName.Kids, new PdfArray(kids));
+        return dic;
+    }
+
+    private PdfDictionary createLeaf(int firstNumber, int lastNumber, PdfArray nums) {
+        PdfDictionary dic = new PdfDictionary();
+        PdfArray limits = new PdfArray();
+        limits.add(new PdfNumber(firstNumber));
+        limits.add(new PdfNumber(lastNumber));
+        dic.put(PdfName.Limits, limits);
+        dic.put(PdfName.Nums, nums);
+        dic.makeIndirect(catalog.getDocument());
+        return dic;
     }
 
-    private void readTree(PdfDictionary dictionary) {
-        if (dictionary != null) {
-            iterateItems(dictionary, null);
+    private PdfDictionary getTreeRoot() {
+        if (treeType.equals(PdfName.PageLabels)) {
+            return catalog.getPdfObject().getAsDictionary(PdfName.PageLabels);
+        } else if (treeType.equals(PdfName.ParentTree)) {
+            PdfDictionary structTreeRoot = catalog.getPdfObject().getAsDictionary(PdfName.StructTreeRoot);
+            if (structTreeRoot != null) {
+                return structTreeRoot.getAsDictionary(PdfName.ParentTree);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads all the entries of the tree, if no entry has been read or added yet.
+     */
+    private Map<Integer, PdfObject> readItems() {
+        if (items.size() == 0) {
+            PdfDictionary numbers = getTreeRoot();
+            if (numbers != null) {
+                iterateItems(numbers, null);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Looks a single entry up, reading the whole tree only if the /Limits of the nodes on the path to the entry
+     * are missing or inconsistent, so that the entry cannot be looked up by them.
+     */
+    private PdfObject getItem(int key) {
+        if (items.size() > 0) {
+            return items.get(key);
+        }
+        PdfDictionary numbers = getTreeRoot();
+        if (numbers == null) {
+            return null;
+        }
+        PdfObject[] value = new PdfObject[1];
+        return findItem(numbers, key, value) ? value[0] : readItems().get(key);
+    }
+
+    /**
+     * Looks the entry up by the /Limits of the tree nodes.
+     *
+     * @param node  the root of the tree
+     * @param key   the number
+     * @param value the array to store the value of the entry to, null is stored if there is no such entry
+     * @return false if the /Limits of a node on the path to the entry are missing or inconsistent, true otherwise
+     */
+    private static boolean findItem(PdfDictionary node, int key, PdfObject[] value) {
+        value[0] = null;
+        PdfNumber lowerLimit = null;
+        PdfNumber upperLimit = null;
+        while (true) {
+            PdfArray nums = node.getAsArray(PdfName.Nums);
+            if (nums != null) {
+                int low = 0;
+                int high = nums.size() / 2 - 1;
+                if (high >= 0 && lowerLimit != null) {
+                    PdfNumber first = nums.getAsNumber(0);
+                    PdfNumber last = nums.getAsNumber(2 * high);
+                    if (first == null || last == null || first.intValue() < lowerLimit.intValue()
+                            || last.intValue() > upperLimit.intValue()) {
+                        return false;
+                    }
+                }
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    PdfNumber number = nums.getAsNumber(2 * mid);
+                    if (number == null) {
+                        return false;
+                    }
+                    if (number.intValue() < key) {
+                        low = mid + 1;
+                    } else if (number.intValue() > key) {
+                        high = mid - 1;
+                    } else {
+                        value[0] = nums.get(2 * mid + 1);
+                        return true;
+                    }
+                }
+                return true;
+            }
+            PdfArray kids = node.getAsArray(PdfName.Kids);
+            if (kids == null) {
+                return true;
+            }
+            node = null;
+            int low = 0;
+            int high = kids.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                PdfDictionary kid = kids.getAsDictionary(mid);
+                PdfArray limits = kid != null ? kid.getAsArray(PdfName.Limits) : null;
+                PdfNumber first = limits != null ? limits.getAsNumber(0) : null;
+                PdfNumber last = limits != null ? limits.getAsNumber(1) : null;
+                if (first == null || last == null || first.intValue() > last.intValue()) {
+                    return false;
+                }
+                if (first.intValue() > key) {
+                    high = mid - 1;
+                } else if (last.intValue() < key) {
+                    low = mid + 1;
+                } else {
+                    node = kid;
+                    lowerLimit = first;
+                    upperLimit = last;
+                    break;
+                }
+            }
+            if (node == null) {
+                // the number is between the limits of two kids
+                return true;
+            }
         }
     }
 
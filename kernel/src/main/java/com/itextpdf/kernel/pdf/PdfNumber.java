@@ -202,11 +202,7 @@ public class PdfNumber extends PdfPrimitiveObject {
     }
 
     protected void generateValue() {
-        try {
-            value = java.lang.Double.parseDouble(new String(content));
-        } catch (NumberFormatException e) {
-            value = java.lang.Double.NaN;
-        }
+        value = ByteUtils.parseDouble(content, 0, content.length);
         isDouble = true;
     }
 
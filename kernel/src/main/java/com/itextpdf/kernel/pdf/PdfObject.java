@@ -310,6 +310,7 @@ public abstract class PdfObject implements Serializable {
             if (indirectReference != null && indirectReference.getReader() != null
                     && !indirectReference.checkState(FLUSHED)) {
                 indirectReference.refersTo = null;
+                indirectReference.getDocument().getXref().releaseReference(indirectReference);
                 indirectReference = null;
                 setState(READ_ONLY);
             }
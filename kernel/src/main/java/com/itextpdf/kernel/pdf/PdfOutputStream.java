@@ -54,7 +54,13 @@ import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +79,11 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
     // For internal usage only
     private byte[] duplicateContentBuffer = null;
 
+    /**
+     * Deflated content of the streams, prepared ahead of writing them.
+     */
+    private transient Map<PdfStream, CompressedContent> compressedStreams = null;
+
     /**
      * Document associated with PdfOutputStream.
      */
@@ -300,17 +311,20 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 try {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) { // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                        byteArrayStream = takeCompressedContent(pdfStream);
+                        if (byteArrayStream == null) {
+                            byteArrayStream = new ByteArrayOutputStream();
+                            DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
+                            if (pdfStream instanceof PdfObjectStream) {
+                                PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+                                ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+                                ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            } else {
+                                assert pdfStream.getOutputStream() != null : "Error in outputStream";
+                                ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+                            }
+                            zip.finish();
                         }
-                        zip.finish();
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -345,6 +359,56 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Deflates the content of the given streams on the given executor ahead of writing them.
+     * Only the streams which would be compressed with Flate on writing are processed,
+     * the streams are still written one by one in the usual order, so the output is not affected.
+     * The prepared content is only used if the content of the stream is not changed until it is written.
+     *
+     * @param streams  the streams which are going to be written
+     * @param executor the executor to compress the streams on
+     * @throws InterruptedException if the current thread is interrupted while waiting for the compression,
+     *                              the compression tasks which are not finished yet are cancelled in this case
+     */
+    void compressStreams(Collection<PdfStream> streams, ExecutorService executor) throws InterruptedException {
+        if (compressedStreams == null) {
+            compressedStreams = new IdentityHashMap<>();
+        }
+        Map<PdfStream, Future<ByteArrayOutputStream>> futures = new IdentityHashMap<>();
+        Map<PdfStream, CompressedContent> sources = new IdentityHashMap<>();
+        for (PdfStream pdfStream : streams) {
+            if (isCompressedOnWrite(pdfStream) && !isCompressedContentValid(pdfStream, compressedStreams.get(pdfStream))) {
+                final ByteArrayOutputStream content = (ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream();
+                final int compressionLevel = getCompressionLevel(pdfStream);
+                sources.put(pdfStream, new CompressedContent(content, content.getModificationCount(), compressionLevel, null));
+                futures.put(pdfStream, executor.submit(new Callable<ByteArrayOutputStream>() {
+                    @Override
+                    public ByteArrayOutputStream call() throws IOException {
+                        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+                        content.writeTo(zip);
+                        zip.finish();
+                        return byteArrayStream;
+                    }
+                }));
+            }
+        }
+        try {
+            for (Map.Entry<PdfStream, Future<ByteArrayOutputStream>> entry : futures.entrySet()) {
+                CompressedContent source = sources.get(entry.getKey());
+                compressedStreams.put(entry.getKey(), new CompressedContent(source.source, source.modificationCount,
+                        source.compressionLevel, entry.getValue().get()));
+            }
+        } catch (InterruptedException e) {
+            for (Future<ByteArrayOutputStream> future : futures.values()) {
+                future.cancel(true);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new PdfException(PdfException.IoException, e.getCause());
+        }
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
@@ -489,6 +553,41 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         return bytes;
     }
 
+    private boolean isCompressedOnWrite(PdfStream pdfStream) {
+        if (pdfStream instanceof PdfObjectStream || pdfStream.getInputStream() != null || pdfStream.getOutputStream() == null
+                || !(pdfStream.getOutputStream().getOutputStream() instanceof ByteArrayOutputStream)) {
+            return false;
+        }
+        boolean userDefinedCompression = pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+        boolean allowCompression = !pdfStream.containsKey(PdfName.Filter) && isNotMetadataPdfStream(pdfStream);
+        return getCompressionLevel(pdfStream) != CompressionConstants.NO_COMPRESSION && !containsFlateFilter(pdfStream)
+                && (allowCompression || userDefinedCompression);
+    }
+
+    private int getCompressionLevel(PdfStream pdfStream) {
+        return pdfStream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION ?
+                pdfStream.getCompressionLevel() : document.getWriter().getCompressionLevel();
+    }
+
+    /**
+     * Takes the content of the stream, which was compressed ahead of writing.
+     *
+     * @param pdfStream the stream which is being written
+     * @return the compressed content, or {@code null} if the content was not compressed, or was changed since
+     */
+    ByteArrayOutputStream takeCompressedContent(PdfStream pdfStream) {
+        CompressedContent compressedContent = compressedStreams != null ? compressedStreams.remove(pdfStream) : null;
+        return isCompressedContentValid(pdfStream, compressedContent) ? compressedContent.content : null;
+    }
+
+    private boolean isCompressedContentValid(PdfStream pdfStream, CompressedContent compressedContent) {
+        // the stream content could still be changed or replaced after it was compressed
+        return compressedContent != null && pdfStream.getOutputStream() != null
+                && pdfStream.getOutputStream().getOutputStream() == compressedContent.source
+                && compressedContent.source.getModificationCount() == compressedContent.modificationCount
+                && getCompressionLevel(pdfStream) == compressedContent.compressionLevel;
+    }
+
     /**
      * This method is invoked while deserialization
      */
@@ -513,4 +612,18 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         out.defaultWriteObject();
         outputStream = tempOutputStream;
     }
+
+    private static class CompressedContent {
+        private final ByteArrayOutputStream source;
+        private final int modificationCount;
+        private final int compressionLevel;
+        private final ByteArrayOutputStream content;
+
+        CompressedContent(ByteArrayOutputStream source, int modificationCount, int compressionLevel, ByteArrayOutputStream content) {
+            this.source = source;
+            this.modificationCount = modificationCount;
+            this.compressionLevel = compressionLevel;
+            this.content = content;
+        }
+    }
 }
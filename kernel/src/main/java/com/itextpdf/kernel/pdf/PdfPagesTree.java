@@ -49,8 +49,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Algorithm for construction {@see PdfPages} tree
@@ -61,6 +65,8 @@ class PdfPagesTree implements Serializable{
 
     private final int leafSize = 10;
 
+    private static final int MAX_TREE_DEPTH = 256;
+
     private List<PdfDictionary> pageRefs;
     private List<PdfPages> parents;
     private List<PdfPage> pages;
@@ -68,6 +74,14 @@ class PdfPagesTree implements Serializable{
     private boolean generated = false;
     private PdfPages root;
 
+    /**
+     * The pages of a document opened in reading mode, which are not kept in {@link #pages},
+     * so that they can be garbage collected as soon as they are not used anymore. The dictionaries
+     * of the collected pages are released and read again on the next access to the page.
+     */
+    private transient Map<PdfDictionary, ReleasablePage> releasablePages;
+    private transient ReferenceQueue<PdfPage> releasedPages;
+
     /**
      * Create PdfPages tree.
      *
@@ -107,11 +121,23 @@ class PdfPagesTree implements Serializable{
         PdfPage pdfPage = pages.get(pageNum);
         if (pdfPage == null) {
             loadPage(pageNum);
-            pdfPage = new PdfPage(pageRefs.get(pageNum));
+            PdfDictionary pageDictionary = pageRefs.get(pageNum);
+            boolean releasable = document.getWriter() == null;
+            if (releasable) {
+                pdfPage = getReleasablePage(pageDictionary);
+                if (pdfPage != null) {
+                    return pdfPage;
+                }
+            }
+            pdfPage = new PdfPage(pageDictionary);
             int parentIndex = findPageParent(pageNum);
             PdfPages parentPages = parents.get(parentIndex);
             pdfPage.parentPages = parentPages;
-            pages.set(pageNum, pdfPage);
+            if (releasable) {
+                putReleasablePage(pageDictionary, parentPages, pdfPage);
+            } else {
+                pages.set(pageNum, pdfPage);
+            }
         }
         return pdfPage;
     }
@@ -144,6 +170,14 @@ class PdfPagesTree implements Serializable{
      * in this tree, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfPage page) {
+        // the parent of a page, which was got from this tree, is always a loaded leaf of the tree
+        if (page.parentPages != null) {
+            int pageNum = findPageInParent(page.getPdfObject(), page.parentPages);
+            if (pageNum >= 0 && pageRefs.get(pageNum) == page.getPdfObject()
+                    && (pages.get(pageNum) == page || getReleasablePage(page.getPdfObject()) == page)) {
+                return pageNum + 1;
+            }
+        }
         return pages.indexOf(page) + 1;
     }
 
@@ -152,7 +186,11 @@ class PdfPagesTree implements Serializable{
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
     public int getPageNumber(PdfDictionary pageDictionary) {
-        int pageNum = pageRefs.indexOf(pageDictionary);
+        int pageNum = findPageByParents(pageDictionary);
+        if (pageNum >= 0) {
+            return pageNum + 1;
+        }
+        pageNum = pageRefs.indexOf(pageDictionary);
         if (pageNum >= 0) {
             return pageNum + 1;
         }
@@ -288,6 +326,8 @@ class PdfPagesTree implements Serializable{
     protected void clearPageRefs() {
         pageRefs = null;
         pages = null;
+        releasablePages = null;
+        releasedPages = null;
     }
 
     protected List<PdfPages> getParents() {
@@ -378,6 +418,131 @@ class PdfPagesTree implements Serializable{
         }
     }
 
+    /**
+     * Finds the page by descending from the root of the tree along the /Parent entries of the page
+     * and its ancestors, summing up the /Count values of the preceding kids on every level.
+     *
+     * @return zero-based index of the page, or -1 if the page could not be found in this way
+     */
+    private int findPageByParents(PdfDictionary pageDictionary) {
+        if (root == null || root.getPdfObject().isFlushed() || pageDictionary.getIndirectReference() == null) {
+            return -1;
+        }
+        List<PdfDictionary> path = new ArrayList<>();
+        PdfDictionary node = pageDictionary;
+        // the depth is limited to guard against loops in the /Parent chain of broken documents
+        while (node != root.getPdfObject()) {
+            if (node.isFlushed()) {
+                return -1;
+            }
+            path.add(node);
+            node = node.getAsDictionary(PdfName.Parent);
+            if (node == null || path.size() > MAX_TREE_DEPTH) {
+                return -1;
+            }
+        }
+        int pageNum = 0;
+        PdfDictionary parent = root.getPdfObject();
+        for (int level = path.size() - 1; level >= 0; level--) {
+            PdfDictionary kid = path.get(level);
+            PdfArray kids = parent.getAsArray(PdfName.Kids);
+            if (kids == null) {
+                return -1;
+            }
+            int kidIndex = indexOfKid(kids, kid);
+            if (kidIndex < 0) {
+                return -1;
+            }
+            for (int i = 0; i < kidIndex; i++) {
+                PdfDictionary precedingKid = kids.getAsDictionary(i);
+                if (precedingKid == null || precedingKid.isFlushed()) {
+                    return -1;
+                }
+                PdfNumber count = precedingKid.getAsNumber(PdfName.Count);
+                pageNum += precedingKid.getAsArray(PdfName.Kids) == null || count == null ? 1 : count.intValue();
+            }
+            parent = kid;
+        }
+        if (pageNum >= pageRefs.size()) {
+            return -1;
+        }
+        loadPage(pageNum);
+        return pageRefs.get(pageNum) == pageDictionary ? pageNum : -1;
+    }
+
+    /**
+     * Finds the page among the kids of a loaded leaf of the tree.
+     *
+     * @return zero-based index of the page, or -1 if the leaf does not contain the page
+     */
+    private int findPageInParent(PdfDictionary pageDictionary, PdfPages parent) {
+        PdfArray kids = parent.getKids();
+        if (kids == null) {
+            return -1;
+        }
+        int kidIndex = indexOfKid(kids, pageDictionary);
+        if (kidIndex < 0 || kidIndex >= parent.getCount()) {
+            return -1;
+        }
+        int pageNum = parent.getFrom() + kidIndex;
+        return pageNum < pageRefs.size() ? pageNum : -1;
+    }
+
+    private static int indexOfKid(PdfArray kids, PdfDictionary kid) {
+        PdfIndirectReference reference = kid.getIndirectReference();
+        for (int i = 0; i < kids.size(); i++) {
+            PdfObject object = kids.get(i, false);
+            if (object == kid || (reference != null && object == reference)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private PdfPage getReleasablePage(PdfDictionary pageDictionary) {
+        if (releasablePages == null) {
+            return null;
+        }
+        ReleasablePage reference = releasablePages.get(pageDictionary);
+        return reference != null ? reference.get() : null;
+    }
+
+    private void putReleasablePage(PdfDictionary pageDictionary, PdfPages parentPages, PdfPage pdfPage) {
+        if (releasablePages == null) {
+            releasablePages = new HashMap<>();
+            releasedPages = new ReferenceQueue<>();
+        }
+        // forget the pages, which were garbage collected, to keep the memory bounded
+        ReleasablePage released;
+        while ((released = (ReleasablePage) releasedPages.poll()) != null) {
+            if (releasablePages.get(released.pageDictionary) == released) {
+                releasablePages.remove(released.pageDictionary);
+                releasePageDictionary(released);
+            }
+        }
+        releasablePages.put(pageDictionary, new ReleasablePage(pageDictionary, parentPages, pdfPage, releasedPages));
+    }
+
+    /**
+     * Releases the dictionary of the page, which was garbage collected, so that it is read again from the document
+     * through the kids of its parent. Modified dictionaries are kept, because their changes would be lost.
+     */
+    private void releasePageDictionary(ReleasablePage released) {
+        PdfDictionary pageDictionary = released.pageDictionary;
+        PdfIndirectReference reference = pageDictionary.getIndirectReference();
+        if (reference == null || reference.checkState(PdfObject.MODIFIED)) {
+            return;
+        }
+        int pageNum = findPageInParent(pageDictionary, released.parentPages);
+        if (pageNum < 0 || pageRefs.get(pageNum) != pageDictionary
+                || released.parentPages.getKids().get(pageNum - released.parentPages.getFrom(), false) != reference) {
+            return;
+        }
+        pageRefs.set(pageNum, null);
+        pageDictionary.clearState(PdfObject.FORBID_RELEASE);
+        pageDictionary.release();
+    }
+
     // zero-based index
     private boolean internalRemovePage(int pageNum) {
         int parentIndex = findPageParent(pageNum);
@@ -394,8 +559,11 @@ class PdfPagesTree implements Serializable{
             } else {
                 correctPdfPagesFromProperty(parentIndex + 1, -1);
             }
-            pageRefs.remove(pageNum);
+            PdfDictionary pageDictionary = pageRefs.remove(pageNum);
             pages.remove(pageNum);
+            if (releasablePages != null && pageDictionary != null) {
+                releasablePages.remove(pageDictionary);
+            }
             return true;
         } else {
             return false;
@@ -424,4 +592,18 @@ class PdfPagesTree implements Serializable{
             }
         }
     }
+
+    /**
+     * A weak reference to a page, which knows the page dictionary it was created for and the leaf it was loaded from.
+     */
+    private static final class ReleasablePage extends WeakReference<PdfPage> {
+        private final PdfDictionary pageDictionary;
+        private final PdfPages parentPages;
+
+        ReleasablePage(PdfDictionary pageDictionary, PdfPages parentPages, PdfPage pdfPage, ReferenceQueue<PdfPage> queue) {
+            super(pdfPage, queue);
+            this.pageDictionary = pageDictionary;
+            this.parentPages = parentPages;
+        }
+    }
 }
@@ -45,14 +45,18 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.*;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamingFilterHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
 public class PdfReader implements Closeable, Serializable {
@@ -65,6 +69,9 @@ public class PdfReader implements Closeable, Serializable {
     private static final String endstream4 = "\rendstream";
     private static final byte[] endstream = ByteUtils.getIsoBytes("endstream");
     private static final byte[] endobj = ByteUtils.getIsoBytes("endobj");
+    private static final int STREAM_READ_BUFFER_SIZE = 8192;
+    private static final int DECODE_BUFFER_POOL_SIZE = 4;
+    private static final int MAX_POOLED_DECODE_BUFFER_SIZE = 4 * 1024 * 1024;
 
     protected static boolean correctStreamLength = true;
 
@@ -96,6 +103,9 @@ public class PdfReader implements Closeable, Serializable {
     protected boolean fixedXref = false;
     protected boolean xrefStm = false;
 
+    // buffers for decoded streams that are tokenized, reused across streams
+    private transient Deque<ByteBuffer> decodeBufferPool;
+
     /**
      * Constructs a new PdfReader.
      *
@@ -167,6 +177,21 @@ public class PdfReader implements Closeable, Serializable {
         return this;
     }
 
+    /**
+     * Creates a new reader of the same document, which parses the document independently of this reader,
+     * so that the documents opened with both readers can be used on different threads.
+     * The new reader reads the source of this reader through its own view of the source, which does not
+     * synchronize with the reads of this reader. The source is not closed, when the new reader is closed.
+     *
+     * @return the new reader with the same properties.
+     * @throws IOException on error
+     */
+    public PdfReader createConcurrentReader() throws IOException {
+        PdfReader reader = new PdfReader(createConcurrentSourceView(), properties);
+        reader.unethicalReading = unethicalReading;
+        return reader;
+    }
+
     public boolean isCloseStream() {
         return tokens.isCloseStream();
     }
@@ -251,27 +276,11 @@ public class PdfReader implements Closeable, Serializable {
         RandomAccessFileOrArray file = tokens.getSafeFile();
         byte[] bytes = null;
         try {
-            file.seek(stream.getOffset());
-            bytes = new byte[length];
-            file.readFully(bytes);
-            if (decrypt != null) {
-                PdfObject filter = stream.get(PdfName.Filter, true);
-                boolean skip = false;
-                if (filter != null) {
-                    if (PdfName.Crypt.equals(filter)) {
-                        skip = true;
-                    } else if (filter.getType() == PdfObject.ARRAY) {
-                        PdfArray filters = (PdfArray) filter;
-                        for (int k = 0; k < filters.size(); k++) {
-                            if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
-                                skip = true;
-                                break;
-                            }
-                        }
-                    }
-                    filter.release();
-                }
-                if (!skip) {
+            synchronized (this) {
+                file.seek(stream.getOffset());
+                bytes = new byte[length];
+                file.readFully(bytes);
+                if (isStreamDecryptionNeeded(stream)) {
                     decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
                     bytes = decrypt.decryptByteArray(bytes);
                 }
@@ -288,14 +297,118 @@ public class PdfReader implements Closeable, Serializable {
     /**
      * Gets the input stream associated with PdfStream.
      * User is responsible for closing returned stream.
+     * <p>
+     * The stream bytes are not read into memory at once: they are pulled from the source file,
+     * decrypted and decoded portion by portion as the returned stream is being read.
+     * Filters which do not support incremental decoding (see {@link IStreamingFilterHandler})
+     * are applied to the whole data, preceding filters output being read into memory in this case.
      *
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
      * @return InputStream
      * @throws IOException
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        InputStream raw = readStreamRaw(stream);
+        if (decode && raw != null) {
+            return decodeStream(raw, stream);
+        } else {
+            return raw;
+        }
+    }
+
+    /**
+     * Gets the source of the decoded stream bytes, e.g. to tokenize the stream content.
+     * User is responsible for closing returned source.
+     * <p>
+     * Streams which are neither filtered nor encrypted are served directly from the source of the document
+     * without copying. Other streams are decoded into a buffer which is reused for other streams
+     * once the returned source is closed.
+     *
+     * @param stream the stream to read
+     * @return the source of the decoded bytes, or {@code null} if the stream was not read from the document
+     * @throws IOException
+     */
+    public IRandomAccessSource readStreamSource(PdfStream stream) throws IOException {
+        IRandomAccessSource rawSource = getStreamRawSource(stream);
+        if (rawSource == null) {
+            return null;
+        }
+        if (!stream.containsKey(PdfName.Filter) && !isStreamDecryptionNeeded(stream)) {
+            return rawSource;
+        }
+        rawSource.close();
+        InputStream is = readStream(stream, true);
+        ByteBuffer buffer = acquireDecodeBuffer();
+        try {
+            byte[] chunk = new byte[STREAM_READ_BUFFER_SIZE];
+            int n;
+            while ((n = is.read(chunk)) > 0) {
+                buffer.append(chunk, 0, n);
+            }
+        } catch (IOException e) {
+            releaseDecodeBuffer(buffer);
+            throw e;
+        } catch (RuntimeException e) {
+            releaseDecodeBuffer(buffer);
+            throw e;
+        } finally {
+            is.close();
+        }
+        return new PooledBufferRandomAccessSource(buffer);
+    }
+
+    /**
+     * Wraps an InputStream into the stream which lazily applies the filters specified in the provided dictionary
+     * using default filter handlers.
+     *
+     * @param in               the stream with the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @return the stream with decoded bytes
+     * @throws IOException if the data has to be read for a filter which does not support incremental decoding
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary) throws IOException {
+        return decodeStream(in, streamDictionary, FilterHandlers.getDefaultFilterHandlers());
+    }
+
+    /**
+     * Wraps an InputStream into the stream which lazily applies the filters specified in the provided dictionary
+     * using the provided filter handlers. Handlers which are not {@link IStreamingFilterHandler} are given
+     * the whole data read from the preceding filter.
+     *
+     * @param in               the stream with the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream with decoded bytes
+     * @throws IOException if the data has to be read for a filter which does not support incremental decoding
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream in, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParams(dp, j);
+            if (filterHandler instanceof IStreamingFilterHandler) {
+                in = ((IStreamingFilterHandler) filterHandler).decode(in, filterName, decodeParams, streamDictionary);
+            } else {
+                byte[] b;
+                try {
+                    b = StreamUtil.inputStreamToArray(in);
+                } finally {
+                    in.close();
+                }
+                in = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams, streamDictionary));
+            }
+        }
+        return in;
     }
 
     /**
@@ -323,49 +436,15 @@ public class PdfReader implements Closeable, Serializable {
         if (b == null) {
             return null;
         }
-        PdfObject filter = streamDictionary.get(PdfName.Filter);
-        PdfArray filters = new PdfArray();
-        if (filter != null) {
-            if (filter.getType() == PdfObject.NAME) {
-                filters.add(filter);
-            } else if (filter.getType() == PdfObject.ARRAY) {
-                filters = ((PdfArray) filter);
-            }
-        }
-        PdfArray dp = new PdfArray();
-        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
-        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
-            if (dpo != null) dpo.release();
-            dpo = streamDictionary.get(PdfName.DP);
-        }
-        if (dpo != null) {
-            if (dpo.getType() == PdfObject.DICTIONARY) {
-                dp.add(dpo);
-            } else if (dpo.getType() == PdfObject.ARRAY) {
-                dp = ((PdfArray) dpo);
-            }
-            dpo.release();
-        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
         for (int j = 0; j < filters.size(); ++j) {
             PdfName filterName = (PdfName) filters.get(j);
             IFilterHandler filterHandler = filterHandlers.get(filterName);
             if (filterHandler == null)
                 throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
 
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
-                }
-            } else {
-                decodeParams = null;
-            }
-            b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
+            b = filterHandler.decode(b, filterName, getDecodeParams(dp, j), streamDictionary);
         }
         return b;
     }
@@ -471,10 +550,10 @@ public class PdfReader implements Closeable, Serializable {
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
         int first = objectStream.getAsNumber(PdfName.First).intValue();
         int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
+        IRandomAccessSource source = readStreamSource(objectStream);
         PdfTokenizer saveTokens = tokens;
         try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(source));
             int[] address = new int[n];
             int[] objNumber = new int[n];
             boolean ok = true;
@@ -518,6 +597,7 @@ public class PdfReader implements Closeable, Serializable {
             objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
         } finally {
             tokens = saveTokens;
+            source.close();
         }
     }
 
@@ -737,26 +817,15 @@ public class PdfReader implements Closeable, Serializable {
                 tokens.nextValidToken();
                 int gen = tokens.getIntValue();
                 tokens.nextValidToken();
-                PdfIndirectReference reference = xref.get(num);
-                if (reference == null) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen) {
-                    reference.setOffset(pos);
-                    reference.clearState(PdfObject.READING);
-                } else {
+                if (!xref.acceptsEntry(num, gen)) {
                     continue;
                 }
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
-                    if (xref.get(num) == null) {
-                        if (pos == 0)
-                            tokens.throwError(PdfException.FilePosition0CrossReferenceEntryInThisXrefSubsection);
-                        xref.add(reference);
-                    }
+                    if (pos == 0 && !xref.contains(num))
+                        tokens.throwError(PdfException.FilePosition0CrossReferenceEntryInThisXrefSubsection);
+                    xref.addEntry(num, gen, pos, 0, false);
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (xref.get(num) == null) {
-                        reference.setFree();
-                        xref.add(reference);
-                    }
+                    xref.addEntry(num, gen, pos, 0, true);
                 } else
                     tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
             }
@@ -854,38 +923,27 @@ public class PdfReader implements Closeable, Serializable {
                     field3 = (field3 << 8) + (b[bptr++] & 0xff);
                 }
                 int base = start;
-                PdfIndirectReference newReference;
                 switch (type) {
                     case 0:
-                        if (base == 0) {
-                            //indirect reference with number = 0 can't be overridden
-                            //xref table already has indirect reference 0 65535 R
-                            newReference = xref.get(base);
-                        } else {
-                            newReference = new PdfIndirectReference(pdfDocument, base, field3, 0);
-                            newReference.setFree();
+                        //indirect reference with number = 0 can't be overridden
+                        //xref table already has indirect reference 0 65535 R
+                        if (xref.acceptsEntry(base, field3)) {
+                            xref.addEntry(base, field3, 0, 0, true);
                         }
                         break;
                     case 1:
-                        newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                        if (xref.acceptsEntry(base, field3)) {
+                            xref.addEntry(base, field3, field2, 0, false);
+                        }
                         break;
                     case 2:
-                        newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                        newReference.setObjStreamNumber((int) field2);
+                        if (xref.acceptsEntry(base, 0)) {
+                            xref.addEntry(base, 0, field3, (int) field2, false);
+                        }
                         break;
                     default:
                         throw new PdfException(PdfException.InvalidXrefStream);
                 }
-                if (xref.get(base) == null) {
-                    xref.add(newReference);
-                } else if (xref.get(base).checkState(PdfObject.READING)
-                        && xref.get(base).getObjNumber() == newReference.getObjNumber()
-                        && xref.get(base).getGenNumber() == newReference.getGenNumber()) {
-                    PdfIndirectReference reference = xref.get(base);
-                    reference.setOffset(newReference.getOffset());
-                    reference.setObjStreamNumber(newReference.getObjStreamNumber());
-                    reference.clearState(PdfObject.READING);
-                }
                 ++start;
             }
         }
@@ -909,10 +967,7 @@ public class PdfReader implements Closeable, Serializable {
                     continue;
                 int num = obj[0];
                 int gen = obj[1];
-                PdfIndirectReference reference = xref.get(num);
-                if (reference != null && reference.getGenNumber() == gen) {
-                    reference.fixOffset(pos);
-                }
+                xref.fixOffset(num, gen, pos);
             }
         }
     }
@@ -953,8 +1008,8 @@ public class PdfReader implements Closeable, Serializable {
                     continue;
                 int num = obj[0];
                 int gen = obj[1];
-                if (xref.get(num) == null || xref.get(num).getGenNumber() <= gen) {
-                    xref.add(new PdfIndirectReference(pdfDocument, num, gen, pos));
+                if (!xref.contains(num) || xref.getGenNumber(num) <= gen) {
+                    xref.addEntry(num, gen, pos, 0, false);
                 }
             }
         }
@@ -975,6 +1030,51 @@ public class PdfReader implements Closeable, Serializable {
         return encrypted;
     }
 
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = ((PdfArray) filter);
+            }
+        }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParams(PdfDictionary streamDictionary) {
+        PdfArray dp = new PdfArray();
+        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
+        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
+            if (dpo != null) dpo.release();
+            dpo = streamDictionary.get(PdfName.DP);
+        }
+        if (dpo != null) {
+            if (dpo.getType() == PdfObject.DICTIONARY) {
+                dp.add(dpo);
+            } else if (dpo.getType() == PdfObject.ARRAY) {
+                dp = ((PdfArray) dpo);
+            }
+            dpo.release();
+        }
+        return dp;
+    }
+
+    private static PdfDictionary getDecodeParams(PdfArray dp, int filterIndex) {
+        if (filterIndex < dp.size()) {
+            PdfObject dpEntry = dp.get(filterIndex, true);
+            if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+                return null;
+            } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+                return (PdfDictionary) dpEntry;
+            } else {
+                throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
+            }
+        }
+        return null;
+    }
+
     /**
      * Utility method that checks the provided byte source to see if it has junk bytes at the beginning.  If junk bytes
      * are found, construct a tokeniser that ignores the junk.  Otherwise, construct a tokeniser for the byte source as it is
@@ -993,7 +1093,11 @@ public class PdfReader implements Closeable, Serializable {
         return tok;
     }
 
-    private PdfObject readObject(PdfIndirectReference reference, boolean fixXref) {
+    /**
+     * Reads the object the reference points to. The tokenizer of the reader is shared,
+     * so concurrent resolution of the references is serialized.
+     */
+    private synchronized PdfObject readObject(PdfIndirectReference reference, boolean fixXref) {
         if (reference == null)
             return null;
         if (reference.refersTo != null)
@@ -1024,7 +1128,10 @@ public class PdfReader implements Closeable, Serializable {
                         throw ex;
                     }
                 }
-                return object != null ? object.setIndirectReference(reference) : null;
+                if (object != null) {
+                    reference.refersTo = object.setIndirectReference(reference);
+                }
+                return object;
             } else {
                 return null;
             }
@@ -1033,6 +1140,97 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Creates a stream which reads the raw (but decrypted) stream bytes directly from the source,
+     * without copying the whole stream into memory.
+     */
+    private InputStream readStreamRaw(PdfStream stream) throws IOException {
+        IRandomAccessSource rawSource = getStreamRawSource(stream);
+        if (rawSource == null)
+            return null;
+        InputStream is = new BufferedInputStream(new RASInputStream(rawSource), STREAM_READ_BUFFER_SIZE);
+        synchronized (this) {
+            if (isStreamDecryptionNeeded(stream)) {
+                decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                is = decrypt.getDecryptionStream(is);
+            }
+        }
+        return is;
+    }
+
+    /**
+     * Gets a window of the document source which holds the raw stream bytes.
+     */
+    private synchronized IRandomAccessSource getStreamRawSource(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = stream.getLength();
+        if (length <= 0)
+            return new RandomAccessSourceFactory().createSource(new byte[0]);
+        return new WindowRandomAccessSource(createConcurrentSourceView(), offset, length);
+    }
+
+    /**
+     * Creates a view of the document source with its own read state, which can be read on any thread
+     * without the lock of the reader. Sources which are not known to support concurrent reads
+     * are read under the lock of the reader, a buffer at a time.
+     */
+    private IRandomAccessSource createConcurrentSourceView() throws IOException {
+        IRandomAccessSource source = tokens.getSafeFile().createSourceView();
+        IRandomAccessSource view = new RandomAccessSourceFactory().createConcurrentView(source);
+        return view != null ? view : new GetBufferedRandomAccessSource(new ReaderLockedRandomAccessSource(source));
+    }
+
+    private ByteBuffer acquireDecodeBuffer() {
+        synchronized (this) {
+            if (decodeBufferPool != null && !decodeBufferPool.isEmpty()) {
+                return decodeBufferPool.pop().reset();
+            }
+        }
+        return new ByteBuffer(STREAM_READ_BUFFER_SIZE);
+    }
+
+    private void releaseDecodeBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() > MAX_POOLED_DECODE_BUFFER_SIZE) {
+            return;
+        }
+        synchronized (this) {
+            if (decodeBufferPool == null) {
+                decodeBufferPool = new ArrayDeque<>(DECODE_BUFFER_POOL_SIZE);
+            }
+            if (decodeBufferPool.size() < DECODE_BUFFER_POOL_SIZE) {
+                decodeBufferPool.push(buffer);
+            }
+        }
+    }
+
+    private synchronized boolean isStreamDecryptionNeeded(PdfStream stream) {
+        if (decrypt == null) {
+            return false;
+        }
+        PdfObject filter = stream.get(PdfName.Filter, true);
+        boolean skip = false;
+        if (filter != null) {
+            if (PdfName.Crypt.equals(filter)) {
+                skip = true;
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                PdfArray filters = (PdfArray) filter;
+                for (int k = 0; k < filters.size(); k++) {
+                    if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
+                        skip = true;
+                        break;
+                    }
+                }
+            }
+            filter.release();
+        }
+        return !skip;
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
@@ -1156,4 +1354,63 @@ public class PdfReader implements Closeable, Serializable {
             buffer = null;
         }
     }
+
+    /**
+     * A source over a decoded stream buffer, which returns the buffer to the pool of the reader on close.
+     */
+    private class PooledBufferRandomAccessSource extends ReusableRandomAccessSource {
+        private ByteBuffer buffer;
+
+        PooledBufferRandomAccessSource(ByteBuffer buffer) {
+            super(buffer);
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (buffer != null) {
+                releaseDecodeBuffer(buffer);
+                buffer = null;
+            }
+        }
+    }
+
+    /**
+     * A view of the document source which reads under the lock of the reader. It is only used for the sources
+     * which do not support concurrent views, see {@link RandomAccessSourceFactory#createConcurrentView}.
+     */
+    private class ReaderLockedRandomAccessSource implements IRandomAccessSource {
+        private final IRandomAccessSource source;
+
+        ReaderLockedRandomAccessSource(IRandomAccessSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public int get(long position) throws IOException {
+            synchronized (PdfReader.this) {
+                return source.get(position);
+            }
+        }
+
+        @Override
+        public int get(long position, byte[] bytes, int off, int len) throws IOException {
+            synchronized (PdfReader.this) {
+                return source.get(position, bytes, off, len);
+            }
+        }
+
+        @Override
+        public long length() {
+            synchronized (PdfReader.this) {
+                return source.length();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
+    }
 }
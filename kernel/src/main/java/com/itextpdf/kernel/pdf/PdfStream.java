@@ -45,6 +45,8 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -261,6 +263,32 @@ public class PdfStream extends PdfDictionary {
         return bytes;
     }
 
+    /**
+     * Gets the source of decoded stream bytes. Unlike {@link #getBytes()}, for the streams read from the document
+     * which are neither filtered nor encrypted the bytes are not copied into memory but read from the document
+     * source directly. The returned source should be closed after use.
+     *
+     * @return the source of the decoded stream bytes. Byte content will be {@code null},
+     *          if the {@code PdfStream} was created by {@code InputStream}.
+     */
+    public IRandomAccessSource getBytesSource() {
+        if (inputStream == null && outputStream == null && getIndirectReference() != null) {
+            PdfReader reader = getIndirectReference().getReader();
+            if (reader != null) {
+                try {
+                    IRandomAccessSource source = reader.readStreamSource(this);
+                    if (source != null) {
+                        return source;
+                    }
+                } catch (IOException ioe) {
+                    throw new PdfException(PdfException.CannotGetPdfStreamBytes, ioe, this);
+                }
+            }
+        }
+        byte[] bytes = getBytes();
+        return bytes != null ? new RandomAccessSourceFactory().createSource(bytes) : null;
+    }
+
     /**
      * Sets <code>bytes</code> as stream's content.
      * Could not be used with streams which were created by <code>InputStream</code>.
@@ -56,9 +56,14 @@ import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.itextpdf.io.source.ByteUtils.getIsoBytes;
 
@@ -88,10 +93,22 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     protected Map<Integer, PdfIndirectReference> copiedObjects = new HashMap<>();
 
     /**
-     * Is used in smart mode to store serialized objects content.
+     * The maximum number of the entries kept in each of the smart mode maps.
      */
-    private HashMap<SerializedPdfObject, PdfIndirectReference> serializedContentToObjectRef = new HashMap<>();
-    private HashMap<Integer, byte[]> objectRefToSerializedContent = new HashMap<>();
+    private static final int SMART_MODE_CACHE_SIZE = 100000;
+
+    /**
+     * Is used in smart mode to store the digests of the copied objects content
+     * and the corresponding indirect references of the copied objects from the new document.
+     * The least recently used entries are evicted, so that only recently copied objects are deduplicated.
+     */
+    private Map<SerializedPdfObject, PdfIndirectReference> serializedContentToObjectRef = createSmartModeCache();
+    /**
+     * Is used in smart mode to memoize the content digests of the already serialized objects
+     * of the source documents, so that shared objects are serialized only once.
+     * The least recently used entries are evicted, evicted objects are serialized again when needed.
+     */
+    private Map<Integer, byte[]> objectRefToSerializedContent = createSmartModeCache();
 
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
@@ -292,10 +309,12 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 return copiedIndirectReference.getRefersTo();
         }
 
-        if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
-            PdfIndirectReference copiedObjectRef = tryToFindPreviouslyCopiedEqualObject(obj);
-            if (copiedObjectRef != null) {
-                PdfIndirectReference copiedIndirectReference = copiedObjects.get(calculateIndRefKey(copiedObjectRef));
+        SerializedPdfObject serializedContent = null;
+        if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)
+                && (obj.isStream() || obj.isDictionary())) {
+            serializedContent = new SerializedPdfObject(obj, objectRefToSerializedContent);
+            PdfIndirectReference copiedIndirectReference = tryToFindPreviouslyCopiedEqualObject(serializedContent);
+            if (copiedIndirectReference != null) {
                 copiedObjects.put(copyObjectKey, copiedIndirectReference);
                 return copiedIndirectReference.getRefersTo();
             }
@@ -307,6 +326,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 copyObjectKey = calculateIndRefKey(indirectReference);
             PdfIndirectReference indRef = newObject.makeIndirect(document).getIndirectReference();
             copiedObjects.put(copyObjectKey, indRef);
+            if (serializedContent != null) {
+                serializedContentToObjectRef.put(serializedContent, indRef);
+            }
         }
         newObject.copyContent(obj, document);
 
@@ -353,7 +375,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         while (needFlush) {
             needFlush = false;
             for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+                PdfIndirectReference indirectReference = xref.getCreated(i);
                 if (indirectReference != null
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)) {
                     PdfObject obj = indirectReference.getRefersTo(false);
@@ -378,7 +400,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     protected void flushModifiedWaitingObjects() {
         PdfXrefTable xref = document.getXref();
         for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+            PdfIndirectReference indirectReference = xref.getCreated(i);
             if (null != indirectReference) {
                 PdfObject obj = indirectReference.getRefersTo(false);
                 if (obj != null && !obj.equals(objectStream) && obj.isModified()) {
@@ -392,6 +414,38 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    /**
+     * Compresses the content of the streams which are not flushed yet concurrently, before they are written,
+     * if it is enabled in the {@link WriterProperties}. The streams, which were already compressed
+     * by the previous call and were not changed since, are not compressed again.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting for the compression
+     */
+    void compressWaitingStreams() throws InterruptedException {
+        if (!properties.parallelCompression) {
+            return;
+        }
+        PdfXrefTable xref = document.getXref();
+        List<PdfStream> streams = new ArrayList<>();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference indirectReference = xref.getCreated(i);
+            if (indirectReference != null && !indirectReference.checkState(PdfObject.FLUSHED)) {
+                PdfObject obj = indirectReference.getRefersTo(false);
+                if (obj != null && obj.isStream()) {
+                    streams.add((PdfStream) obj);
+                }
+            }
+        }
+        if (streams.size() > 1) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(streams.size(), Runtime.getRuntime().availableProcessors()));
+            try {
+                compressStreams(streams, executor);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
     /**
      * Calculates hash code for the indirect reference taking into account the document it belongs to.
      *
@@ -419,24 +473,24 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
     /**
      * Used in the smart mode.
-     * It serializes given object content and tries to find previously copied object with the same content.
-     * If already copied object is not found, it saves current object serialized content into the map.
+     * It tries to find previously copied object with the same content digest.
      *
-     * @param object an object to check if some other object with the same content was already copied.
-     * @return indirect reference of the object with the same content, which already has a copy in the new document.
+     * @param objectKey the digest of the content of the object to be copied.
+     * @return indirect reference of the already copied object with the same content in the new document.
      */
-    private PdfIndirectReference tryToFindPreviouslyCopiedEqualObject(PdfObject object) {
-        SerializedPdfObject objectKey;
-        if (object.isStream() || object.isDictionary()) {
-            objectKey = new SerializedPdfObject(object, objectRefToSerializedContent);
-            PdfIndirectReference objectRef = serializedContentToObjectRef.get(objectKey);
-            if (objectRef != null) {
-                return objectRef;
-            }
-            serializedContentToObjectRef.put(objectKey, object.getIndirectReference());
-        }
+    private PdfIndirectReference tryToFindPreviouslyCopiedEqualObject(SerializedPdfObject objectKey) {
+        return serializedContentToObjectRef.get(objectKey);
+    }
 
-        return null;
+    private static <K, V> Map<K, V> createSmartModeCache() {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2793497916485633541L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > SMART_MODE_CACHE_SIZE;
+            }
+        };
     }
 
     private void markArrayContentToFlush(PdfArray array) {
@@ -513,32 +567,45 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         outputStream = tempOutputStream;
     }
 
+    /**
+     * The strong digest of the serialized object content.
+     * Indirect objects referenced from the object are represented by their own memoized digests,
+     * so that only a fixed-size digest per object is retained.
+     */
     static class SerializedPdfObject {
-        private final byte[] serializedContent;
+        private final byte[] digest;
         private final int hash;
 
-        private MessageDigest md5;
-        private HashMap<Integer, byte[]> objToSerializedContent;
+        private MessageDigest messageDigest;
+        private Map<Integer, byte[]> objToDigest;
 
-        SerializedPdfObject(PdfObject obj, HashMap<Integer, byte[]> objToSerializedContent) {
+        SerializedPdfObject(PdfObject obj, Map<Integer, byte[]> objToDigest) {
             assert obj.isDictionary() || obj.isStream();
 
-            this.objToSerializedContent = objToSerializedContent;
-            try {
-                md5 = MessageDigest.getInstance("MD5");
-            } catch (Exception e) {
-                throw new PdfException(e);
+            int indRefKey = obj.getIndirectReference() != null ? calculateIndRefKey(obj.getIndirectReference()) : 0;
+            byte[] cached = indRefKey != 0 ? objToDigest.get(indRefKey) : null;
+            if (cached != null) {
+                this.digest = cached;
+            } else {
+                this.objToDigest = objToDigest;
+                try {
+                    messageDigest = MessageDigest.getInstance("SHA-256");
+                } catch (Exception e) {
+                    throw new PdfException(e);
+                }
+                ByteBufferOutputStream bb = new ByteBufferOutputStream();
+                int level = 100;
+                serObject(obj, level, bb);
+                this.digest = digest(bb);
+                if (indRefKey != 0) {
+                    objToDigest.put(indRefKey, this.digest);
+                }
+                this.messageDigest = null;
+                this.objToDigest = null;
             }
-            ByteBufferOutputStream bb = new ByteBufferOutputStream();
-            int level = 100;
-            serObject(obj, level, bb);
-            this.serializedContent = bb.toByteArray();
-            hash = calculateHash(this.serializedContent);
-            md5 = null;
+            hash = calculateHash(this.digest);
         }
 
-        // TODO 2: object is not checked if it was already serialized on start, double work could be done
-        // TODO 3: indirect objects often stored multiple times as parts of the other objects
         private void serObject(PdfObject obj, int level, ByteBufferOutputStream bb) {
             if (level <= 0)
                 return;
@@ -546,30 +613,27 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 bb.append("$Lnull");
                 return;
             }
-            PdfIndirectReference reference = null;
-            ByteBufferOutputStream savedBb = null;
-            int indRefKey = -1;
 
             if (obj.isIndirectReference()) {
-                reference = (PdfIndirectReference) obj;
-                indRefKey = calculateIndRefKey(reference);
-                byte[] cached = objToSerializedContent.get(indRefKey);
-                if (cached != null) {
-                    bb.append(cached);
-                    return;
-                } else {
-                    savedBb = bb;
-                    bb = new ByteBufferOutputStream();
-                    obj = reference.getRefersTo();
+                PdfIndirectReference reference = (PdfIndirectReference) obj;
+                int indRefKey = calculateIndRefKey(reference);
+                byte[] cached = objToDigest.get(indRefKey);
+                if (cached == null) {
+                    ByteBufferOutputStream referredBb = new ByteBufferOutputStream();
+                    serObject(reference.getRefersTo(), level, referredBb);
+                    cached = digest(referredBb);
+                    objToDigest.put(indRefKey, cached);
                 }
+                bb.append("$R").append(cached);
+                return;
             }
 
             if (obj.isStream()) {
                 bb.append("$B");
                 serDic((PdfDictionary) obj, level - 1, bb);
                 if (level > 0) {
-                    md5.reset();
-                    bb.append(md5.digest(((PdfStream)obj).getBytes(false)));
+                    messageDigest.reset();
+                    bb.append(messageDigest.digest(((PdfStream)obj).getBytes(false)));
                 }
             } else if (obj.isDictionary()) {
                 serDic((PdfDictionary) obj, level - 1, bb);
@@ -581,11 +645,6 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
                 bb.append("$N").append(obj.toString());
             } else
                 bb.append("$L").append(obj.toString()); // PdfNull case is also here
-
-            if (savedBb != null) {
-                objToSerializedContent.put(indRefKey, bb.getBuffer());
-                savedBb.append(bb);
-            }
         }
 
         private void serDic(PdfDictionary dic, int level, ByteBufferOutputStream bb) {
@@ -622,9 +681,15 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             return hash;
         }
 
+        private byte[] digest(ByteBufferOutputStream bb) {
+            messageDigest.reset();
+            messageDigest.update(bb.getBuffer(), 0, bb.size());
+            return messageDigest.digest();
+        }
+
         @Override
         public boolean equals(Object obj) {
-            return obj instanceof SerializedPdfObject && hashCode() == obj.hashCode() && Arrays.equals(serializedContent, ((SerializedPdfObject) obj).serializedContent);
+            return obj instanceof SerializedPdfObject && hashCode() == obj.hashCode() && Arrays.equals(digest, ((SerializedPdfObject) obj).digest);
         }
 
         @Override
@@ -50,10 +50,12 @@ import com.itextpdf.kernel.Version;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.TreeSet;
 
 class PdfXrefTable implements Serializable {
 
@@ -62,13 +64,39 @@ class PdfXrefTable implements Serializable {
     private static final int INITIAL_CAPACITY = 32;
     private static final int MAX_GENERATION = 65535;
 
+    private static final byte NO_ENTRY = 0;
+    private static final byte IN_USE_ENTRY = 1;
+    private static final byte FREE_ENTRY = 2;
+
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    /**
+     * The references and the entries are read and changed under the lock of the table, because the objects
+     * of a document opened in reading mode are resolved and released on several threads.
+     */
     private PdfIndirectReference[] xref;
     private int count = 0;
 
-    private final TreeSet<Integer> freeReferences;
+    /**
+     * The cross-reference entries read from the document, which are kept in primitive columns.
+     * The {@link PdfIndirectReference} for such an entry is created on the first {@link #get(int)} call.
+     */
+    private byte[] entryStates;
+    private long[] offsetsOrIndexes;
+    private int[] generations;
+    private int[] objStreamNumbers;
+
+    /**
+     * The released references of a document opened in reading mode. They are not kept in {@link #xref},
+     * so that they can be garbage collected as soon as they are not used anymore.
+     */
+    private transient ReleasedReference[] releasedReferences;
+    private transient ReferenceQueue<PdfIndirectReference> releasedQueue;
+
+    private PdfDocument document;
+
+    private final BitSet freeReferences;
 
     public PdfXrefTable() {
         this(INITIAL_CAPACITY);
@@ -79,7 +107,7 @@ class PdfXrefTable implements Serializable {
             capacity = INITIAL_CAPACITY;
         }
         xref = new PdfIndirectReference[capacity];
-        freeReferences = new TreeSet<>();
+        freeReferences = new BitSet();
         add(new PdfIndirectReference(null, 0, MAX_GENERATION, 0).setState(PdfObject.FREE));
     }
 
@@ -88,7 +116,7 @@ class PdfXrefTable implements Serializable {
      *
      * @param reference indirect reference to add.
      */
-    public PdfIndirectReference add(PdfIndirectReference reference) {
+    public synchronized PdfIndirectReference add(PdfIndirectReference reference) {
         if (reference == null) {
             return null;
         }
@@ -96,6 +124,7 @@ class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        forgetEntry(objNr);
         return reference;
     }
 
@@ -103,11 +132,185 @@ class PdfXrefTable implements Serializable {
         return count + 1;
     }
 
-    public PdfIndirectReference get(int index) {
+    public synchronized PdfIndirectReference get(int index) {
         if (index > count) {
             return null;
         }
-        return xref[index];
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && entryStates != null && entryStates[index] != NO_ENTRY) {
+            reference = restoreReference(index);
+        }
+        return reference;
+    }
+
+    /**
+     * Gets the reference, which has already been created for the entry, if any. Unlike {@link #get(int)}
+     * it does not create references for the entries read from the document.
+     *
+     * @param index object number.
+     * @return the created indirect reference, or null.
+     */
+    synchronized PdfIndirectReference getCreated(int index) {
+        if (index > count) {
+            return null;
+        }
+        PdfIndirectReference reference = xref[index];
+        if (reference == null && releasedReferences != null && releasedReferences[index] != null) {
+            reference = releasedReferences[index].get();
+        }
+        return reference;
+    }
+
+    /**
+     * Sets the document, which indirect references are created for the entries read by {@link PdfReader}.
+     *
+     * @param document the document this table belongs to.
+     */
+    void setDocument(PdfDocument document) {
+        this.document = document;
+    }
+
+    /**
+     * Checks whether there is an entry with the specified object number, regardless of whether
+     * its indirect reference has already been created or not.
+     *
+     * @param index object number.
+     * @return true if the table has the entry.
+     */
+    boolean contains(int index) {
+        return index <= count
+                && (xref[index] != null || entryStates != null && entryStates[index] != NO_ENTRY);
+    }
+
+    /**
+     * Checks whether an entry read from a cross-reference section can be added to the table. It can be added
+     * if the table has no entry with this number yet, or if the entry is a reference that was met while reading
+     * the document and waits for its cross-reference entry.
+     *
+     * @param index  object number.
+     * @param genNr  generation number.
+     * @return true if {@link #addEntry(int, int, long, int, boolean)} should be called for this entry.
+     */
+    boolean acceptsEntry(int index, int genNr) {
+        if (!contains(index)) {
+            return true;
+        }
+        PdfIndirectReference reference = xref[index];
+        return reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr;
+    }
+
+    /**
+     * Gets the generation number of an entry without creating its indirect reference.
+     *
+     * @param index object number of the existing entry.
+     * @return generation number.
+     */
+    int getGenNumber(int index) {
+        PdfIndirectReference reference = getCreated(index);
+        return reference != null ? reference.getGenNumber() : generations[index];
+    }
+
+    /**
+     * Adds an entry read from a cross-reference section. The entry is kept in the primitive columns
+     * until its indirect reference is requested. If the table has a reference in the {@link PdfObject#READING}
+     * state with the same number, the reference is completed instead.
+     *
+     * @param objNr            object number.
+     * @param genNr            generation number.
+     * @param offsetOrIndex    offset of the object in the document, or its index in the object stream.
+     * @param objStreamNumber  number of the object stream, or 0 if the object is not in an object stream.
+     * @param free             whether the entry is free.
+     */
+    synchronized void addEntry(int objNr, int genNr, long offsetOrIndex, int objStreamNumber, boolean free) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        PdfIndirectReference reference = xref[objNr];
+        if (reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr) {
+            reference.setOffset(offsetOrIndex);
+            reference.setObjStreamNumber(objStreamNumber);
+            reference.clearState(PdfObject.READING);
+            return;
+        }
+        if (entryStates == null) {
+            entryStates = new byte[xref.length];
+            offsetsOrIndexes = new long[xref.length];
+            generations = new int[xref.length];
+            objStreamNumbers = new int[xref.length];
+        }
+        xref[objNr] = null;
+        if (releasedReferences != null) {
+            releasedReferences[objNr] = null;
+        }
+        generations[objNr] = genNr;
+        if (free) {
+            entryStates[objNr] = FREE_ENTRY;
+            offsetsOrIndexes[objNr] = 0;
+            objStreamNumbers[objNr] = 0;
+            if (genNr < MAX_GENERATION) {
+                freeReferences.set(objNr);
+            }
+        } else {
+            entryStates[objNr] = IN_USE_ENTRY;
+            offsetsOrIndexes[objNr] = offsetOrIndex;
+            objStreamNumbers[objNr] = objStreamNumber;
+            freeReferences.clear(objNr);
+        }
+    }
+
+    /**
+     * Fixes the offset of an entry, which object was found at a different position while rebuilding
+     * the cross-reference table, without creating its indirect reference.
+     *
+     * @param index   object number.
+     * @param genNr   generation number of the found object.
+     * @param offset  actual offset of the object.
+     */
+    synchronized void fixOffset(int index, int genNr, long offset) {
+        if (index > count) {
+            return;
+        }
+        PdfIndirectReference reference = getCreated(index);
+        if (reference != null && reference.getGenNumber() == genNr) {
+            reference.fixOffset(offset);
+        }
+        if (entryStates != null && entryStates[index] == IN_USE_ENTRY && generations[index] == genNr) {
+            offsetsOrIndexes[index] = offset;
+        }
+    }
+
+    /**
+     * Stops holding the reference of a released object, if the document is opened in reading mode and
+     * the reference can be created again from its cross-reference entry. The reference is still returned
+     * by {@link #get(int)} as long as it is used somewhere else.
+     *
+     * @param reference the reference of a released object.
+     */
+    synchronized void releaseReference(PdfIndirectReference reference) {
+        int index = reference.getObjNumber();
+        if (document == null || document.getWriter() != null || index > count || xref[index] != reference
+                || entryStates == null || entryStates[index] != IN_USE_ENTRY
+                || reference.checkState(PdfObject.MODIFIED) || reference.checkState(PdfObject.FREE)
+                || reference.checkState(PdfObject.READING) || reference.checkState(PdfObject.FLUSHED)
+                || reference.checkState(PdfObject.ORIGINAL_OBJECT_STREAM)
+                || reference.checkState(PdfObject.MUST_BE_FLUSHED)
+                || reference.getGenNumber() != generations[index]
+                || reference.getObjStreamNumber() != objStreamNumbers[index]
+                || reference.offsetOrIndex != offsetsOrIndexes[index]) {
+            return;
+        }
+        if (releasedReferences == null) {
+            releasedReferences = new ReleasedReference[xref.length];
+            releasedQueue = new ReferenceQueue<>();
+        }
+        // forget the references, which were garbage collected, to keep the memory bounded
+        ReleasedReference released;
+        while ((released = (ReleasedReference) releasedQueue.poll()) != null) {
+            if (released.objNr < releasedReferences.length && releasedReferences[released.objNr] == released) {
+                releasedReferences[released.objNr] = null;
+            }
+        }
+        releasedReferences[index] = new ReleasedReference(reference, releasedQueue);
+        xref[index] = null;
     }
 
     /**
@@ -115,11 +318,12 @@ class PdfXrefTable implements Serializable {
      *
      * @return created indirect reference.
      */
-    protected PdfIndirectReference createNextIndirectReference(PdfDocument document) {
+    protected synchronized PdfIndirectReference createNextIndirectReference(PdfDocument document) {
         PdfIndirectReference reference;
-        if (freeReferences.size() > 0) {
-            int num = (int) freeReferences.pollFirst();
-            reference = xref[num];
+        int num = freeReferences.nextSetBit(0);
+        if (num >= 0) {
+            freeReferences.clear(num);
+            reference = get(num);
             if (reference == null) {
                 reference = new PdfIndirectReference(document, num);
                 xref[num] = reference;
@@ -140,7 +344,7 @@ class PdfXrefTable implements Serializable {
         return reference.setState(PdfObject.MODIFIED);
     }
 
-    protected void freeReference(PdfIndirectReference reference) {
+    protected synchronized void freeReference(PdfIndirectReference reference) {
         reference.setOffset(0);
         reference.setState(PdfObject.FREE);
         if (!reference.checkState(PdfObject.FLUSHED)) {
@@ -149,14 +353,15 @@ class PdfXrefTable implements Serializable {
                 reference.refersTo = null;
             }
             if (reference.getGenNumber() < MAX_GENERATION) {
-                freeReferences.add(reference.getObjNumber());
+                freeReferences.set(reference.getObjNumber());
                 xref[reference.getObjNumber()] = null;
+                forgetEntry(reference.getObjNumber());
             }
 
         }
     }
 
-    protected void setCapacity(int capacity) {
+    protected synchronized void setCapacity(int capacity) {
         if (capacity > xref.length) {
             extendXref(capacity);
         }
@@ -172,12 +377,13 @@ class PdfXrefTable implements Serializable {
         PdfWriter writer = document.getWriter();
         if (document.isAppendMode()) {
             // Increment generation number for all freed references.
-            for (Integer objNr : freeReferences) {
-                xref[(int) objNr].genNr++;
+            for (int objNr = freeReferences.nextSetBit(0); objNr >= 0; objNr = freeReferences.nextSetBit(objNr + 1)) {
+                get(objNr).genNr++;
             }
         } else {
-            for (Integer objNr : freeReferences) {
-                xref[(int) objNr] = null;
+            for (int objNr = freeReferences.nextSetBit(0); objNr >= 0; objNr = freeReferences.nextSetBit(objNr + 1)) {
+                xref[objNr] = null;
+                forgetEntry(objNr);
             }
         }
         freeReferences.clear();
@@ -185,6 +391,11 @@ class PdfXrefTable implements Serializable {
 
         for (int i = count; i > 0; --i) {
             PdfIndirectReference lastRef = xref[i];
+            if (lastRef == null && entryStates != null && entryStates[i] == FREE_ENTRY && generations[i] != 0
+                    && document.properties.appendMode) {
+                // the same as a free reference, which was read from the document and has not been modified
+                break;
+            }
             if (lastRef == null
                     || (lastRef.isFree() && lastRef.getGenNumber() == 0)
                     || (!lastRef.checkState(PdfObject.FLUSHED)
@@ -334,12 +545,16 @@ class PdfXrefTable implements Serializable {
         xref = null;
     }
 
-    void clear() {
+    synchronized void clear() {
         for (int i = 1; i <= count; i++) {
             if (xref[i] != null && xref[i].isFree()) {
                 continue;
             }
+            if (xref[i] == null && entryStates != null && entryStates[i] == FREE_ENTRY) {
+                continue;
+            }
             xref[i] = null;
+            forgetEntry(i);
         }
         count = 1;
     }
@@ -364,6 +579,57 @@ class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (entryStates != null) {
+            byte[] newEntryStates = new byte[capacity];
+            System.arraycopy(entryStates, 0, newEntryStates, 0, entryStates.length);
+            entryStates = newEntryStates;
+            long[] newOffsetsOrIndexes = new long[capacity];
+            System.arraycopy(offsetsOrIndexes, 0, newOffsetsOrIndexes, 0, offsetsOrIndexes.length);
+            offsetsOrIndexes = newOffsetsOrIndexes;
+            int[] newGenerations = new int[capacity];
+            System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+            generations = newGenerations;
+            int[] newObjStreamNumbers = new int[capacity];
+            System.arraycopy(objStreamNumbers, 0, newObjStreamNumbers, 0, objStreamNumbers.length);
+            objStreamNumbers = newObjStreamNumbers;
+        }
+        if (releasedReferences != null) {
+            ReleasedReference[] newReleasedReferences = new ReleasedReference[capacity];
+            System.arraycopy(releasedReferences, 0, newReleasedReferences, 0, releasedReferences.length);
+            releasedReferences = newReleasedReferences;
+        }
+    }
+
+    /**
+     * Gets the released reference of the entry if it is still in use, or creates a new one from the entry columns.
+     */
+    private PdfIndirectReference restoreReference(int index) {
+        PdfIndirectReference reference = getCreated(index);
+        if (reference == null) {
+            if (entryStates[index] == FREE_ENTRY) {
+                reference = new PdfIndirectReference(document, index, generations[index], 0).setState(PdfObject.FREE);
+            } else {
+                reference = new PdfIndirectReference(document, index, generations[index], offsetsOrIndexes[index]);
+                reference.setObjStreamNumber(objStreamNumbers[index]);
+            }
+        }
+        if (releasedReferences != null) {
+            releasedReferences[index] = null;
+        }
+        xref[index] = reference;
+        return reference;
+    }
+
+    /**
+     * Forgets the entry read from the document, after its reference has been replaced or freed.
+     */
+    private void forgetEntry(int index) {
+        if (entryStates != null && index < entryStates.length) {
+            entryStates[index] = NO_ENTRY;
+        }
+        if (releasedReferences != null && index < releasedReferences.length) {
+            releasedReferences[index] = null;
+        }
     }
 
     private static byte[] shortToBytes(int n) {
@@ -373,4 +639,16 @@ class PdfXrefTable implements Serializable {
     private static byte[] intToBytes(int n) {
         return new byte[]{(byte) ((n >> 24) & 0xFF), (byte) ((n >> 16) & 0xFF), (byte) ((n >> 8) & 0xFF), (byte) (n & 0xFF)};
     }
+
+    /**
+     * A weak reference to a released indirect reference, which knows its object number.
+     */
+    private static final class ReleasedReference extends WeakReference<PdfIndirectReference> {
+        private final int objNr;
+
+        ReleasedReference(PdfIndirectReference reference, ReferenceQueue<PdfIndirectReference> queue) {
+            super(reference, queue);
+            this.objNr = reference.getObjNumber();
+        }
+    }
 }
@@ -62,6 +62,10 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+    /**
+     * Indicates if the streams which are not flushed before document closing are compressed concurrently.
+     */
+    protected boolean parallelCompression;
     protected boolean debugMode;
     protected boolean addXmpMetadata;
     protected PdfVersion pdfVersion;
@@ -69,6 +73,7 @@ public class WriterProperties implements Serializable {
 
     public WriterProperties() {
         smartMode = false;
+        parallelCompression = false;
         debugMode = false;
         compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
         isFullCompression = null;
@@ -101,6 +106,18 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Compress the streams which are not flushed before document closing concurrently, using all available processors.
+     * The streams are still written in the same order, so the resultant document is the same
+     * as without this option.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelCompression() {
+        this.parallelCompression = true;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * @return this {@code WriterProperties} instance
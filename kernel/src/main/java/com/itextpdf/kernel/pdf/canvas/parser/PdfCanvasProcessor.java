@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
@@ -105,6 +106,8 @@ public class PdfCanvasProcessor {
 
     public static final String DEFAULT_OPERATOR = "DefaultOperator";
 
+    private static final byte[] CONTENT_STREAMS_SEPARATOR = {'\n'};
+
     /**
      * Listener that will be notified of render events
      */
@@ -260,24 +263,7 @@ public class PdfCanvasProcessor {
      * @param resources    the resources of the content stream. Must not be null.
      */
     public void processContent(byte[] contentBytes, PdfResources resources) {
-        if (resources == null) {
-            throw new PdfException(PdfException.ResourcesCannotBeNull);
-        }
-        this.resourcesStack.push(resources);
-        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(contentBytes)));
-        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
-        List<PdfObject> operands = new ArrayList<>();
-        try {
-            while (ps.parse(operands).size() > 0) {
-                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
-                invokeOperator(operator, operands);
-            }
-        } catch (IOException e) {
-            throw new PdfException(PdfException.CannotParseContentStream, e);
-        }
-
-        this.resourcesStack.pop();
-
+        processContent(new RandomAccessSourceFactory().createSource(contentBytes), resources);
     }
 
     /**
@@ -291,7 +277,7 @@ public class PdfCanvasProcessor {
         initClippingPath(page);
         ParserGraphicsState gs = getGraphicsState();
         eventOccurred(new ClippingPathInfo(gs.getClippingPath(), gs.getCtm()), EventType.CLIP_PATH_CHANGED);
-        processContent(page.getContentBytes(), page.getResources());
+        processContent(getContentSource(page), page.getResources());
     }
 
     /**
@@ -431,6 +417,68 @@ public class PdfCanvasProcessor {
         currentPath = new Path();
     }
 
+    /**
+     * Gets the source of the whole page content. Content streams are read directly from the document source
+     * whenever possible, and are separated with a whitespace as in {@link PdfPage#getContentBytes()}.
+     */
+    private static IRandomAccessSource getContentSource(PdfPage page) {
+        int streamCount = page.getContentStreamCount();
+        if (streamCount == 0) {
+            return new RandomAccessSourceFactory().createSource(new byte[0]);
+        } else if (streamCount == 1) {
+            return getContentSource(page.getContentStream(0));
+        }
+        IRandomAccessSource[] sources = new IRandomAccessSource[2 * streamCount - 1];
+        for (int i = 0; i < streamCount; i++) {
+            if (i > 0) {
+                sources[2 * i - 1] = new RandomAccessSourceFactory().createSource(CONTENT_STREAMS_SEPARATOR);
+            }
+            sources[2 * i] = getContentSource(page.getContentStream(i));
+        }
+        try {
+            return new RandomAccessSourceFactory().createGrouped(sources);
+        } catch (IOException e) {
+            throw new PdfException(PdfException.CannotGetContentBytes, e, page);
+        }
+    }
+
+    private static IRandomAccessSource getContentSource(PdfStream stream) {
+        IRandomAccessSource source = stream.getBytesSource();
+        return source != null ? source : new RandomAccessSourceFactory().createSource(new byte[0]);
+    }
+
+    /**
+     * Processes PDF syntax read from the given source. The source is closed afterwards.
+     *
+     * @param contentSource the source of the content stream bytes
+     * @param resources     the resources of the content stream. Must not be null.
+     */
+    private void processContent(IRandomAccessSource contentSource, PdfResources resources) {
+        if (resources == null) {
+            throw new PdfException(PdfException.ResourcesCannotBeNull);
+        }
+        this.resourcesStack.push(resources);
+        PdfTokenizer tokeniser = new PdfTokenizer(new RandomAccessFileOrArray(contentSource));
+        PdfCanvasParser ps = new PdfCanvasParser(tokeniser, resources);
+        List<PdfObject> operands = new ArrayList<>();
+        try {
+            while (ps.parse(operands).size() > 0) {
+                PdfLiteral operator = (PdfLiteral) operands.get(operands.size() - 1);
+                invokeOperator(operator, operands);
+            }
+        } catch (IOException e) {
+            throw new PdfException(PdfException.CannotParseContentStream, e);
+        } finally {
+            try {
+                tokeniser.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        this.resourcesStack.pop();
+
+    }
+
     /**
      * Invokes an operator.
      *
@@ -1223,8 +1271,7 @@ public class PdfCanvasProcessor {
             // we read the content bytes up here so if it fails we don't leave the graphics state stack corrupted
             // this is probably not necessary (if we fail on this, probably the entire content stream processing
             // operation should be rejected
-            byte[] contentBytes;
-            contentBytes = stream.getBytes();
+            IRandomAccessSource contentSource = getContentSource(stream);
             final PdfArray matrix = stream.getAsArray(PdfName.Matrix);
 
             new PushGraphicsStateOperator().invoke(processor, null, null);
@@ -1240,7 +1287,7 @@ public class PdfCanvasProcessor {
                 processor.getGraphicsState().updateCtm(formMatrix);
             }
 
-            processor.processContent(contentBytes, resources);
+            processor.processContent(contentSource, resources);
 
             new PopGraphicsStateOperator().invoke(processor, null, null);
 
@@ -43,12 +43,17 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser;
 
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
 import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfPage;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public final class PdfTextExtractor {
 
@@ -93,4 +98,77 @@ public final class PdfTextExtractor {
     public static String getTextFromPage(PdfPage page) {
         return getTextFromPage(page, new LocationTextExtractionStrategy());
     }
+
+    /**
+     * Extracts text from all pages of the document concurrently, using all available processors.
+     *
+     * @param pdfDocument     the document opened in reading mode, i.e. without a {@link com.itextpdf.kernel.pdf.PdfWriter}
+     * @param strategyFactory the factory of the strategies to use, a new strategy is created for every page
+     * @return the extracted text, the element at index {@code i} is the text of the page {@code i + 1}
+     */
+    public static String[] extractAll(PdfDocument pdfDocument, ITextExtractionStrategyFactory strategyFactory) {
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return extractAll(pdfDocument, strategyFactory, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Extracts text from all pages of the document concurrently on the given pool.
+     * <p>
+     * Only documents opened in reading mode are supported: the objects of such documents are never modified,
+     * and resolution of the indirect objects is serialized by the {@link com.itextpdf.kernel.pdf.PdfReader},
+     * while content streams are read and parsed by every thread from its own view of the document source.
+     *
+     * @param pdfDocument     the document opened in reading mode, i.e. without a {@link com.itextpdf.kernel.pdf.PdfWriter}
+     * @param strategyFactory the factory of the strategies to use, a new strategy is created for every page
+     * @param pool            the pool to process pages on
+     * @return the extracted text, the element at index {@code i} is the text of the page {@code i + 1}
+     */
+    public static String[] extractAll(PdfDocument pdfDocument, ITextExtractionStrategyFactory strategyFactory, ForkJoinPool pool) {
+        if (pdfDocument.getWriter() != null) {
+            throw new PdfException(PdfException.ConcurrentTextExtractionRequiresDocumentOpenedInReadingMode);
+        }
+        // the page tree and the inherited page attributes are loaded lazily, so they are resolved up front
+        PdfPage[] pages = new PdfPage[pdfDocument.getNumberOfPages()];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = pdfDocument.getPage(i + 1);
+            pages[i].getResources();
+            pages[i].getCropBox();
+        }
+        String[] result = new String[pages.length];
+        pool.invoke(new PageRangeExtraction(pages, result, strategyFactory, 0, pages.length));
+        return result;
+    }
+
+    private static class PageRangeExtraction extends RecursiveAction {
+        private static final long serialVersionUID = -3347880279357413548L;
+
+        private final PdfPage[] pages;
+        private final String[] result;
+        private final ITextExtractionStrategyFactory strategyFactory;
+        private final int from;
+        private final int to;
+
+        PageRangeExtraction(PdfPage[] pages, String[] result, ITextExtractionStrategyFactory strategyFactory, int from, int to) {
+            this.pages = pages;
+            this.result = result;
+            this.strategyFactory = strategyFactory;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                result[from] = getTextFromPage(pages[from], strategyFactory.createStrategy());
+            } else if (to > from) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PageRangeExtraction(pages, result, strategyFactory, from, middle),
+                        new PageRangeExtraction(pages, result, strategyFactory, middle, to));
+            }
+        }
+    }
 }
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.kernel.pdf.canvas.parser.util;
 
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.PdfTokenizer;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -58,6 +59,7 @@ import com.itextpdf.kernel.pdf.PdfString;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parses the page or form XObject content.
@@ -65,6 +67,41 @@ import java.util.List;
  */
 public class PdfCanvasParser {
 
+    private static final String[] CONTENT_OPERATORS = {"b", "B", "b*", "B*", "BDC", "BI", "BMC", "BT", "BX",
+            "c", "cm", "CS", "cs", "d", "d0", "d1", "Do", "DP", "EI", "EMC", "ET", "EX", "f", "F", "f*", "G", "g",
+            "gs", "h", "i", "ID", "j", "J", "K", "k", "l", "m", "M", "MP", "n", "q", "Q", "re", "RG", "rg", "ri",
+            "s", "S", "SC", "sc", "SCN", "scn", "sh", "T*", "Tc", "Td", "TD", "Tf", "Tj", "TJ", "TL", "Tm", "Tr",
+            "Ts", "Tw", "Tz", "v", "w", "W", "W*", "y", "'", "\""};
+
+    /**
+     * The maximum number of not predefined names, which are reused while parsing a content stream.
+     */
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    /**
+     * The operators are shared by all the parsers, so that their bytes and strings are not created over and over.
+     * The literals returned by the parser are copies of them, as objects are mutable.
+     */
+    private static final TokenLookupTable<ContentOperatorLiteral> operators;
+
+    /**
+     * The predefined names from {@link PdfName}, looked up by the token bytes.
+     */
+    private static final TokenLookupTable<PdfName> staticNames;
+
+    static {
+        operators = new TokenLookupTable<>(CONTENT_OPERATORS.length);
+        for (String operator : CONTENT_OPERATORS) {
+            operators.put(ByteUtils.getIsoBytes(operator), new ContentOperatorLiteral(operator));
+        }
+        staticNames = new TokenLookupTable<>(PdfName.staticNames.size());
+        for (Map.Entry<String, PdfName> entry : PdfName.staticNames.entrySet()) {
+            if (isPlainName(entry.getKey())) {
+                staticNames.put(ByteUtils.getIsoBytes(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
     /**
      * Holds value of property tokeniser.
      */
@@ -72,6 +109,11 @@ public class PdfCanvasParser {
 
     private PdfResources currentResources;
 
+    /**
+     * The names met in the content, which are reused, as content streams refer to the same resources over and over.
+     */
+    private TokenLookupTable<PdfName> names;
+
     /**
      * Creates a new instance of PdfContentParser
      * @param tokeniser the tokeniser with the content
@@ -157,7 +199,7 @@ public class PdfCanvasParser {
                 break;
             if (tokeniser.getTokenType() != PdfTokenizer.TokenType.Name)
                 tokeniser.throwError(PdfException.DictionaryKey1IsNotAName, tokeniser.getStringValue());
-            PdfName name = new PdfName(tokeniser.getStringValue());
+            PdfName name = readName();
             PdfObject obj = readObject();
             dic.put(name, obj);
         }
@@ -202,12 +244,12 @@ public class PdfCanvasParser {
                 PdfString str = new PdfString(tokeniser.getDecodedStringContent()).setHexWriting(tokeniser.isHexString());
                 return str;
             case Name:
-                return new PdfName(tokeniser.getByteContent());
+                return readName();
             case Number:
-                //use PdfNumber(byte[]) here, as in this case number parsing won't happen until it's needed.
-                return new PdfNumber(tokeniser.getByteContent());
+                return readNumber();
             default:
-                return new PdfLiteral(tokeniser.getByteContent());
+                ContentOperatorLiteral operator = operators.get(tokeniser.getTokenBuffer(), tokeniser.getTokenLength());
+                return operator != null ? new ContentOperatorLiteral(operator) : new PdfLiteral(tokeniser.getByteContent());
         }
     }
 
@@ -224,4 +266,91 @@ public class PdfCanvasParser {
         }
         return false;
     }
+
+    private PdfName readName() {
+        byte[] buffer = tokeniser.getTokenBuffer();
+        int length = tokeniser.getTokenLength();
+        PdfName name = staticNames.get(buffer, length);
+        if (name != null) {
+            return name;
+        }
+        if (names == null) {
+            names = new TokenLookupTable<>(16);
+        } else {
+            name = names.get(buffer, length);
+            if (name != null) {
+                return name;
+            }
+        }
+        byte[] content = tokeniser.getByteContent();
+        name = new PdfName(content);
+        if (names.size() < MAX_CACHED_NAMES) {
+            names.put(content, name);
+        }
+        return name;
+    }
+
+    private PdfNumber readNumber() {
+        byte[] buffer = tokeniser.getTokenBuffer();
+        int length = tokeniser.getTokenLength();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && buffer[0] == '-') {
+            negative = true;
+            i++;
+        }
+        // integers of up to 9 digits are parsed right away, they fit in int. Only the integers without
+        // a plus sign and leading zeros are, so that they are written back exactly as they were read
+        if (i < length && length - i <= 9 && (buffer[i] != '0' || length - i == 1 && !negative)) {
+            int value = 0;
+            for (; i < length; i++) {
+                int ch = buffer[i];
+                if (ch < '0' || ch > '9') {
+                    break;
+                }
+                value = value * 10 + ch - '0';
+            }
+            if (i == length) {
+                return new PdfNumber(negative ? -value : value);
+            }
+        }
+        // use PdfNumber(byte[]) for real numbers, so that they are written back exactly as they were read
+        return new PdfNumber(tokeniser.getByteContent());
+    }
+
+    private static boolean isPlainName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch == '#' || ch <= ' ' || ch >= 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An operator literal which keeps its string representation,
+     * so that operators could be dispatched without creating strings.
+     */
+    private static final class ContentOperatorLiteral extends PdfLiteral {
+
+        private static final long serialVersionUID = 5238411749253475281L;
+
+        private final String operator;
+
+        ContentOperatorLiteral(String operator) {
+            super(ByteUtils.getIsoBytes(operator));
+            this.operator = operator;
+        }
+
+        ContentOperatorLiteral(ContentOperatorLiteral literal) {
+            super(literal.getInternalContent());
+            this.operator = literal.operator;
+        }
+
+        @Override
+        public String toString() {
+            return operator;
+        }
+    }
 }
@@ -50,11 +50,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCII85Decode filter
  */
-public class ASCII85DecodeFilter implements IFilterHandler {
+public class ASCII85DecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -62,6 +64,11 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCII85InputStream(in);
+    }
+
     /**
      * Decodes the input bytes according to ASCII85.
      *
@@ -117,4 +124,77 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         }
         return out.toByteArray();
     }
+
+    private static class ASCII85InputStream extends DecodingInputStream {
+
+        private byte[] encoded = new byte[4096];
+        private int state = 0;
+        private int[] chn = new int[5];
+        private boolean ended;
+
+        ASCII85InputStream(InputStream in) {
+            super(in);
+            // every 'z' byte is expanded into four zeros
+            decoded = new byte[encoded.length * 4];
+        }
+
+        @Override
+        protected boolean decodeNext() throws IOException {
+            if (ended) {
+                return false;
+            }
+            int len = in.read(encoded, 0, encoded.length);
+            if (len < 0) {
+                ended = true;
+            }
+            for (int k = 0; k < len; ++k) {
+                int ch = encoded[k] & 0xff;
+                if (ch == '~') {
+                    ended = true;
+                    break;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                if (ch == 'z' && state == 0) {
+                    decoded[decodedLength++] = 0;
+                    decoded[decodedLength++] = 0;
+                    decoded[decodedLength++] = 0;
+                    decoded[decodedLength++] = 0;
+                    continue;
+                }
+                if (ch < '!' || ch > 'u')
+                    throw new PdfException(PdfException.IllegalCharacterInAscii85decode);
+                chn[state] = ch - '!';
+                ++state;
+                if (state == 5) {
+                    state = 0;
+                    int r = 0;
+                    for (int j = 0; j < 5; ++j)
+                        r = r * 85 + chn[j];
+                    decoded[decodedLength++] = (byte)(r >> 24);
+                    decoded[decodedLength++] = (byte)(r >> 16);
+                    decoded[decodedLength++] = (byte)(r >> 8);
+                    decoded[decodedLength++] = (byte)r;
+                }
+            }
+            if (ended) {
+                if (state == 2) {
+                    int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85 + 85 * 85 * 85  + 85 * 85 + 85;
+                    decoded[decodedLength++] = (byte)(r >> 24);
+                }
+                else if (state == 3) {
+                    int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85 + 85 * 85 + 85;
+                    decoded[decodedLength++] = (byte)(r >> 24);
+                    decoded[decodedLength++] = (byte)(r >> 16);
+                }
+                else if (state == 4) {
+                    int r = chn[0] * 85 * 85 * 85 * 85 + chn[1] * 85 * 85 * 85  + chn[2] * 85 * 85  + chn[3] * 85 + 85;
+                    decoded[decodedLength++] = (byte)(r >> 24);
+                    decoded[decodedLength++] = (byte)(r >> 16);
+                    decoded[decodedLength++] = (byte)(r >> 8);
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -51,11 +51,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCIIHexDecode filter
  */
-public class ASCIIHexDecodeFilter implements IFilterHandler {
+public class ASCIIHexDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -63,6 +65,11 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCIIHexInputStream(in);
+    }
+
     /**
      * Decodes a byte[] according to ASCII Hex encoding.
      *
@@ -92,4 +99,48 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
             out.write((byte)(n1 << 4));
         return out.toByteArray();
     }
+
+    private static class ASCIIHexInputStream extends DecodingInputStream {
+
+        private byte[] encoded = new byte[4096];
+        private boolean first = true;
+        private int n1 = 0;
+        private boolean ended;
+
+        ASCIIHexInputStream(InputStream in) {
+            super(in);
+            decoded = new byte[encoded.length / 2 + 1];
+        }
+
+        @Override
+        protected boolean decodeNext() throws IOException {
+            if (ended) {
+                return false;
+            }
+            int len = in.read(encoded, 0, encoded.length);
+            if (len < 0) {
+                ended = true;
+            }
+            for (int k = 0; k < len; ++k) {
+                int ch = encoded[k] & 0xff;
+                if (ch == '>') {
+                    ended = true;
+                    break;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                int n = ByteBuffer.getHex(ch);
+                if (n == -1)
+                    throw new PdfException(PdfException.IllegalCharacterInAsciihexdecode);
+                if (first)
+                    n1 = n;
+                else
+                    decoded[decodedLength++] = (byte)((n1 << 4) + n);
+                first = !first;
+            }
+            if (ended && !first)
+                decoded[decodedLength++] = (byte)(n1 << 4);
+            return true;
+        }
+    }
 }
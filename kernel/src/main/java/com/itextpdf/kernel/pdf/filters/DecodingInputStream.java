@@ -0,0 +1,123 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Base class for the streams which decode the wrapped stream portion by portion,
+ * so that only a bounded part of the decoded data is held in memory.
+ */
+abstract class DecodingInputStream extends InputStream {
+
+    protected final InputStream in;
+
+    /**
+     * The buffer with the last decoded portion of data.
+     */
+    protected byte[] decoded;
+
+    /**
+     * The number of valid bytes in {@link #decoded}.
+     */
+    protected int decodedLength;
+
+    private int decodedPos;
+    private boolean endOfData;
+
+    protected DecodingInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureDecoded()) {
+            return -1;
+        }
+        return decoded[decodedPos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureDecoded()) {
+            return -1;
+        }
+        int n = Math.min(len, decodedLength - decodedPos);
+        System.arraycopy(decoded, decodedPos, b, off, n);
+        decodedPos += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Decodes the next portion of data into {@link #decoded} and sets {@link #decodedLength}.
+     * An empty portion is allowed and does not mean the end of data.
+     *
+     * @return false if there is no more data to decode
+     * @throws IOException if the wrapped stream could not be read
+     */
+    protected abstract boolean decodeNext() throws IOException;
+
+    private boolean ensureDecoded() throws IOException {
+        while (decodedPos >= decodedLength) {
+            if (endOfData) {
+                return false;
+            }
+            decodedLength = 0;
+            decodedPos = 0;
+            if (!decodeNext()) {
+                endOfData = true;
+            }
+        }
+        return true;
+    }
+}
@@ -53,12 +53,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter implements IFilterHandler {
+public class FlateDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -69,6 +70,11 @@ public class FlateDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return PredictorInputStream.wrap(new LenientInflaterInputStream(in), decodeParams);
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -222,4 +228,30 @@ public class FlateDecodeFilter implements IFilterHandler {
             curr = tmp;
         }
     }
+
+    /**
+     * Inflates the data like {@link #flateDecode(byte[], boolean)} in non-strict mode does:
+     * a corrupted or truncated stream is treated as the end of data.
+     */
+    private static class LenientInflaterInputStream extends InflaterInputStream {
+
+        private boolean corrupted;
+
+        LenientInflaterInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (corrupted) {
+                return -1;
+            }
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                corrupted = true;
+                return -1;
+            }
+        }
+    }
 }
@@ -43,16 +43,19 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles LZWDECODE filter
  */
-public class LZWDecodeFilter implements IFilterHandler {
+public class LZWDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -61,6 +64,11 @@ public class LZWDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return PredictorInputStream.wrap(new LZWInputStream(in), decodeParams);
+    }
+
     /**
      * Decodes a byte[] according to the LZW encoding.
      *
@@ -73,4 +81,124 @@ public class LZWDecodeFilter implements IFilterHandler {
         lzw.decode(in, out);
         return out.toByteArray();
     }
+
+    /**
+     * Streaming counterpart of {@link LZWDecoder}. Each call of {@link #decodeNext()} processes a single code.
+     */
+    private static class LZWInputStream extends DecodingInputStream {
+
+        private static final int[] andTable = {511, 1023, 2047, 4095};
+
+        private byte[][] stringTable;
+        private int tableIndex;
+        private int bitsToGet = 9;
+        private int nextData = 0;
+        private int nextBits = 0;
+        private int oldCode = 0;
+        private boolean started;
+        private int[] prefetched;
+        private int prefetchedPos;
+
+        LZWInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        protected boolean decodeNext() throws IOException {
+            if (!started) {
+                started = true;
+                prefetched = new int[] {in.read(), in.read()};
+                if (prefetched[0] == 0x00 && prefetched[1] == 0x01) {
+                    throw new PdfException(PdfException.LzwFlavourNotSupported);
+                }
+                initializeStringTable();
+            }
+
+            int code = getNextCode();
+            if (code == 257) {
+                return false;
+            }
+            byte[] string;
+            if (code == 256) {
+                initializeStringTable();
+                code = getNextCode();
+                if (code == 257) {
+                    return false;
+                }
+                string = stringTable[code];
+            } else if (code < tableIndex) {
+                string = stringTable[code];
+                addStringToTable(composeString(stringTable[oldCode], string[0]));
+            } else {
+                string = stringTable[oldCode];
+                string = composeString(string, string[0]);
+                addStringToTable(string);
+            }
+            oldCode = code;
+            decoded = string;
+            decodedLength = string.length;
+            return true;
+        }
+
+        private void initializeStringTable() {
+            stringTable = new byte[8192][];
+            for (int i = 0; i < 256; i++) {
+                stringTable[i] = new byte[] {(byte) i};
+            }
+            tableIndex = 258;
+            bitsToGet = 9;
+        }
+
+        private void addStringToTable(byte[] string) {
+            stringTable[tableIndex++] = string;
+            if (tableIndex == 511) {
+                bitsToGet = 10;
+            } else if (tableIndex == 1023) {
+                bitsToGet = 11;
+            } else if (tableIndex == 2047) {
+                bitsToGet = 12;
+            }
+        }
+
+        private static byte[] composeString(byte[] oldString, byte newString) {
+            int length = oldString.length;
+            byte[] string = new byte[length + 1];
+            System.arraycopy(oldString, 0, string, 0, length);
+            string[length] = newString;
+            return string;
+        }
+
+        /**
+         * Gets the next 9, 10, 11 or 12 bits. A stream which is not terminated
+         * as expected is treated as if it ended with EndOfInformation code.
+         */
+        private int getNextCode() throws IOException {
+            int b = nextByte();
+            if (b < 0) {
+                return 257;
+            }
+            nextData = (nextData << 8) | b;
+            nextBits += 8;
+
+            if (nextBits < bitsToGet) {
+                b = nextByte();
+                if (b < 0) {
+                    return 257;
+                }
+                nextData = (nextData << 8) | b;
+                nextBits += 8;
+            }
+
+            int code = (nextData >> (nextBits - bitsToGet)) & andTable[bitsToGet - 9];
+            nextBits -= bitsToGet;
+            return code;
+        }
+
+        private int nextByte() throws IOException {
+            if (prefetchedPos < prefetched.length) {
+                return prefetched[prefetchedPos++];
+            }
+            return in.read();
+        }
+    }
 }
@@ -48,11 +48,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles RunLengthDecode filter.
  */
-public class RunLengthDecodeFilter implements IFilterHandler {
+public class RunLengthDecodeFilter implements IStreamingFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -65,7 +67,7 @@ public class RunLengthDecodeFilter implements IFilterHandler {
             }
             if (dupCount >= 0) {
                 int bytesToCopy = dupCount + 1;
-                baos.write(b, i, bytesToCopy);
+                baos.write(b, i + 1, bytesToCopy);
                 i += bytesToCopy;
             } else {                // make dupcount copies of the next byte
                 i++;
@@ -76,4 +78,46 @@ public class RunLengthDecodeFilter implements IFilterHandler {
         }
         return baos.toByteArray();
     }
+
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new RunLengthInputStream(in);
+    }
+
+    private static class RunLengthInputStream extends DecodingInputStream {
+
+        RunLengthInputStream(InputStream in) {
+            super(in);
+            decoded = new byte[128];
+        }
+
+        @Override
+        protected boolean decodeNext() throws IOException {
+            int dupCount = in.read();
+            if (dupCount < 0 || dupCount == 0x80) { // 0x80 is implicit end of data
+                return false;
+            }
+            dupCount = (byte) dupCount;
+            if (dupCount >= 0) {
+                int bytesToCopy = dupCount + 1;
+                while (decodedLength < bytesToCopy) {
+                    int n = in.read(decoded, decodedLength, bytesToCopy - decodedLength);
+                    if (n < 0) {
+                        return decodedLength > 0;
+                    }
+                    decodedLength += n;
+                }
+            } else {                // make dupcount copies of the next byte
+                int b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                decodedLength = 1 - dupCount;
+                for (int j = 0; j < decodedLength; j++) {
+                    decoded[j] = (byte) b;
+                }
+            }
+            return true;
+        }
+    }
 }
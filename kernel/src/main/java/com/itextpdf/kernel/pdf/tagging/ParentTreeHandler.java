@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.pdf.tagging;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.pdf.IsoKey;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -56,8 +57,12 @@ import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfPage;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -67,6 +72,11 @@ import org.slf4j.LoggerFactory;
 /**
  * Internal helper class which is used to effectively build parent tree and also find marked content references:
  * for specified page, by MCID or by struct parent index.
+ * <p>
+ * The marked content references of a page are registered only when the page is accessed for the first time,
+ * starting from the parent tree entries of the page /StructParents and the /StructParent of its annotations.
+ * The parent tree entries of the pages which were never accessed are copied to the new parent tree as they are,
+ * so their tags are not read at all.
  */
 class ParentTreeHandler implements Serializable {
 
@@ -93,36 +103,79 @@ class ParentTreeHandler implements Serializable {
      *        struct parent indexes simple transformation is applied via {@code #structParentIndexIntoKey}
      *        and {@code #keyIntoStructParentIndex}. With this we simply store struct parent indexes as negative numbers.
      */
-    private Map<PdfIndirectReference, TreeMap<Integer, PdfMcr>> pageToPageMcrs;
+    private Map<PdfIndirectReference, TreeMap<Integer, PdfMcr>> pageToPageMcrs = new HashMap<>();
 
     /**
-     * Init ParentTreeHandler. On init the parent tree is read and stored in this instance.
+     * The parent tree as it was read from the document, null if the document had no parent tree or if all its entries
+     * were registered on opening the document. Its entries are looked up when a page is registered.
+     */
+    private PdfNumTree readParentTree;
+
+    /**
+     * The pages whose marked content references have already been registered, or whose parent tree entries are
+     * copied from {@link #readParentTree}, because the page was flushed before it was accessed.
+     */
+    private Set<PdfIndirectReference> registeredPages = new HashSet<>();
+
+    /**
+     * The struct parent indexes whose entries of {@link #readParentTree} shall not be copied to the new parent tree,
+     * because the entries are created anew from the registered marked content references.
+     */
+    private IntHashtable replacedStructParentIndexes = new IntHashtable();
+
+    /**
+     * Init ParentTreeHandler. When the document is modified, only the next struct parent index is read from
+     * the parent tree on init, and the marked content references are registered for every page on the first access
+     * to the page. A document which is only read registers all of them on init, so that a corrupted tag structure
+     * is detected right away and the document is treated as not tagged.
      */
     ParentTreeHandler(PdfStructTreeRoot structTreeRoot) {
         this.structTreeRoot = structTreeRoot;
         parentTree = new PdfNumTree(structTreeRoot.getDocument().getCatalog(), PdfName.ParentTree);
-        registerAllMcrs();
+        if (structTreeRoot.getPdfObject().containsKey(PdfName.ParentTree)) {
+            // we create new number tree and not using parentTree, because we want parentTree to be empty
+            readParentTree = new PdfNumTree(structTreeRoot.getDocument().getCatalog(), PdfName.ParentTree);
+        }
+        structTreeRoot.getPdfObject().put(PdfName.ParentTreeNextKey, new PdfNumber(getMaxStructParentIndex() + 1));
+        if (readParentTree != null && structTreeRoot.getDocument().getWriter() == null) {
+            registerAllMcrs();
+        }
     }
 
     /**
      * Gets a list of marked content references on page.
      */
     public Map<Integer, PdfMcr> getPageMarkedContentReferences(PdfPage page) {
-        return pageToPageMcrs.get(page.getPdfObject().getIndirectReference());
+        return getPageMcrs(page.getPdfObject());
     }
 
     public PdfMcr findMcrByMcid(PdfDictionary pageDict, int mcid) {
-        Map<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(pageDict.getIndirectReference());
+        Map<Integer, PdfMcr> pageMcrs = getPageMcrs(pageDict);
         return pageMcrs != null ? pageMcrs.get(mcid) : null;
     }
 
     public PdfObjRef findObjRefByStructParentIndex(PdfDictionary pageDict, int structParentIndex) {
-        Map<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(pageDict.getIndirectReference());
+        Map<Integer, PdfMcr> pageMcrs = getPageMcrs(pageDict);
+        if ((pageMcrs == null || !pageMcrs.containsKey(structParentIndexIntoKey(structParentIndex)))
+                && readParentTree != null && !replacedStructParentIndexes.containsKey(structParentIndex)
+                && !pageDict.isFlushed()) {
+            // the object is not an annotation of the page, or it has already been removed from the page annotations
+            Set<PdfDictionary> mcrParents = new LinkedHashSet<>();
+            addMcrParents(readParentTree.getNumbers().get(structParentIndex), mcrParents);
+            List<PdfMcr> pageMcrsOfParents = readPageMcrsOfParents(pageDict, mcrParents);
+            if (pageMcrsOfParents == null) {
+                return null;
+            }
+            for (PdfMcr mcr : pageMcrsOfParents) {
+                putMcr(pageDict, mcr);
+            }
+            pageMcrs = pageToPageMcrs.get(pageDict.getIndirectReference());
+        }
         return pageMcrs != null ? (PdfObjRef) pageMcrs.get(structParentIndexIntoKey(structParentIndex)) : null;
     }
 
     public int getNextMcidForPage(PdfPage page) {
-        TreeMap<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(page.getPdfObject().getIndirectReference());
+        TreeMap<Integer, PdfMcr> pageMcrs = getPageMcrs(page.getPdfObject());
         if (pageMcrs == null || pageMcrs.size() == 0) {
             return 0;
         } else {
@@ -141,7 +194,11 @@ class ParentTreeHandler implements Serializable {
      * @param page {@link PdfPage} for which to create parent tree entry. Typically this page is flushed after this call.
      */
     public void createParentTreeEntryForPage(PdfPage page) {
-        Map<Integer, PdfMcr> mcrs = getPageMarkedContentReferences(page);
+        // the entries of the page which was never accessed are copied from the read parent tree
+        if (registeredPages.add(page.getPdfObject().getIndirectReference())) {
+            return;
+        }
+        Map<Integer, PdfMcr> mcrs = pageToPageMcrs.get(page.getPdfObject().getIndirectReference());
         if (mcrs == null) {
             return;
         }
@@ -150,34 +207,54 @@ class ParentTreeHandler implements Serializable {
     }
 
     public PdfDictionary buildParentTree() {
+        Map<Integer, PdfObject> readEntries = readParentTree != null
+                ? readParentTree.getNumbers() : Collections.<Integer, PdfObject>emptyMap();
+        for (Map.Entry<Integer, PdfObject> entry : readEntries.entrySet()) {
+            if (!replacedStructParentIndexes.containsKey((int) entry.getKey())) {
+                PdfObject entryValue = entry.getValue();
+                if (entryValue.isArray()) {
+                    // the page entries are written the same way as the created ones: indirect and without the
+                    // trailing nulls, which don't refer to any marked content
+                    PdfArray parentsOfPageMcrs = (PdfArray) entryValue;
+                    while (parentsOfPageMcrs.size() > 0 && parentsOfPageMcrs.get(parentsOfPageMcrs.size() - 1).isNull()) {
+                        parentsOfPageMcrs.remove(parentsOfPageMcrs.size() - 1);
+                    }
+                    if (parentsOfPageMcrs.getIndirectReference() == null) {
+                        parentsOfPageMcrs.makeIndirect(structTreeRoot.getDocument());
+                    }
+                }
+                parentTree.addEntry(entry.getKey(), entryValue);
+            }
+        }
         return parentTree.buildTree().makeIndirect(structTreeRoot.getDocument());
     }
 
     public void registerMcr(PdfMcr mcr) {
         PdfDictionary mcrPageObject = mcr.getPageObject();
-        if (mcrPageObject == null || (!(mcr instanceof PdfObjRef) && mcr.getMcid() < 0)) {
-            Logger logger = LoggerFactory.getLogger(ParentTreeHandler.class);
-            logger.error(LogMessageConstant.ENCOUNTERED_INVALID_MCR);
-            return;
+        if (isValidMcr(mcr)) {
+            // the already existing marked content references of the page are registered first
+            registerPageMcrs(mcrPageObject);
+            putMcr(mcrPageObject, mcr);
         }
-        TreeMap<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(mcrPageObject.getIndirectReference());
-        if (pageMcrs == null) {
-            pageMcrs = new TreeMap<>();
-            pageToPageMcrs.put(mcrPageObject.getIndirectReference(), pageMcrs);
+    }
+
+    /**
+     * Registers the marked content references of the pages which the marked content kids of the structure element
+     * belong to. This shall be done before the structure element is flushed, because the kids of the flushed
+     * element cannot be read when the page is registered.
+     */
+    public void registerPagesOfMcrKids(PdfStructElem structElem) {
+        // without the read parent tree all the marked content references are registered as they are added
+        if (readParentTree == null) {
+            return;
         }
-        if (mcr instanceof PdfObjRef) {
-            PdfDictionary obj = ((PdfDictionary) mcr.getPdfObject()).getAsDictionary(PdfName.Obj);
-            if (obj == null || obj.isFlushed()) {
-                throw new PdfException(PdfException.WhenAddingObjectReferenceToTheTagTreeItMustBeConnectedToNotFlushedObject);
-            }
-            PdfNumber n = obj.getAsNumber(PdfName.StructParent);
-            if (n != null) {
-                pageMcrs.put(structParentIndexIntoKey(n.intValue()), mcr);
-            } else {
-                throw new PdfException(PdfException.StructParentIndexNotFoundInTaggedObject);
+        for (IPdfStructElem kid : structElem.getKids()) {
+            if (kid instanceof PdfMcr) {
+                PdfDictionary pageDict = ((PdfMcr) kid).getPageObject();
+                if (pageDict != null) {
+                    registerPageMcrs(pageDict);
+                }
             }
-        } else {
-            pageMcrs.put(mcr.getMcid(), mcr);
         }
     }
 
@@ -189,7 +266,7 @@ class ParentTreeHandler implements Serializable {
         if (pageDict.isFlushed()) {
             throw new PdfException(PdfException.CannotRemoveMarkedContentReferenceBecauseItsPageWasAlreadyFlushed);
         }
-        Map<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(pageDict.getIndirectReference());
+        Map<Integer, PdfMcr> pageMcrs = getPageMcrs(pageDict);
         if (pageMcrs != null) {
             if (mcrToUnregister instanceof PdfObjRef) {
 
@@ -197,6 +274,7 @@ class ParentTreeHandler implements Serializable {
                 if (obj != null && !obj.isFlushed()) {
                     PdfNumber n = obj.getAsNumber(PdfName.StructParent);
                     if (n != null) {
+                        replacedStructParentIndexes.put(n.intValue(), 1);
                         pageMcrs.remove(structParentIndexIntoKey(n.intValue()));
                         return;
                     }
@@ -222,34 +300,120 @@ class ParentTreeHandler implements Serializable {
         return -key - 1;
     }
 
-    private void registerAllMcrs() {
-        pageToPageMcrs = new HashMap<>();
-        // we create new number tree and not using parentTree, because we want parentTree to be empty
-        Map<Integer, PdfObject> parentTreeEntries = new PdfNumTree(structTreeRoot.getDocument().getCatalog(), PdfName.ParentTree).getNumbers();
-        Set<PdfStructElem> mcrParents = new HashSet<>();
-        int maxStructParentIndex = -1;
-        for (Map.Entry<Integer, PdfObject> entry : parentTreeEntries.entrySet()) {
-            if (entry.getKey() > maxStructParentIndex) {
-                maxStructParentIndex = (int) entry.getKey();
+    private TreeMap<Integer, PdfMcr> getPageMcrs(PdfDictionary pageDict) {
+        registerPageMcrs(pageDict);
+        return pageToPageMcrs.get(pageDict.getIndirectReference());
+    }
+
+    private void putMcr(PdfDictionary mcrPageObject, PdfMcr mcr) {
+        TreeMap<Integer, PdfMcr> pageMcrs = pageToPageMcrs.get(mcrPageObject.getIndirectReference());
+        if (pageMcrs == null) {
+            pageMcrs = new TreeMap<>();
+            pageToPageMcrs.put(mcrPageObject.getIndirectReference(), pageMcrs);
+        }
+        if (mcr instanceof PdfObjRef) {
+            PdfDictionary obj = ((PdfDictionary) mcr.getPdfObject()).getAsDictionary(PdfName.Obj);
+            if (obj == null || obj.isFlushed()) {
+                throw new PdfException(PdfException.WhenAddingObjectReferenceToTheTagTreeItMustBeConnectedToNotFlushedObject);
+            }
+            PdfNumber n = obj.getAsNumber(PdfName.StructParent);
+            if (n != null) {
+                replacedStructParentIndexes.put(n.intValue(), 1);
+                pageMcrs.put(structParentIndexIntoKey(n.intValue()), mcr);
+            } else {
+                throw new PdfException(PdfException.StructParentIndexNotFoundInTaggedObject);
+            }
+        } else {
+            pageMcrs.put(mcr.getMcid(), mcr);
+        }
+    }
+
+    /**
+     * Registers the marked content references of the page, if it has not been done yet. The structure elements
+     * are taken from the parent tree entries of the page content and of the page annotations.
+     * <p>
+     * If the structure elements of the page are corrupted, the page is treated as having no marked content
+     * references, and its parent tree entries are copied to the new parent tree as they are.
+     */
+    private void registerPageMcrs(PdfDictionary pageDict) {
+        PdfIndirectReference pageRef = pageDict.getIndirectReference();
+        if (pageRef == null || registeredPages.contains(pageRef) || pageDict.isFlushed() || readParentTree == null) {
+            return;
+        }
+        Map<Integer, PdfObject> parentTreeEntries = readParentTree.getNumbers();
+        Set<PdfDictionary> mcrParents = new LinkedHashSet<>();
+        PdfNumber structParents = pageDict.getAsNumber(PdfName.StructParents);
+        if (structParents != null) {
+            addMcrParents(parentTreeEntries.get(structParents.intValue()), mcrParents);
+        }
+        PdfArray annots = pageDict.getAsArray(PdfName.Annots);
+        if (annots != null) {
+            for (int i = 0; i < annots.size(); ++i) {
+                PdfDictionary annot = annots.getAsDictionary(i);
+                PdfNumber structParent = annot != null ? annot.getAsNumber(PdfName.StructParent) : null;
+                if (structParent != null) {
+                    addMcrParents(parentTreeEntries.get(structParent.intValue()), mcrParents);
+                }
             }
+        }
 
-            PdfObject entryValue = entry.getValue();
-            if (entryValue.isDictionary()) {
-                mcrParents.add(new PdfStructElem((PdfDictionary) entryValue));
-            } else if (entryValue.isArray()) {
-                PdfArray parentsArray = (PdfArray) entryValue;
-                for (int i = 0; i < parentsArray.size(); ++i) {
-                    PdfDictionary parent = parentsArray.getAsDictionary(i);
-                    if (parent != null) {
-                        mcrParents.add(new PdfStructElem(parent));
+        List<PdfMcr> pageMcrsOfParents = readPageMcrsOfParents(pageDict, mcrParents);
+        registeredPages.add(pageRef);
+        if (pageMcrsOfParents == null) {
+            return;
+        }
+        if (structParents != null) {
+            replacedStructParentIndexes.put(structParents.intValue(), 1);
+        }
+        for (PdfMcr mcr : pageMcrsOfParents) {
+            putMcr(pageDict, mcr);
+        }
+    }
+
+    /**
+     * Reads the marked content kids of the structure elements which belong to the page. Nothing is registered here,
+     * so that a corrupted structure element leaves the registered marked content references untouched.
+     *
+     * @return the marked content references of the page, or null if the structure elements are corrupted
+     */
+    private static List<PdfMcr> readPageMcrsOfParents(PdfDictionary pageDict, Set<PdfDictionary> mcrParents) {
+        PdfIndirectReference pageRef = pageDict.getIndirectReference();
+        List<PdfMcr> pageMcrs = new ArrayList<>();
+        try {
+            for (PdfDictionary mcrParent : mcrParents) {
+                if (mcrParent.isFlushed()) {
+                    continue;
+                }
+                for (IPdfStructElem kid : new PdfStructElem(mcrParent).getKids()) {
+                    if (kid instanceof PdfMcr) {
+                        PdfMcr mcr = (PdfMcr) kid;
+                        // the kids on other pages are registered together with their page
+                        if (isValidMcr(mcr) && mcr.getPageObject().getIndirectReference() == pageRef) {
+                            pageMcrs.add(mcr);
+                        }
                     }
                 }
             }
+        } catch (RuntimeException ex) {
+            Logger logger = LoggerFactory.getLogger(ParentTreeHandler.class);
+            logger.error(LogMessageConstant.TAG_STRUCTURE_INIT_FAILED, ex);
+            return null;
         }
-        structTreeRoot.getPdfObject().put(PdfName.ParentTreeNextKey, new PdfNumber(maxStructParentIndex + 1));
+        return pageMcrs;
+    }
 
-        for (PdfStructElem mcrParent : mcrParents) {
-            for (IPdfStructElem kid : mcrParent.getKids()) {
+    /**
+     * Registers the marked content references of all the structure elements of the read parent tree at once.
+     */
+    private void registerAllMcrs() {
+        Set<PdfDictionary> mcrParents = new LinkedHashSet<>();
+        for (PdfObject entryValue : readParentTree.getNumbers().values()) {
+            addMcrParents(entryValue, mcrParents);
+        }
+        // every page is registered here, so nothing is looked up in the read parent tree later
+        readParentTree = null;
+        for (PdfDictionary mcrParent : mcrParents) {
+            for (IPdfStructElem kid : new PdfStructElem(mcrParent).getKids()) {
                 if (kid instanceof PdfMcr) {
                     registerMcr((PdfMcr) kid);
                 }
@@ -257,6 +421,89 @@ class ParentTreeHandler implements Serializable {
         }
     }
 
+    private static void addMcrParents(PdfObject entryValue, Set<PdfDictionary> mcrParents) {
+        if (entryValue == null) {
+            return;
+        }
+        if (entryValue.isDictionary()) {
+            mcrParents.add((PdfDictionary) entryValue);
+        } else if (entryValue.isArray()) {
+            PdfArray parentsArray = (PdfArray) entryValue;
+            for (int i = 0; i < parentsArray.size(); ++i) {
+                PdfDictionary parent = parentsArray.getAsDictionary(i);
+                if (parent != null) {
+                    mcrParents.add(parent);
+                }
+            }
+        }
+    }
+
+    private static boolean isValidMcr(PdfMcr mcr) {
+        if (mcr.getPageObject() == null || (!(mcr instanceof PdfObjRef) && mcr.getMcid() < 0)) {
+            Logger logger = LoggerFactory.getLogger(ParentTreeHandler.class);
+            logger.error(LogMessageConstant.ENCOUNTERED_INVALID_MCR);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the largest key of the read parent tree. The tree is descended by the /Limits of its nodes to the leaf
+     * with the largest keys, and it is read as a whole only if the /Limits are missing or inconsistent.
+     */
+    private int getMaxStructParentIndex() {
+        if (readParentTree == null) {
+            return -1;
+        }
+        PdfDictionary node = structTreeRoot.getPdfObject().getAsDictionary(PdfName.ParentTree);
+        PdfNumber upperLimit = null;
+        while (node != null) {
+            PdfArray nums = node.getAsArray(PdfName.Nums);
+            if (nums != null) {
+                int maxStructParentIndex = -1;
+                for (int i = 0; i < nums.size(); i += 2) {
+                    PdfNumber number = nums.getAsNumber(i);
+                    if (number == null) {
+                        return getMaxReadStructParentIndex();
+                    }
+                    maxStructParentIndex = Math.max(maxStructParentIndex, number.intValue());
+                }
+                if (upperLimit != null && upperLimit.intValue() != maxStructParentIndex) {
+                    return getMaxReadStructParentIndex();
+                }
+                return maxStructParentIndex;
+            }
+            PdfArray kids = node.getAsArray(PdfName.Kids);
+            if (kids == null) {
+                return -1;
+            }
+            node = null;
+            upperLimit = null;
+            for (int i = 0; i < kids.size(); i++) {
+                PdfDictionary kid = kids.getAsDictionary(i);
+                PdfArray limits = kid != null ? kid.getAsArray(PdfName.Limits) : null;
+                PdfNumber first = limits != null ? limits.getAsNumber(0) : null;
+                PdfNumber last = limits != null ? limits.getAsNumber(1) : null;
+                if (first == null || last == null || first.intValue() > last.intValue()) {
+                    return getMaxReadStructParentIndex();
+                }
+                if (upperLimit == null || last.intValue() > upperLimit.intValue()) {
+                    node = kid;
+                    upperLimit = last;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int getMaxReadStructParentIndex() {
+        int maxStructParentIndex = -1;
+        for (int structParentIndex : readParentTree.getNumbers().keySet()) {
+            maxStructParentIndex = Math.max(maxStructParentIndex, structParentIndex);
+        }
+        return maxStructParentIndex;
+    }
+
     private void updateStructParentTreeEntries(Integer pageStructParentIndex, Map<Integer, PdfMcr> mcrs) {
         // element indexes in parentsOfPageMcrs shall be the same as mcid of one of their kids.
         // See "Finding Structure Elements from Content Items" in pdf spec.
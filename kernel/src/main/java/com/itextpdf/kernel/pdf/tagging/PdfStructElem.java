@@ -362,6 +362,10 @@ public class PdfStructElem extends PdfObjectWrapper<PdfDictionary> implements IP
 
     @Override
     public void flush() {
+        PdfStructTreeRoot structTreeRoot = getDocument().getStructTreeRoot();
+        if (structTreeRoot != null) {
+            structTreeRoot.getParentTreeHandler().registerPagesOfMcrKids(this);
+        }
         getDocument().checkIsoConformance(getPdfObject(), IsoKey.TAG_STRUCTURE_ELEMENT);
         super.flush();
     }
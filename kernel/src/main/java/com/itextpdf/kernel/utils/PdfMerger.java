@@ -43,10 +43,27 @@
  */
 package com.itextpdf.kernel.utils;
 
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class PdfMerger {
@@ -135,6 +152,73 @@ public class PdfMerger {
         return this;
     }
 
+    /**
+     * This method merges all pages of the source documents to the current one, in the order of the list.
+     * <br/><br/>
+     * The objects of the source documents are read concurrently, each document on one of the threads of a pool sized
+     * to the number of available processors, while the pages are copied to the current document one document after
+     * another on the calling thread.
+     * If <i>closeSourceDocuments</i> flag is set to <i>true</i> (see {@link #setCloseSourceDocuments(boolean)}),
+     * passed documents will be closed after their pages are merged.
+     * @param documents - documents, from which pages will be copied. The documents must not be used by other threads during merging.
+     * @return this {@code PdfMerger} instance.
+     */
+    public PdfMerger merge(List<PdfDocument> documents) {
+        int threads = Math.max(1, Math.min(documents.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return merge(documents, executor, threads * 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * This method merges all pages of the source documents to the current one, in the order of the list.
+     * <br/><br/>
+     * The objects of the source documents are read concurrently on the given executor, while the pages are copied
+     * to the current document one document after another on the calling thread. At most {@code prefetchedDocuments}
+     * documents are read ahead of the document being copied, which bounds the memory held by the read objects.
+     * If <i>closeSourceDocuments</i> flag is set to <i>true</i> (see {@link #setCloseSourceDocuments(boolean)}),
+     * passed documents will be closed after their pages are merged.
+     * @param documents - documents, from which pages will be copied. The documents must not be used by other threads during merging.
+     * @param executor - executor to read the source documents on.
+     * @param prefetchedDocuments - the maximal number of documents read ahead of the document being copied.
+     * @return this {@code PdfMerger} instance.
+     */
+    public PdfMerger merge(List<PdfDocument> documents, ExecutorService executor, int prefetchedDocuments) {
+        Deque<Future<List<Integer>>> loading = new ArrayDeque<>();
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        boolean merged = false;
+        try {
+            int next = 0;
+            for (PdfDocument from : documents) {
+                while (next < documents.size() && loading.size() <= Math.max(0, prefetchedDocuments)) {
+                    loading.add(executor.submit(new PagesLoader(documents.get(next++), cancelled)));
+                }
+                List<Integer> pages;
+                try {
+                    pages = loading.poll().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PdfException(PdfException.MergingWasInterrupted, e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new PdfException(PdfException.CannotReadSourceDocument, e.getCause());
+                }
+                merge(from, pages);
+            }
+            merged = true;
+        } finally {
+            if (!merged) {
+                cancel(loading, cancelled);
+            }
+        }
+        return this;
+    }
+
     /**
      * Closes the current document. It is a complete equivalent of calling {@code PdfDocument#close} on the PdfDocument
      * passed to the constructor of this PdfMerger instance. This means that it is enough to call <i>close</i> either on
@@ -143,4 +227,100 @@ public class PdfMerger {
     public void close() {
         pdfDocument.close();
     }
+
+    /**
+     * Stops reading the source documents and waits until the documents which are being read are released,
+     * so that the caller could close the documents as soon as the merging fails.
+     */
+    private static void cancel(Deque<Future<List<Integer>>> loading, AtomicBoolean cancelled) {
+        cancelled.set(true);
+        // the interruption is restored after waiting, as the waiting itself is not interruptible
+        boolean interrupted = Thread.interrupted();
+        for (Future<List<Integer>> future : loading) {
+            if (!future.cancel(false)) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        break;
+                    } catch (CancellationException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the page tree and all objects reachable from the pages of a document, so that copying them
+     * does not have to wait for parsing.
+     */
+    private static class PagesLoader implements Callable<List<Integer>> {
+        private static final PdfName[] INHERITABLE_KEYS = {PdfName.Resources, PdfName.MediaBox, PdfName.CropBox};
+
+        private final PdfDocument document;
+        private final AtomicBoolean cancelled;
+
+        PagesLoader(PdfDocument document, AtomicBoolean cancelled) {
+            this.document = document;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public List<Integer> call() {
+            int numberOfPages = document.getNumberOfPages();
+            List<Integer> pages = new ArrayList<>(numberOfPages);
+            Set<PdfIndirectReference> loaded = new HashSet<>();
+            Deque<PdfObject> objects = new ArrayDeque<>();
+            for (int pageNum = 1; pageNum <= numberOfPages; pageNum++) {
+                PdfDictionary page = document.getPage(pageNum).getPdfObject();
+                objects.push(page);
+                // inherited attributes are looked up through the page tree while copying
+                Set<PdfDictionary> parents = new HashSet<>();
+                PdfDictionary parent = page.getAsDictionary(PdfName.Parent);
+                while (parent != null && parents.add(parent)) {
+                    for (PdfName key : INHERITABLE_KEYS) {
+                        if (!page.containsKey(key) && parent.containsKey(key)) {
+                            objects.push(parent.get(key, false));
+                        }
+                    }
+                    parent = parent.getAsDictionary(PdfName.Parent);
+                }
+                while (!objects.isEmpty()) {
+                    if (cancelled.get()) {
+                        throw new CancellationException();
+                    }
+                    PdfObject object = objects.pop();
+                    if (object.isIndirectReference()) {
+                        if (loaded.add((PdfIndirectReference) object)) {
+                            PdfObject refersTo = ((PdfIndirectReference) object).getRefersTo();
+                            if (refersTo != null) {
+                                objects.push(refersTo);
+                            }
+                        }
+                    } else if (object.isDictionary() || object.isStream()) {
+                        for (PdfName key : ((PdfDictionary) object).keySet()) {
+                            // the parents are not copied with the page, they would lead to the whole document
+                            if (!PdfName.Parent.equals(key) && !PdfName.P.equals(key)) {
+                                objects.push(((PdfDictionary) object).get(key, false));
+                            }
+                        }
+                    } else if (object.isArray()) {
+                        PdfArray array = (PdfArray) object;
+                        for (int i = 0; i < array.size(); i++) {
+                            objects.push(array.get(i, false));
+                        }
+                    }
+                }
+                pages.add(pageNum);
+            }
+            return pages;
+        }
+    }
 }
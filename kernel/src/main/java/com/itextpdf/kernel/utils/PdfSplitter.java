@@ -45,17 +45,33 @@ package com.itextpdf.kernel.utils;
 
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 import com.itextpdf.kernel.pdf.PdfOutline;
 import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class PdfSplitter {
 
@@ -183,6 +199,105 @@ public class PdfSplitter {
         }
     }
 
+    /**
+     * Splits the document by page numbers, creating several documents at once on the specified number of threads.
+     * See {@link #splitConcurrently(List, IDocumentReadyListener, int)} for the details.
+     *
+     * @param pageNumbers   the numbers of pages from which another document is to be started.
+     *                      If the first element is not 1, then 1 is implied (i.e. the first split document will start from page 1 in any case).
+     * @param documentReady the thread-safe event listener which is called when another document is ready.
+     * @param threads       the number of threads to create the documents on.
+     * @throws PdfException
+     */
+    public void splitByPageNumbers(List<Integer> pageNumbers, IDocumentReadyListener documentReady, int threads) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        int currentPageNumber = 1;
+        for (int ind = 0; ind <= pageNumbers.size(); ind++) {
+            int nextPageNumber = ind == pageNumbers.size() ? pdfDocument.getNumberOfPages() + 1 : (int) pageNumbers.get(ind);
+            if (ind == 0 && nextPageNumber == 1)
+                continue;
+            pageRanges.add(new PageRange().addPageSequence(currentPageNumber, nextPageNumber - 1));
+            currentPageNumber = nextPageNumber;
+        }
+        splitConcurrently(pageRanges, documentReady, threads);
+    }
+
+    /**
+     * Splits a document into smaller documents with no more than @pageCount pages each, creating several documents
+     * at once on the specified number of threads.
+     * See {@link #splitConcurrently(List, IDocumentReadyListener, int)} for the details.
+     *
+     * @param pageCount     the biggest possible number of pages in a split document.
+     * @param documentReady the thread-safe event listener which is called when another document is ready.
+     * @param threads       the number of threads to create the documents on.
+     * @throws PdfException
+     */
+    public void splitByPageCount(int pageCount, IDocumentReadyListener documentReady, int threads) {
+        List<PageRange> pageRanges = new ArrayList<>();
+        for (int startPage = 1; startPage <= pdfDocument.getNumberOfPages(); startPage += pageCount) {
+            int endPage = Math.min(startPage + pageCount - 1, pdfDocument.getNumberOfPages());
+            pageRanges.add(new PageRange().addPageSequence(startPage, endPage));
+        }
+        splitConcurrently(pageRanges, documentReady, threads);
+    }
+
+    /**
+     * Extracts the specified page ranges from the document, creating several documents at once on the specified number of threads.
+     * <p>
+     * The page ranges are divided into as many consecutive groups as there are threads. Every thread reads the source
+     * document with its own {@link PdfReader#createConcurrentReader() concurrent reader} and creates the documents
+     * of its group one after another. After the pages of a document are copied, the objects they reference are released
+     * in the source document of the thread, so that the memory used does not grow with the number of pages.
+     * <p>
+     * {@link #getNextPdfWriter(PageRange)} and the listener are called on the threads of the pool,
+     * and the documents are ready in no particular order, so both must be thread-safe.
+     * If one of the threads fails, the others stop after their current document, and the failure is rethrown
+     * only when none of them reads the source document anymore.
+     *
+     * @param pageRanges    the list of page ranges for each of the resultant document.
+     * @param documentReady the thread-safe event listener which is called when another document is ready.
+     *                      You can close this document in this listener, for instance.
+     * @param threads       the number of threads to create the documents on.
+     * @throws PdfException
+     */
+    public void splitConcurrently(List<PageRange> pageRanges, IDocumentReadyListener documentReady, int threads) {
+        if (pageRanges.isEmpty()) {
+            return;
+        }
+        threads = Math.max(1, Math.min(threads, pageRanges.size()));
+        boolean tagged = pdfDocument.isTagged() && preserveTagged;
+        boolean outlines = pdfDocument.hasOutlines() && preserveOutlines;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>(threads);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        boolean split = false;
+        try {
+            for (int i = 0; i < threads; i++) {
+                List<PageRange> group = pageRanges.subList(pageRanges.size() * i / threads, pageRanges.size() * (i + 1) / threads);
+                futures.add(executor.submit(new PageRangesSplitter(group, documentReady, tagged, outlines, cancelled)));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PdfException(PdfException.SplittingWasInterrupted, e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new PdfException(PdfException.IoException, e.getCause());
+                }
+            }
+            split = true;
+        } finally {
+            if (!split) {
+                cancel(futures, cancelled);
+            }
+            executor.shutdown();
+        }
+    }
+
     /**
      * Splits a document into smaller documents with no more than @pageCount pages each.
      *
@@ -250,11 +365,46 @@ public class PdfSplitter {
         return new PdfWriter(new ByteArrayOutputStream());
     }
 
+    /**
+     * Stops splitting and waits until the threads which are still reading the source document are done with it,
+     * so that the caller could close the document as soon as the splitting fails. The threads are not interrupted,
+     * because an interrupted read closes the file channel shared with the reader of the source document.
+     */
+    private static void cancel(List<Future<Void>> futures, AtomicBoolean cancelled) {
+        cancelled.set(true);
+        // the interruption is restored after waiting, as the waiting itself is not interruptible
+        boolean interrupted = Thread.interrupted();
+        for (Future<Void> future : futures) {
+            if (!future.cancel(false)) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        break;
+                    } catch (CancellationException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private PdfDocument createPdfDocument(PageRange currentPageRange) {
+        return createPdfDocument(currentPageRange, pdfDocument.isTagged() && preserveTagged,
+                pdfDocument.hasOutlines() && preserveOutlines);
+    }
+
+    private PdfDocument createPdfDocument(PageRange currentPageRange, boolean tagged, boolean outlines) {
         PdfDocument newDocument = new PdfDocument(getNextPdfWriter(currentPageRange));
-        if (pdfDocument.isTagged() && preserveTagged)
+        if (tagged)
             newDocument.setTagged();
-        if (pdfDocument.hasOutlines() && preserveOutlines)
+        if (outlines)
             newDocument.initializeOutlines();
         return newDocument;
     }
@@ -397,4 +547,101 @@ public class PdfSplitter {
     private long xrefLength(int size) {
         return 20L * (size + 1);
     }
+
+    /**
+     * Releases the objects referenced by the pages, except for the pages themselves and the page tree,
+     * so that they are read again if they are needed later. The traversal stops at the page tree nodes,
+     * so the pages of the other ranges, which links and actions may refer to, are neither released nor traversed.
+     */
+    private static void releasePageObjects(PdfDocument document, List<Integer> pages) {
+        Set<PdfDictionary> pageDictionaries = new HashSet<>();
+        for (Integer pageNum : pages) {
+            pageDictionaries.add(document.getPage((int) pageNum).getPdfObject());
+        }
+        Set<PdfIndirectReference> visited = new HashSet<>();
+        Deque<PdfObject> objects = new ArrayDeque<>();
+        List<PdfObject> toRelease = new ArrayList<>();
+        for (PdfDictionary page : pageDictionaries) {
+            for (PdfName key : page.keySet()) {
+                if (!PdfName.Parent.equals(key)) {
+                    objects.push(page.get(key, false));
+                }
+            }
+        }
+        while (!objects.isEmpty()) {
+            PdfObject object = objects.pop();
+            if (object.isIndirectReference()) {
+                PdfIndirectReference reference = (PdfIndirectReference) object;
+                if (visited.add(reference)) {
+                    PdfObject refersTo = reference.getRefersTo(false);
+                    if (refersTo != null && !pageDictionaries.contains(refersTo) && !isPageTreeNode(refersTo)) {
+                        toRelease.add(refersTo);
+                        objects.push(refersTo);
+                    }
+                }
+            } else if (object.isDictionary() || object.isStream()) {
+                for (PdfName key : ((PdfDictionary) object).keySet()) {
+                    if (!PdfName.Parent.equals(key) && !PdfName.P.equals(key)) {
+                        objects.push(((PdfDictionary) object).get(key, false));
+                    }
+                }
+            } else if (object.isArray()) {
+                PdfArray array = (PdfArray) object;
+                for (int i = 0; i < array.size(); i++) {
+                    objects.push(array.get(i, false));
+                }
+            }
+        }
+        for (PdfObject object : toRelease) {
+            object.release();
+        }
+    }
+
+    private static boolean isPageTreeNode(PdfObject object) {
+        if (!object.isDictionary()) {
+            return false;
+        }
+        PdfName type = ((PdfDictionary) object).getAsName(PdfName.Type);
+        return PdfName.Page.equals(type) || PdfName.Pages.equals(type);
+    }
+
+    /**
+     * Creates the documents for a group of page ranges from its own source document.
+     */
+    private class PageRangesSplitter implements Callable<Void> {
+        private final List<PageRange> pageRanges;
+        private final IDocumentReadyListener documentReady;
+        private final boolean tagged;
+        private final boolean outlines;
+        private final AtomicBoolean cancelled;
+
+        PageRangesSplitter(List<PageRange> pageRanges, IDocumentReadyListener documentReady, boolean tagged, boolean outlines,
+                           AtomicBoolean cancelled) {
+            this.pageRanges = pageRanges;
+            this.documentReady = documentReady;
+            this.tagged = tagged;
+            this.outlines = outlines;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            PdfDocument source = new PdfDocument(pdfDocument.getReader().createConcurrentReader());
+            try {
+                for (PageRange pageRange : pageRanges) {
+                    if (cancelled.get()) {
+                        throw new CancellationException();
+                    }
+                    PdfDocument document = createPdfDocument(pageRange, tagged, outlines);
+                    List<Integer> pages = pageRange.getAllPages();
+                    source.copyPagesTo(pages, document);
+                    releasePageObjects(source, pages);
+                    documentReady.documentReady(document, pageRange);
+                }
+            } finally {
+                source.close();
+            }
+            return null;
+        }
+    }
 }
@@ -195,4 +195,43 @@ public class PdfCopyTest extends ExtendedITextTest {
         assertNull(new CompareTool().compareByContent(destinationFolder + "copySamePageWithAnnotationsSeveralTimes.pdf", sourceFolder + "cmp_copySamePageWithAnnotationsSeveralTimes.pdf", destinationFolder, "diff_"));
     }
 
+
+    @Test
+    public void smartModeCopyingTest() throws IOException {
+        PdfDocument pdfDoc1 = new PdfDocument(new PdfWriter(destinationFolder + "smartModeCopying_1.pdf"));
+        for (int i = 0; i < 4; i++) {
+            PdfPage page = pdfDoc1.addNewPage();
+            page.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes("%shared content\n"));
+            PdfDictionary extGState = new PdfDictionary();
+            extGState.put(PdfName.CA, new PdfNumber(0.5));
+            page.getResources().addExtGState(extGState.makeIndirect(pdfDoc1));
+            page.flush();
+        }
+        pdfDoc1.close();
+
+        PdfDocument pdfDoc2 = new PdfDocument(new PdfWriter(destinationFolder + "smartModeCopying_2.pdf", new WriterProperties().useSmartMode()));
+        for (int i = 0; i < 2; i++) {
+            PdfDocument source = new PdfDocument(new PdfReader(destinationFolder + "smartModeCopying_1.pdf"));
+            source.copyPagesTo(1, source.getNumberOfPages(), pdfDoc2);
+            source.close();
+        }
+        pdfDoc2.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(destinationFolder + "smartModeCopying_2.pdf"));
+        assertEquals(8, pdfDocument.getNumberOfPages());
+        PdfObject firstContent = pdfDocument.getPage(1).getPdfObject().get(PdfName.Contents, false);
+        PdfObject firstExtGState = getExtGStateReference(pdfDocument.getPage(1));
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            PdfDictionary page = pdfDocument.getPage(i).getPdfObject();
+            assertEquals("%shared content\n", new String(pdfDocument.getPage(i).getContentBytes()));
+            Assert.assertSame(firstContent, page.get(PdfName.Contents, false));
+            Assert.assertSame(firstExtGState, getExtGStateReference(pdfDocument.getPage(i)));
+        }
+        pdfDocument.close();
+    }
+
+    private static PdfObject getExtGStateReference(PdfPage page) {
+        PdfDictionary extGStates = page.getResources().getResource(PdfName.ExtGState);
+        return extGStates.get(extGStates.keySet().iterator().next(), false);
+    }
 }
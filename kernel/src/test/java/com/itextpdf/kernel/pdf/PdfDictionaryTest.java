@@ -0,0 +1,100 @@
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfDictionaryTest {
+
+    @Test
+    public void keysOrderTest() {
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Type, PdfName.Page);
+        dictionary.put(new PdfName("Contents"), new PdfArray());
+        dictionary.put(PdfName.Annots, new PdfArray());
+        dictionary.put(new PdfName("MediaBox"), new PdfArray());
+        dictionary.put(PdfName.Type, PdfName.Pages);
+
+        Assert.assertEquals(4, dictionary.size());
+        Assert.assertEquals(PdfName.Pages, dictionary.get(new PdfName("Type")));
+        List<PdfName> keys = new ArrayList<>(dictionary.keySet());
+        Assert.assertEquals(PdfName.Annots, keys.get(0));
+        Assert.assertEquals(PdfName.Contents, keys.get(1));
+        Assert.assertEquals(PdfName.MediaBox, keys.get(2));
+        Assert.assertEquals(PdfName.Type, keys.get(3));
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 200; round++) {
+            PdfDictionary dictionary = new PdfDictionary();
+            Map<PdfName, PdfObject> expected = new TreeMap<>();
+            int maxKeys = 1 + random.nextInt(3 * CompactPdfNameMap.MAX_ARRAY_SIZE);
+            for (int i = 0; i < 100; i++) {
+                PdfName key = new PdfName("Key" + random.nextInt(maxKeys));
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        PdfNumber value = new PdfNumber(i);
+                        Assert.assertEquals(expected.put(key, value), dictionary.put(key, value));
+                        break;
+                    case 2:
+                        Assert.assertEquals(expected.remove(key), dictionary.remove(key));
+                        break;
+                    default:
+                        Assert.assertEquals(expected.get(key), dictionary.get(key));
+                        Assert.assertEquals(expected.containsKey(key), dictionary.containsKey(key));
+                        break;
+                }
+            }
+            Assert.assertEquals(expected.size(), dictionary.size());
+            Assert.assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(dictionary.entrySet()));
+        }
+    }
+
+    @Test
+    public void iteratorRemoveTest() {
+        PdfDictionary dictionary = new PdfDictionary();
+        for (int i = 0; i < 10; i++) {
+            dictionary.put(new PdfName("Key" + i), new PdfNumber(i));
+        }
+        Iterator<PdfName> iterator = dictionary.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().compareTo("Key5") < 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(5, dictionary.size());
+        Assert.assertEquals(new PdfName("Key5"), dictionary.keySet().iterator().next());
+
+        for (Map.Entry<PdfName, PdfObject> entry : dictionary.entrySet()) {
+            entry.setValue(PdfNull.PDF_NULL);
+        }
+        Assert.assertEquals(PdfNull.PDF_NULL, dictionary.get(new PdfName("Key9")));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorAfterGrowingTest() {
+        PdfDictionary dictionary = new PdfDictionary();
+        for (int i = 0; i < CompactPdfNameMap.MAX_ARRAY_SIZE; i++) {
+            dictionary.put(new PdfName("Key" + i), new PdfNumber(i));
+        }
+        Iterator<PdfName> iterator = dictionary.keySet().iterator();
+        iterator.next();
+        // the entries are moved from the arrays to a tree
+        dictionary.put(new PdfName("Extra"), new PdfNumber(0));
+        iterator.hasNext();
+    }
+}
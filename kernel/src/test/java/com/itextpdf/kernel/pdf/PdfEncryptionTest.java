@@ -1,6 +1,7 @@
 package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.font.FontConstants;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.crypto.CryptoUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.BadPasswordException;
@@ -370,6 +371,8 @@ public class PdfEncryptionTest extends ExtendedITextTest{
         PdfPage page = document.getPage(1);
 
         Assert.assertTrue("Expected content: \n" + pageContent, new String(page.getStreamBytes(0)).contains(pageContent));
+        PdfStream contentStream = page.getContentStream(0);
+        Assert.assertArrayEquals(page.getStreamBytes(0), StreamUtil.inputStreamToArray(reader.readStream(contentStream, true)));
         Assert.assertEquals("Encrypted author", author, document.getDocumentInfo().getAuthor());
         Assert.assertEquals("Encrypted creator", creator, document.getDocumentInfo().getCreator());
 
@@ -385,6 +388,8 @@ public class PdfEncryptionTest extends ExtendedITextTest{
 
         String s = new String(page.getStreamBytes(0));
         Assert.assertTrue("Expected content: \n" + pageContent, s.contains(pageContent));
+        PdfStream contentStream = page.getContentStream(0);
+        Assert.assertArrayEquals(page.getStreamBytes(0), StreamUtil.inputStreamToArray(reader.readStream(contentStream, true)));
         Assert.assertEquals("Encrypted author", author, document.getDocumentInfo().getAuthor());
         Assert.assertEquals("Encrypted creator", creator, document.getDocumentInfo().getCreator());
 
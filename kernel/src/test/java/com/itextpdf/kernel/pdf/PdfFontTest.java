@@ -26,8 +26,14 @@ import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Assert;
@@ -1302,6 +1308,79 @@ public class PdfFontTest extends ExtendedITextTest {
         pdfDoc.close();
     }
 
+    @Test
+    public void testLayoutTablesReadOnDemand() throws IOException {
+        final List<String> readTables = new ArrayList<>();
+        TrueTypeFont fontProgram = new TrueTypeFont(fontsFolder + "NotoNaskhArabic-Regular.ttf") {
+            @Override
+            protected void readGsubTable() throws IOException {
+                readTables.add("GSUB");
+                super.readGsubTable();
+            }
+
+            @Override
+            protected void readGposTable() throws IOException {
+                readTables.add("GPOS");
+                super.readGposTable();
+            }
+        };
+        Assert.assertTrue(readTables.isEmpty());
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H);
+        new PdfCanvas(pdfDoc.addNewPage()).beginText().setFontAndSize(font, 12).showText("Hello").endText();
+        pdfDoc.close();
+        // the text without shaping doesn't need the layout tables
+        Assert.assertTrue(readTables.isEmpty());
+
+        // the tables are read on the first request of a shaper, from the font file, which is still available
+        // after the font has been embedded
+        Assert.assertNotNull(fontProgram.getGsubTable());
+        Assert.assertEquals(Arrays.asList("GSUB", "GPOS"), readTables);
+        Assert.assertFalse(fontProgram.getGsubTable().getFeatureRecords().isEmpty());
+        Assert.assertNotNull(fontProgram.getGdefTable());
+        Assert.assertNotNull(fontProgram.getGposTable());
+        Assert.assertSame(fontProgram.getGsubTable(), fontProgram.getGsubTable());
+        Assert.assertEquals(2, readTables.size());
+    }
+
+    @Test
+    public void testFontIndex() throws IOException {
+        String fontFile = destinationFolder + "indexedFont.afm";
+        String indexFile = destinationFolder + "fontIndex.idx";
+        Files.copy(Paths.get(fontsFolder + "cmr10.afm"), Paths.get(fontFile), StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(Paths.get(indexFile));
+        try {
+            PdfFontFactory.setFontIndexFile(indexFile);
+            FontProgramFactory.registerFont(fontFile);
+            // fonts registered one by one are written to the index only on request
+            Assert.assertFalse(new File(indexFile).exists());
+            PdfFontFactory.saveFontIndex();
+            Assert.assertTrue(new File(indexFile).isFile());
+
+            // the names are read from the index as long as the file has the same modification time and length
+            File file = new File(fontFile);
+            long lastModified = file.lastModified();
+            byte[] garbage = new byte[(int) file.length()];
+            Files.write(file.toPath(), garbage);
+            Assert.assertTrue(file.setLastModified(lastModified));
+            PdfFontFactory.setFontIndexFile(indexFile);
+            FontProgramFactory.registerFont(fontFile);
+            Assert.assertTrue(FontProgramFactory.isRegisteredFont("cmr10"));
+
+            Assert.assertTrue(file.setLastModified(lastModified - 10000));
+            try {
+                FontProgramFactory.registerFont(fontFile);
+                Assert.fail("The changed font file is expected to be parsed again");
+            } catch (com.itextpdf.io.IOException expected) {
+            }
+        } finally {
+            PdfFontFactory.setFontIndexFile(null);
+            // the font stays registered, so it should be valid for other tests
+            Files.copy(Paths.get(fontsFolder + "cmr10.afm"), Paths.get(fontFile), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     @Test
     public void testSplitString() throws IOException {
         PdfFont font = PdfFontFactory.createFont();
@@ -0,0 +1,128 @@
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class PdfNameTreeTest extends ExtendedITextTest {
+
+    @Test
+    public void lookupInLargeNameTreeTest() throws IOException {
+        // more than NODE_SIZE * NODE_SIZE entries, so the tree has two levels of intermediate nodes
+        int count = 2000;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = pdfDocument.addNewPage();
+        for (int i = count - 1; i >= 0; i--) {
+            pdfDocument.addNamedDestination("dest" + i, PdfExplicitDestination.createXYZ(page, 0, i, 1).getPdfObject());
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary root = pdfDocument.getCatalog().getPdfObject().getAsDictionary(PdfName.Names).getAsDictionary(PdfName.Dests);
+        PdfDictionary kid = root.getAsArray(PdfName.Kids).getAsDictionary(0);
+        Assert.assertNotNull(kid.getAsArray(PdfName.Kids).getAsDictionary(0).getAsArray(PdfName.Names));
+        Assert.assertEquals("dest0", kid.getAsArray(PdfName.Limits).getAsString(0).toUnicodeString());
+
+        Map<String, PdfObject> names = pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames();
+        Assert.assertEquals(1234, ((PdfArray) names.get("dest1234")).getAsNumber(3).intValue());
+        Assert.assertEquals(999, ((PdfArray) names.get("dest999")).getAsNumber(3).intValue());
+        Assert.assertTrue(names.containsKey("dest0"));
+        Assert.assertNull(names.get("dest2000"));
+        Assert.assertNull(names.get("a"));
+        // the misses are answered by the /Limits without reading the whole tree
+        Assert.assertFalse(pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames() instanceof HashMap);
+        Assert.assertEquals(count, names.size());
+        Assert.assertEquals(1234, ((PdfArray) names.get("dest1234")).getAsNumber(3).intValue());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void lookupNonAsciiNamesTest() throws IOException {
+        // "\u00e9" is 0xE9 and "\u20ac" is 0xA0 in PDFDocEncoding, so the bytes are sorted in the other order than the strings,
+        // and "\u0436" can only be written in UTF-16BE
+        String[] suffixes = {"\u00e9", "\u20ac", "\u0436"};
+        int count = 60;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = pdfDocument.addNewPage();
+        for (int i = 0; i < count; i++) {
+            for (String suffix : suffixes) {
+                pdfDocument.addNamedDestination("dest" + i + suffix, PdfExplicitDestination.createXYZ(page, 0, i, 1).getPdfObject());
+            }
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        Map<String, PdfObject> names = pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames();
+        for (int i = 0; i < count; i++) {
+            for (String suffix : suffixes) {
+                Assert.assertEquals(i, ((PdfArray) names.get("dest" + i + suffix)).getAsNumber(3).intValue());
+            }
+        }
+        Assert.assertNull(names.get("dest" + count + suffixes[0]));
+        // the names written by iText are sorted the way they are looked up, so the whole tree is not read
+        Assert.assertFalse(pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames() instanceof HashMap);
+        Assert.assertEquals(count * suffixes.length, names.size());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void lookupInLargeNumberTreeTest() throws IOException {
+        int count = 100;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < count; i++) {
+            pdfDocument.addNewPage().setPageLabel(PageLabelNumberingStyleConstants.DECIMAL_ARABIC_NUMERALS, "p" + i + "-");
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfNumTree pageLabels = pdfDocument.getCatalog().getPageLabelsTree(false);
+        Map<Integer, PdfObject> numbers = pageLabels.getNumbers();
+        Assert.assertEquals("p57-", ((PdfDictionary) numbers.get(57)).getAsString(PdfName.P).toUnicodeString());
+        Assert.assertTrue(numbers.containsKey(99));
+        Assert.assertFalse(numbers.containsKey(100));
+        Assert.assertFalse(pageLabels.getNumbers() instanceof TreeMap);
+        Assert.assertEquals(count, numbers.size());
+        Assert.assertEquals("p99-1", pdfDocument.getPageLabels()[99]);
+        pdfDocument.close();
+    }
+
+    @Test
+    public void lookupWithoutLimitsTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = pdfDocument.addNewPage();
+        for (int i = 0; i < 100; i++) {
+            pdfDocument.addNamedDestination("dest" + i, PdfExplicitDestination.createXYZ(page, 0, i, 1).getPdfObject());
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary root = pdfDocument.getCatalog().getPdfObject().getAsDictionary(PdfName.Names).getAsDictionary(PdfName.Dests);
+        PdfArray kids = root.getAsArray(PdfName.Kids);
+        for (int i = 0; i < kids.size(); i++) {
+            kids.getAsDictionary(i).remove(PdfName.Limits);
+        }
+
+        // the entries cannot be looked up by the /Limits, so the whole tree is read
+        Map<String, PdfObject> names = pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames();
+        Assert.assertNull(names.get("dest100"));
+        Assert.assertTrue(pdfDocument.getCatalog().getNameTree(PdfName.Dests).getNames() instanceof HashMap);
+        Assert.assertEquals(57, ((PdfArray) names.get("dest57")).getAsNumber(3).intValue());
+        pdfDocument.close();
+    }
+}
@@ -330,6 +330,54 @@ public class PdfPagesTest extends ExtendedITextTest{
         pdfDoc.close();
     }
 
+    @Test
+    public void randomPageAccessTest() throws IOException {
+        String filename = sourceFolder + "1000PagesDocument.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename));
+        int[] pageObjNumbers = new int[pdfDoc.getNumberOfPages() + 1];
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            pageObjNumbers[i] = pdfDoc.getPage(i).getPdfObject().getIndirectReference().getObjNumber();
+        }
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(filename));
+        Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            int pageNum = 1 + random.nextInt(pdfDoc.getNumberOfPages());
+            PdfPage page = pdfDoc.getPage(pageNum);
+            Assert.assertEquals(pageObjNumbers[pageNum], page.getPdfObject().getIndirectReference().getObjNumber());
+            Assert.assertSame(page, pdfDoc.getPage(pageNum));
+            Assert.assertEquals(pageNum, pdfDoc.getPageNumber(page));
+
+            pageNum = 1 + random.nextInt(pdfDoc.getNumberOfPages());
+            PdfDictionary pageDictionary = (PdfDictionary) pdfDoc.getPdfObject(pageObjNumbers[pageNum]);
+            Assert.assertEquals(pageNum, pdfDoc.getPageNumber(pageDictionary));
+        }
+        pdfDoc.close();
+    }
+
+    @Test
+    public void releasedPagesReadAgainTest() throws IOException {
+        String filename = sourceFolder + "1000PagesDocument.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(filename));
+        int[] pageObjNumbers = new int[pdfDoc.getNumberOfPages() + 1];
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            pageObjNumbers[i] = pdfDoc.getPage(i).getPdfObject().getIndirectReference().getObjNumber();
+            if (i % 100 == 0) {
+                // the page wrappers are not used anymore, so their dictionaries may be released
+                System.gc();
+            }
+        }
+        for (int i = 1; i <= pdfDoc.getNumberOfPages(); i++) {
+            PdfPage page = pdfDoc.getPage(i);
+            Assert.assertEquals(pageObjNumbers[i], page.getPdfObject().getIndirectReference().getObjNumber());
+            Assert.assertEquals(i, pdfDoc.getPageNumber(page));
+            Assert.assertEquals(i, pdfDoc.getPageNumber(page.getPdfObject()));
+            Assert.assertNotNull(page.getPdfObject().getAsDictionary(PdfName.Resources));
+        }
+        pdfDoc.close();
+    }
+
     @Test
     public void removePageWithFormFieldsTest() throws IOException {
         String filename = sourceFolder + "docWithFields.pdf";
@@ -3,6 +3,9 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
@@ -14,7 +17,9 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -1428,6 +1433,163 @@ public class PdfReaderTest extends ExtendedITextTest{
         pdfDoc.close();
     }
 
+    @Test
+    public void readStreamTest() throws IOException {
+        String[] files = {"100PagesDocumentWithFlateFilter.pdf", "simpleCanvasWithFullCompression.pdf", "10PagesDocumentWithInvalidStreamLength.pdf"};
+        for (String file : files) {
+            PdfReader reader = new PdfReader(sourceFolder + file);
+            PdfDocument pdfDoc = new PdfDocument(reader);
+            for (int i = 1; i < pdfDoc.getNumberOfPdfObjects(); i++) {
+                PdfObject object = pdfDoc.getPdfObject(i);
+                if (object != null && object.isStream()) {
+                    PdfStream stream = (PdfStream) object;
+                    byte[] expected = reader.readStreamBytes(stream, true);
+                    InputStream is = reader.readStream(stream, true);
+                    byte[] actual = StreamUtil.inputStreamToArray(is);
+                    is.close();
+                    Assert.assertArrayEquals(file + ", object " + i, expected, actual);
+                    Assert.assertArrayEquals(file + ", object " + i, reader.readStreamBytes(stream, false), StreamUtil.inputStreamToArray(reader.readStream(stream, false)));
+
+                    IRandomAccessSource source = reader.readStreamSource(stream);
+                    byte[] sourceBytes = new byte[(int) source.length()];
+                    Assert.assertEquals(sourceBytes.length, new RandomAccessFileOrArray(source).read(sourceBytes));
+                    source.close();
+                    Assert.assertArrayEquals(file + ", object " + i, expected, sourceBytes);
+                }
+            }
+            pdfDoc.close();
+        }
+    }
+
+    @Test
+    public void createReferencesOnDemandTest() throws IOException {
+        String[] files = {"1000PagesDocument.pdf", "1000PagesDocumentWithFullCompression.pdf", "1000PagesDocumentAppended.pdf"};
+        for (String file : files) {
+            PdfDocument pdfDoc = new PdfDocument(new PdfReader(sourceFolder + file));
+            PdfXrefTable xref = pdfDoc.getXref();
+            int created = 0;
+            for (int i = 1; i < xref.size(); i++) {
+                if (xref.getCreated(i) != null) {
+                    created++;
+                }
+            }
+            Assert.assertTrue(file, created < xref.size() / 10);
+
+            PdfDictionary lastPage = pdfDoc.getPage(pdfDoc.getNumberOfPages()).getPdfObject();
+            PdfIndirectReference reference = lastPage.getIndirectReference();
+            Assert.assertSame(file, reference, xref.getCreated(reference.getObjNumber()));
+            Assert.assertSame(file, reference, xref.get(reference.getObjNumber()));
+            Assert.assertSame(file, lastPage, pdfDoc.getPdfObject(reference.getObjNumber()));
+
+            PdfObject contentsObject = lastPage.get(PdfName.Contents, false);
+            if (contentsObject.isArray()) {
+                contentsObject = ((PdfArray) contentsObject).get(0, false);
+            }
+            PdfIndirectReference contents = (PdfIndirectReference) contentsObject;
+            PdfStream stream = (PdfStream) contents.getRefersTo();
+            byte[] bytes = stream.getBytes();
+            stream.release();
+            Assert.assertNull(file, stream.getIndirectReference());
+            // the reference is still used, so the same instance should be returned
+            Assert.assertSame(file, contents, xref.get(contents.getObjNumber()));
+            Assert.assertArrayEquals(file, bytes, ((PdfStream) contents.getRefersTo()).getBytes());
+            pdfDoc.close();
+        }
+    }
+
+    @Test
+    public void stampingDocumentWithFreeReferencesTest() throws IOException {
+        String[] objects = {"<</Type/Catalog/Pages 2 0 R>>", "<</Type/Pages/Kids[]/Count 0>>", null, "<</Producer(test)>>", null};
+        java.io.ByteArrayOutputStream source = new java.io.ByteArrayOutputStream();
+        StringBuilder xrefSection = new StringBuilder("xref\n0 6\n0000000000 65535 f \n");
+        source.write(ByteUtils.getIsoBytes("%PDF-1.4\n"));
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i] == null) {
+                xrefSection.append("0000000000 00001 f \n");
+            } else {
+                xrefSection.append(MessageFormat.format("{0,number,0000000000} 00000 n \n", source.size()));
+                source.write(ByteUtils.getIsoBytes((i + 1) + " 0 obj\n" + objects[i] + "\nendobj\n"));
+            }
+        }
+        int startxref = source.size();
+        source.write(ByteUtils.getIsoBytes(xrefSection + "trailer\n<</Size 6/Root 1 0 R/Info 4 0 R>>\nstartxref\n" + startxref + "\n%%EOF\n"));
+
+        String filename = destinationFolder + "stampingDocumentWithFreeReferences.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source.toByteArray())), new PdfWriter(filename));
+        Assert.assertFalse(pdfDoc.getReader().hasRebuiltXref());
+        PdfXrefTable xref = pdfDoc.getXref();
+        Assert.assertTrue(xref.get(3).isFree());
+        Assert.assertEquals(1, xref.get(3).getGenNumber());
+        PdfObject first = new PdfDictionary().makeIndirect(pdfDoc);
+        PdfObject second = new PdfDictionary().makeIndirect(pdfDoc);
+        PdfObject third = new PdfDictionary().makeIndirect(pdfDoc);
+        Assert.assertEquals(3, first.getIndirectReference().getObjNumber());
+        Assert.assertEquals(5, second.getIndirectReference().getObjNumber());
+        Assert.assertEquals(6, third.getIndirectReference().getObjNumber());
+        Assert.assertSame(first.getIndirectReference(), xref.get(3));
+        pdfDoc.getCatalog().put(new PdfName("First"), first);
+        pdfDoc.getCatalog().put(new PdfName("Second"), second);
+        pdfDoc.addNewPage();
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(filename));
+        Assert.assertFalse(pdfDoc.getReader().hasRebuiltXref());
+        Assert.assertEquals(PdfObject.DICTIONARY, pdfDoc.getPdfObject(3).getType());
+        Assert.assertEquals(PdfObject.DICTIONARY, pdfDoc.getPdfObject(5).getType());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void decodeStreamTest() throws IOException {
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 7 == 0 ? i : i % 13);
+        }
+        java.io.ByteArrayOutputStream deflated = new java.io.ByteArrayOutputStream();
+        java.util.zip.DeflaterOutputStream zip = new java.util.zip.DeflaterOutputStream(deflated);
+        zip.write(data);
+        zip.close();
+        byte[] hex = ByteUtils.getIsoBytes(bytesToHex(deflated.toByteArray()) + ">");
+
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Filter, new PdfArray(java.util.Arrays.asList((PdfObject) PdfName.ASCIIHexDecode, PdfName.FlateDecode)));
+        Assert.assertArrayEquals(data, PdfReader.decodeBytes(hex, dictionary));
+        Assert.assertArrayEquals(data, StreamUtil.inputStreamToArray(PdfReader.decodeStream(new ByteArrayInputStream(hex), dictionary)));
+
+        // the beginning of the commonly used ASCII85 sample, terminated with EOD marker
+        byte[] ascii85 = ByteUtils.getIsoBytes("9jqo^BlbD-BleB1DJ+*+F(f,q~>");
+        dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Filter, PdfName.ASCII85Decode);
+        Assert.assertArrayEquals(PdfReader.decodeBytes(ascii85, dictionary),
+                StreamUtil.inputStreamToArray(PdfReader.decodeStream(new ByteArrayInputStream(ascii85), dictionary)));
+
+        byte[] runLength = {2, 'a', 'b', 'c', (byte) -3, 'z', 0, 'd', (byte) 0x80, 'x'};
+        dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Filter, PdfName.RunLengthDecode);
+        byte[] expected = ByteUtils.getIsoBytes("abczzzzd");
+        Assert.assertArrayEquals(expected, PdfReader.decodeBytes(runLength, dictionary));
+        Assert.assertArrayEquals(expected, StreamUtil.inputStreamToArray(PdfReader.decodeStream(new ByteArrayInputStream(runLength), dictionary)));
+
+        // example from the PDF specification, 7.4.4.2
+        byte[] lzw = {(byte) 0x80, 0x0B, 0x60, 0x50, 0x22, 0x0C, 0x0C, (byte) 0x85, 0x01};
+        dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Filter, PdfName.LZWDecode);
+        expected = new byte[] {45, 45, 45, 45, 45, 65, 45, 45, 45, 66};
+        Assert.assertArrayEquals(expected, PdfReader.decodeBytes(lzw, dictionary));
+        Assert.assertArrayEquals(expected, StreamUtil.inputStreamToArray(PdfReader.decodeStream(new ByteArrayInputStream(lzw), dictionary)));
+    }
+
+
+    private static String bytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02X", b & 0xff));
+            if (sb.length() % 80 == 0) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
 
     private boolean objectTypeEqualTo(PdfObject object, PdfName type) {
         PdfName objectType = ((PdfDictionary)object).getAsName(PdfName.Type);
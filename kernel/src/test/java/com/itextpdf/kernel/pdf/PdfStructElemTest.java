@@ -570,6 +570,54 @@ public class PdfStructElemTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void pageTagsRegisteredOnDemandTest() throws IOException {
+        PdfDocument source = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"));
+        int sourceMcrsCount = source.getStructTreeRoot().getPageMarkedContentReferences(source.getPage(3)).size();
+        assertTrue(sourceMcrsCount > 0);
+        source.close();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"), new PdfWriter(baos));
+        document.getTagStructureContext().removePageTags(document.getPage(2));
+        document.close();
+
+        document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        assertTrue(document.getStructTreeRoot().getPageMarkedContentReferences(document.getPage(2)) == null);
+        // the parent tree entry of the page which was not accessed is copied as it is
+        assertEquals(sourceMcrsCount, document.getStructTreeRoot().getPageMarkedContentReferences(document.getPage(3)).size());
+        document.close();
+    }
+
+    @Test
+    public void parentTreeNextKeyWithoutLimitsTest() throws IOException {
+        PdfDocument source = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"));
+        int nextKey = source.getStructTreeRoot().getParentTreeNextKey();
+        source.close();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "iphone_user_guide.pdf"), new PdfWriter(baos),
+                new StampingProperties().useAppendMode());
+        PdfDictionary parentTree = document.getStructTreeRoot().getPdfObject().getAsDictionary(PdfName.ParentTree);
+        PdfArray kids = parentTree.getAsArray(PdfName.Kids);
+        assertTrue(kids.size() > 1);
+        // the last kid doesn't hold the largest keys anymore and the kids have no /Limits to find them by
+        PdfArray reversedKids = new PdfArray();
+        for (int i = kids.size() - 1; i >= 0; i--) {
+            kids.getAsDictionary(i).remove(PdfName.Limits);
+            kids.getAsDictionary(i).setModified();
+            reversedKids.add(kids.get(i, false));
+        }
+        parentTree.put(PdfName.Kids, reversedKids);
+        parentTree.setModified();
+        document.close();
+
+        // the largest key cannot be found by the /Limits, so the whole parent tree is read
+        document = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        assertEquals(nextKey, (int) document.getStructTreeRoot().getParentTreeNextKey());
+        document.close();
+    }
+
     @Test
     public void corruptedTagStructureTest04() throws IOException {
         PdfDocument document = new PdfDocument(new PdfReader(sourceFolder + "directStructElem03.pdf"));
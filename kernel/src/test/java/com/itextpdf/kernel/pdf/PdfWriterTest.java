@@ -3,6 +3,9 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.DateTimeUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.events.Event;
+import com.itextpdf.kernel.events.IEventHandler;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -589,4 +592,78 @@ public class PdfWriterTest extends ExtendedITextTest {
         Assert.assertArrayEquals("Stream by InputStream", streamContent.getBytes(), pdfStream.getBytes());
         document.close();
     }
+
+    @Test
+    public void parallelCompressionTest() throws IOException {
+        CountingWriter sequentialWriter = new CountingWriter(new WriterProperties());
+        byte[] sequential = createDocumentWithManyStreams(sequentialWriter);
+        CountingWriter parallelWriter = new CountingWriter(new WriterProperties().useParallelCompression());
+        byte[] parallel = createDocumentWithManyStreams(parallelWriter);
+        Assert.assertEquals(0, sequentialWriter.preparedStreams);
+        // the content streams of the pages changed by the END_PAGE handler are compressed on writing
+        Assert.assertEquals(45, parallelWriter.preparedStreams);
+        Assert.assertEquals(sequential.length, parallel.length);
+
+        PdfDocument sequentialDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(sequential)));
+        PdfDocument parallelDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(parallel)));
+        Assert.assertEquals(sequentialDoc.getNumberOfPdfObjects(), parallelDoc.getNumberOfPdfObjects());
+        for (int i = 1; i < sequentialDoc.getNumberOfPdfObjects(); i++) {
+            Assert.assertEquals(sequentialDoc.getXref().get(i).getOffset(), parallelDoc.getXref().get(i).getOffset());
+        }
+        for (int i = 1; i <= sequentialDoc.getNumberOfPages(); i++) {
+            PdfStream sequentialContent = sequentialDoc.getPage(i).getContentStream(0);
+            PdfStream parallelContent = parallelDoc.getPage(i).getContentStream(0);
+            Assert.assertEquals(PdfName.FlateDecode, parallelContent.getAsName(PdfName.Filter));
+            Assert.assertArrayEquals(sequentialContent.getBytes(false), parallelContent.getBytes(false));
+        }
+        Assert.assertTrue(new String(parallelDoc.getPage(10).getContentStream(0).getBytes()).endsWith("0 0 5 5 re f\n"));
+        sequentialDoc.close();
+        parallelDoc.close();
+    }
+
+    private static byte[] createDocumentWithManyStreams(CountingWriter writer) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        pdfDoc.addEventHandler(PdfDocumentEvent.END_PAGE, new IEventHandler() {
+            @Override
+            public void handleEvent(Event event) {
+                PdfPage page = ((PdfDocumentEvent) event).getPage();
+                if (page.getDocument().getPageNumber(page) % 10 == 0) {
+                    page.getContentStream(0).getOutputStream().writeString("0 0 5 5 re f\n");
+                }
+            }
+        });
+        for (int i = 0; i < 50; i++) {
+            PdfPage page = pdfDoc.addNewPage();
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < 100; j++) {
+                content.append("q 1 0 0 1 ").append(i).append(' ').append(j).append(" cm 0 0 10 10 re f Q\n");
+            }
+            page.getContentStream(0).getOutputStream().write(ByteUtils.getIsoBytes(content.toString()));
+        }
+        pdfDoc.close();
+        return writer.baos.toByteArray();
+    }
+
+    private static class CountingWriter extends PdfWriter {
+        private final java.io.ByteArrayOutputStream baos;
+        private int preparedStreams = 0;
+
+        CountingWriter(WriterProperties properties) {
+            this(new java.io.ByteArrayOutputStream(), properties);
+        }
+
+        private CountingWriter(java.io.ByteArrayOutputStream baos, WriterProperties properties) {
+            super(baos, properties);
+            this.baos = baos;
+        }
+
+        @Override
+        com.itextpdf.io.source.ByteArrayOutputStream takeCompressedContent(PdfStream pdfStream) {
+            com.itextpdf.io.source.ByteArrayOutputStream content = super.takeCompressedContent(pdfStream);
+            if (content != null) {
+                preparedStreams++;
+            }
+            return content;
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.itextpdf.kernel.pdf.canvas.parser;
+
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategy;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.ITextExtractionStrategyFactory;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.LocationTextExtractionStrategy;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+
+@Category(IntegrationTest.class)
+public class PdfTextExtractorTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/parser/PdfTextExtractorTest/";
+
+    @Rule
+    public ExpectedException junitExpectedException = ExpectedException.none();
+
+    @Test
+    public void extractAllTest() throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "1000PagesDocumentWithFullCompression.pdf"));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        String[] texts;
+        try {
+            texts = PdfTextExtractor.extractAll(pdfDocument, new LocationStrategyFactory(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "1000PagesDocumentWithFullCompression.pdf"));
+        Assert.assertEquals(pdfDocument.getNumberOfPages(), texts.length);
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            String expected = PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i), new LocationTextExtractionStrategy());
+            Assert.assertEquals("Page " + i, expected, texts[i - 1]);
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void extractAllInStampingModeTest() throws IOException {
+        junitExpectedException.expect(PdfException.class);
+        junitExpectedException.expectMessage(PdfException.ConcurrentTextExtractionRequiresDocumentOpenedInReadingMode);
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(sourceFolder + "1000PagesDocumentWithFullCompression.pdf"),
+                new PdfWriter(new ByteArrayOutputStream()));
+        PdfTextExtractor.extractAll(pdfDocument, new LocationStrategyFactory());
+    }
+
+    private static class LocationStrategyFactory implements ITextExtractionStrategyFactory {
+        @Override
+        public ITextExtractionStrategy createStrategy() {
+            return new LocationTextExtractionStrategy();
+        }
+    }
+}
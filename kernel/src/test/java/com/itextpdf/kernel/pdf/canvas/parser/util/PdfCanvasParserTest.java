@@ -0,0 +1,91 @@
+package com.itextpdf.kernel.pdf.canvas.parser.util;
+
+import com.itextpdf.io.source.ByteUtils;
+import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.kernel.pdf.PdfLiteral;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfOutputStream;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PdfCanvasParserTest {
+
+    @Test
+    public void parseOperandsTest() throws IOException {
+        PdfCanvasParser parser = createParser("1 0 0 -1 12.5 .75 cm /F1 12 Tf /F1 10.123456789 Tf 3 unknownOp");
+
+        List<PdfObject> operands = parser.parse(null);
+        Assert.assertEquals(7, operands.size());
+        Assert.assertEquals(-1, ((PdfNumber) operands.get(3)).intValue());
+        Assert.assertEquals(12.5, ((PdfNumber) operands.get(4)).doubleValue(), 0);
+        Assert.assertEquals(0.75, ((PdfNumber) operands.get(5)).doubleValue(), 0);
+        Assert.assertEquals("cm", operands.get(6).toString());
+        PdfLiteral cm = (PdfLiteral) operands.get(6);
+
+        operands = parser.parse(operands);
+        PdfName font = (PdfName) operands.get(0);
+        Assert.assertEquals("F1", font.getValue());
+        Assert.assertEquals(12, ((PdfNumber) operands.get(1)).intValue());
+        Assert.assertEquals("Tf", operands.get(2).toString());
+
+        operands = parser.parse(operands);
+        // names are reused
+        Assert.assertSame(font, operands.get(0));
+        // real numbers keep their original representation
+        Assert.assertEquals("10.123456789", new String(write(operands.get(1))));
+
+        operands = parser.parse(operands);
+        Assert.assertEquals("unknownOp", operands.get(1).toString());
+        Assert.assertEquals(0, parser.parse(operands).size());
+
+        // operators are not shared, as objects are mutable
+        PdfObject otherCm = createParser("cm").parse(null).get(0);
+        Assert.assertNotSame(cm, otherCm);
+        Assert.assertEquals("cm", otherCm.toString());
+        Assert.assertEquals("cm", new String(write(otherCm)));
+    }
+
+    @Test
+    public void parseIntegersTest() throws IOException {
+        List<PdfObject> operands = createParser("+5 007 -0 0 -42 1234567890 d0").parse(null);
+        Assert.assertEquals(5, ((PdfNumber) operands.get(0)).intValue());
+        Assert.assertEquals(7, ((PdfNumber) operands.get(1)).intValue());
+        Assert.assertEquals(-42, ((PdfNumber) operands.get(4)).intValue());
+        Assert.assertEquals(1234567890, ((PdfNumber) operands.get(5)).intValue());
+        // integers keep their original representation
+        String[] expected = {"+5", "007", "-0", "0", "-42", "1234567890"};
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], new String(write(operands.get(i))));
+        }
+    }
+
+    @Test
+    public void parseStaticNamesTest() throws IOException {
+        List<PdfObject> operands = createParser("/Span <</ActualText (a)>> BDC").parse(null);
+        Assert.assertSame(PdfName.Span, operands.get(0));
+    }
+
+    private static PdfCanvasParser createParser(String content) {
+        return new PdfCanvasParser(new PdfTokenizer(new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(ByteUtils.getIsoBytes(content)))));
+    }
+
+    private static byte[] write(PdfObject object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new PdfOutputStream(baos).write(object);
+        return baos.toByteArray();
+    }
+}
@@ -13,6 +13,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.Assert;
@@ -65,6 +67,66 @@ public class PdfMergerTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void mergeDocumentsConcurrentlyTest() throws IOException, InterruptedException {
+        String[] filenames = {sourceFolder + "courierTest.pdf", sourceFolder + "helveticaTest.pdf", sourceFolder + "timesRomanTest.pdf"};
+        String[] resultFiles = {destinationFolder + "mergedConcurrently01.pdf", destinationFolder + "mergedConcurrently02.pdf"};
+
+        for (int prefetchedDocuments = 0; prefetchedDocuments < resultFiles.length; prefetchedDocuments++) {
+            List<PdfDocument> sources = new ArrayList<>();
+            for (String filename : filenames) {
+                sources.add(new PdfDocument(new PdfReader(filename)));
+            }
+            PdfDocument pdfDoc = new PdfDocument(new PdfWriter(resultFiles[prefetchedDocuments]));
+            PdfMerger merger = new PdfMerger(pdfDoc).setCloseSourceDocuments(true);
+            if (prefetchedDocuments == 0) {
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                merger.merge(sources, executor, prefetchedDocuments);
+                executor.shutdown();
+            } else {
+                merger.merge(sources);
+            }
+            merger.close();
+
+            CompareTool compareTool = new CompareTool();
+            String errorMessage = compareTool.compareByContent(resultFiles[prefetchedDocuments], sourceFolder + "cmp_mergedResult01.pdf", destinationFolder, "diff_");
+            if (errorMessage != null) {
+                Assert.fail(errorMessage);
+            }
+        }
+    }
+
+    @Test
+    public void mergeDocumentsConcurrentlyFailureTest() throws IOException {
+        String[] filenames = {sourceFolder + "courierTest.pdf", null, sourceFolder + "helveticaTest.pdf", sourceFolder + "timesRomanTest.pdf"};
+        List<PdfDocument> sources = new ArrayList<>();
+        for (String filename : filenames) {
+            if (filename != null) {
+                sources.add(new PdfDocument(new PdfReader(filename)));
+            } else {
+                // the pages of a closed document can't be read
+                PdfDocument closed = new PdfDocument(new PdfReader(sourceFolder + "courierTest.pdf"));
+                closed.close();
+                sources.add(closed);
+            }
+        }
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new java.io.ByteArrayOutputStream()));
+        PdfMerger merger = new PdfMerger(pdfDoc);
+        try {
+            merger.merge(sources);
+            Assert.fail("Merging a closed document must fail");
+        } catch (RuntimeException expected) {
+        }
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        // the documents are not read any more when the merging fails, so they could be closed right away
+        for (PdfDocument source : sources) {
+            if (!source.isClosed()) {
+                source.close();
+            }
+        }
+        Assert.assertEquals(1, pdfDoc.getNumberOfPages());
+    }
+
     @Test
     public void mergeDocumentTest02() throws IOException, InterruptedException {
         String filename = sourceFolder + "doc1.pdf";
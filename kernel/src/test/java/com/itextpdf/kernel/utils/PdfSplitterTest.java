@@ -1,19 +1,31 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.annot.PdfAnnotation;
+import com.itextpdf.kernel.pdf.annot.PdfLinkAnnotation;
+import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -99,6 +111,121 @@ public class PdfSplitterTest extends ExtendedITextTest{
         }
     }
 
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = LogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 3)
+    })
+    public void splitDocumentConcurrentlyTest() throws IOException, InterruptedException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        final AtomicInteger readyDocuments = new AtomicInteger();
+
+        new PdfSplitter(inputPdfDoc) {
+            @Override
+            protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                int partNumber = (documentPageRange.getAllPages().get(0) - 1) / 60 + 1;
+                try {
+                    return new PdfWriter(destinationFolder + "splitDocumentConcurrently_" + String.valueOf(partNumber) + ".pdf");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException();
+                }
+            }
+        }.splitByPageCount(60, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                if (new PageRange("61-120").equals(pageRange)) {
+                    pdfDocument.getDocumentInfo().setAuthor("Modified Author");
+                }
+
+                pdfDocument.close();
+                readyDocuments.incrementAndGet();
+            }
+        }, 3);
+
+        Assert.assertEquals(3, readyDocuments.get());
+        inputPdfDoc.close();
+        for (int i = 1; i <= 3; i++) {
+            Assert.assertNull(new CompareTool().compareByContent(destinationFolder + "splitDocumentConcurrently_" + String.valueOf(i) + ".pdf",
+                    sourceFolder + "cmp/" + "splitDocument2_" + String.valueOf(i) + ".pdf", destinationFolder, "diff_"));
+        }
+    }
+
+    @Test
+    public void splitLinkedPagesConcurrentlyTest() throws IOException {
+        // every page links to the next page of its range and to a page of another range
+        int pageCount = 12;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument linkedDoc = new PdfDocument(new PdfWriter(baos));
+        for (int i = 1; i <= pageCount; i++) {
+            linkedDoc.addNewPage();
+        }
+        for (int i = 1; i <= pageCount; i++) {
+            PdfPage page = linkedDoc.getPage(i);
+            int nextInRange = i % 2 == 1 ? i + 1 : i - 1;
+            page.addAnnotation(new PdfLinkAnnotation(new Rectangle(10, 10, 50, 50))
+                    .setDestination(PdfExplicitDestination.createFit(linkedDoc.getPage(nextInRange))));
+            page.addAnnotation(new PdfLinkAnnotation(new Rectangle(100, 10, 50, 50))
+                    .setDestination(PdfExplicitDestination.createFit(linkedDoc.getPage((i + 3) % pageCount + 1))));
+        }
+        linkedDoc.close();
+
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        final List<String> results = Collections.synchronizedList(new ArrayList<String>());
+        // fewer threads than ranges, so every thread splits several ranges from the same source document
+        new PdfSplitter(inputPdfDoc).splitByPageCount(2, new PdfSplitter.IDocumentReadyListener() {
+            @Override
+            public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                PdfDictionary secondPage = pdfDocument.getPage(2).getPdfObject();
+                List<PdfAnnotation> annotations = pdfDocument.getPage(1).getAnnotations();
+                PdfObject destination = ((PdfLinkAnnotation) annotations.get(0)).getDestinationObject();
+                boolean linksToSecondPage = destination instanceof PdfArray && ((PdfArray) destination).getAsDictionary(0) == secondPage;
+                results.add(pdfDocument.getNumberOfPages() + " " + annotations.size() + " " + linksToSecondPage);
+                pdfDocument.close();
+            }
+        }, 2);
+        inputPdfDoc.close();
+
+        Assert.assertEquals(pageCount / 2, results.size());
+        for (String result : results) {
+            // the link to the page of another range is not copied
+            Assert.assertEquals("2 1 true", result);
+        }
+    }
+
+    @Test
+    public void splitDocumentConcurrentlyFailureTest() throws IOException {
+        String inputFileName =  sourceFolder + "iphone_user_guide.pdf";
+        PdfDocument inputPdfDoc = new PdfDocument(new PdfReader(inputFileName));
+        final AtomicInteger documentsInProgress = new AtomicInteger();
+
+        try {
+            new PdfSplitter(inputPdfDoc) {
+                @Override
+                protected PdfWriter getNextPdfWriter(PageRange documentPageRange) {
+                    documentsInProgress.incrementAndGet();
+                    return super.getNextPdfWriter(documentPageRange);
+                }
+            }.splitByPageCount(10, new PdfSplitter.IDocumentReadyListener() {
+                @Override
+                public void documentReady(PdfDocument pdfDocument, PageRange pageRange) {
+                    documentsInProgress.decrementAndGet();
+                    if (new PageRange("1-10").equals(pageRange)) {
+                        throw new RuntimeException("Splitting failed");
+                    }
+                    pdfDocument.close();
+                }
+            }, 3);
+            Assert.fail("Splitting must fail");
+        } catch (RuntimeException expected) {
+            Assert.assertEquals("Splitting failed", expected.getMessage());
+        }
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        // the other threads are done with the source document when the splitting fails, and its reader is still usable
+        Assert.assertEquals(0, documentsInProgress.get());
+        Assert.assertTrue(inputPdfDoc.getPage(inputPdfDoc.getNumberOfPages()).getContentBytes().length > 0);
+        inputPdfDoc.close();
+    }
+
     @Test
     @LogMessages(messages = {
             @LogMessage(messageTemplate = LogMessageConstant.SOURCE_DOCUMENT_HAS_ACROFORM_DICTIONARY, count = 2)
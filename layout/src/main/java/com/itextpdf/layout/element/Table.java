@@ -55,7 +55,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -79,6 +78,7 @@ public class Table extends BlockElement<Table> implements ILargeElement {
     private Table footer;
     private boolean skipFirstHeader;
     private boolean skipLastFooter;
+    private boolean reuseRepeatedHeader;
     private boolean isComplete;
     private List<RowRange> lastAddedRowGroups;
     // Start number of the row "window" (range) that this table currently contain.
@@ -351,6 +351,31 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         return this;
     }
 
+    /**
+     * Tells you if the repeated header is laid out and drawn only once and then reused
+     * on the following pages.
+     *
+     * @return Value of property reuseRepeatedHeader.
+     */
+    public boolean isReuseRepeatedHeader() {
+        return reuseRepeatedHeader;
+    }
+
+    /**
+     * Lays out and draws the header repeated on the pages the table continues on only once.
+     * The header is drawn into a form XObject, which is then referenced from every page,
+     * and its layout is not repeated as long as the width of the table stays the same.
+     * The header is drawn as usual, if it has links, actions or destinations,
+     * and when it is tagged, i.e. for the first header of a tagged document.
+     *
+     * @param reuseRepeatedHeader New value of property reuseRepeatedHeader.
+     * @return this element
+     */
+    public Table setReuseRepeatedHeader(boolean reuseRepeatedHeader) {
+        this.reuseRepeatedHeader = reuseRepeatedHeader;
+        return this;
+    }
+
     /**
      * Starts new row. This mean that next cell will be added at the beginning of next line.
      *
@@ -553,16 +578,16 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        for (Iterator<IElement> iterator = childElements.iterator(); iterator.hasNext(); ) {
-            IElement cell = iterator.next();
-            if (((Cell)cell).getRow() >= firstRow && ((Cell)cell).getRow() <= lastRow) {
-                iterator.remove();
+        // removing the cells one by one would shift the rest of the list on each removal
+        List<IElement> remainingCells = new ArrayList<>(childElements.size());
+        for (IElement cell : childElements) {
+            if (((Cell)cell).getRow() < firstRow || ((Cell)cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
+        childElements = remainingCells;
 
-        for (int i = 0; i <= lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
+        rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1).clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
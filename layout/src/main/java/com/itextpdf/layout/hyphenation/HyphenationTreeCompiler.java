@@ -0,0 +1,285 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.io.util.StreamUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles hyphenation patterns from XML into a compact binary form, which is loaded
+ * with a single bulk read instead of parsing the patterns and building the tree again.
+ * <p>
+ * {@link Hyphenator} looks for the compiled patterns (with the {@link #COMPILED_PATTERNS_EXTENSION} extension)
+ * before the XML ones, both in the registered directories and in the default resource location.
+ * The patterns can be compiled at build time by running {@link #main(String[])}, which is what
+ * the opt-in {@code compile-patterns} profile of the hyph module does.
+ */
+public final class HyphenationTreeCompiler {
+
+    /**
+     * The file extension of the compiled hyphenation patterns.
+     */
+    public static final String COMPILED_PATTERNS_EXTENSION = ".hyb";
+
+    private static final String XML_PATTERNS_EXTENSION = ".xml";
+
+    /**
+     * "HYB" followed by the format version.
+     */
+    private static final int FORMAT_SIGNATURE = 0x48594201;
+
+    private static final byte HYPHEN_STRING = 0;
+    private static final byte HYPHEN_OBJECT = 1;
+
+    private HyphenationTreeCompiler() {
+    }
+
+    /**
+     * Compiles all the XML hyphenation patterns of a directory.
+     * The patterns which can't be parsed are skipped, as they can't be loaded at runtime either.
+     *
+     * @param args the directory with the XML patterns and the output directory for the compiled ones
+     * @throws IOException if the patterns can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: HyphenationTreeCompiler <patterns directory> <output directory>");
+        }
+        File outputDirectory = new File(args[1]);
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Can't create the output directory " + outputDirectory);
+        }
+        File[] patternFiles = new File(args[0]).listFiles();
+        if (patternFiles == null) {
+            throw new IOException("Can't list the patterns directory " + args[0]);
+        }
+        for (File patternFile : patternFiles) {
+            String fileName = patternFile.getName();
+            if (!fileName.endsWith(XML_PATTERNS_EXTENSION)) {
+                continue;
+            }
+            String key = fileName.substring(0, fileName.length() - XML_PATTERNS_EXTENSION.length());
+            ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+            InputStream in = new FileInputStream(patternFile);
+            try {
+                compile(in, fileName, compiled);
+            } catch (HyphenationException e) {
+                Logger logger = LoggerFactory.getLogger(HyphenationTreeCompiler.class);
+                logger.warn("Skipped hyphenation patterns " + fileName + ": " + e.getMessage());
+                continue;
+            } finally {
+                in.close();
+            }
+            OutputStream out = new FileOutputStream(new File(outputDirectory, key + COMPILED_PATTERNS_EXTENSION));
+            try {
+                compiled.writeTo(out);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Parses the XML hyphenation patterns and writes them in the compiled form.
+     *
+     * @param xmlPatterns the stream of the XML patterns
+     * @param name unique key representing country-language combination
+     * @param out the stream to write the compiled patterns to
+     * @throws IOException if the compiled patterns can't be written
+     * @throws HyphenationException if the patterns can't be parsed
+     */
+    public static void compile(InputStream xmlPatterns, String name, OutputStream out) throws IOException, HyphenationException {
+        HyphenationTree hTree = new HyphenationTree();
+        hTree.loadPatterns(xmlPatterns, name);
+        write(hTree, out);
+    }
+
+    /**
+     * Writes the hyphenation tree in the compiled form.
+     *
+     * @param hTree the loaded hyphenation tree
+     * @param out the stream to write the compiled patterns to
+     * @throws IOException if the compiled patterns can't be written
+     */
+    public static void write(HyphenationTree hTree, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(FORMAT_SIGNATURE);
+        writeTernaryTree(hTree, data);
+        writeTernaryTree(hTree.classmap, data);
+        data.writeInt(hTree.vspace.length());
+        data.write(hTree.vspace.getArray(), 0, hTree.vspace.length());
+        data.writeInt(hTree.stoplist.size());
+        for (Map.Entry<String, List> exception : hTree.stoplist.entrySet()) {
+            writeString(exception.getKey(), data);
+            data.writeInt(exception.getValue().size());
+            for (Object item : exception.getValue()) {
+                if (item instanceof Hyphen) {
+                    Hyphen hyphen = (Hyphen) item;
+                    data.writeByte(HYPHEN_OBJECT);
+                    writeString(hyphen.preBreak, data);
+                    writeString(hyphen.noBreak, data);
+                    writeString(hyphen.postBreak, data);
+                } else {
+                    data.writeByte(HYPHEN_STRING);
+                    writeString((String) item, data);
+                }
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads the hyphenation tree from its compiled form.
+     *
+     * @param in the stream of the compiled patterns, it is read till the end
+     * @return the hyphenation tree
+     * @throws IOException if the compiled patterns can't be read or are corrupted
+     */
+    public static HyphenationTree read(InputStream in) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(StreamUtil.inputStreamToArray(in));
+        try {
+            if (data.getInt() != FORMAT_SIGNATURE) {
+                throw new IOException("Unsupported compiled hyphenation patterns format");
+            }
+            HyphenationTree hTree = new HyphenationTree();
+            readTernaryTree(hTree, data);
+            readTernaryTree(hTree.classmap, data);
+            byte[] values = new byte[data.getInt()];
+            data.get(values);
+            hTree.vspace = new ByteVector(values);
+            // mark the whole array as used, so that patterns added later don't overwrite the loaded ones
+            hTree.vspace.alloc(values.length);
+            int exceptionsCount = data.getInt();
+            Map<String, List> stoplist = new HashMap<>(exceptionsCount);
+            for (int i = 0; i < exceptionsCount; i++) {
+                String word = readString(data);
+                int itemsCount = data.getInt();
+                List<Object> hyphenatedWord = new ArrayList<>(itemsCount);
+                for (int j = 0; j < itemsCount; j++) {
+                    if (data.get() == HYPHEN_OBJECT) {
+                        hyphenatedWord.add(new Hyphen(readString(data), readString(data), readString(data)));
+                    } else {
+                        hyphenatedWord.add(readString(data));
+                    }
+                }
+                stoplist.put(word, hyphenatedWord);
+            }
+            hTree.stoplist = stoplist;
+            return hTree;
+        } catch (RuntimeException e) {
+            // BufferUnderflowException and alike in case of truncated data
+            throw new IOException("Corrupted compiled hyphenation patterns", e);
+        }
+    }
+
+    private static void writeTernaryTree(TernaryTree tree, DataOutputStream data) throws IOException {
+        data.writeChar(tree.root);
+        data.writeChar(tree.freenode);
+        data.writeInt(tree.length);
+        writeChars(tree.lo, tree.lo.length, data);
+        writeChars(tree.hi, tree.hi.length, data);
+        writeChars(tree.eq, tree.eq.length, data);
+        writeChars(tree.sc, tree.sc.length, data);
+        writeChars(tree.kv.getArray(), tree.kv.length(), data);
+    }
+
+    private static void readTernaryTree(TernaryTree tree, ByteBuffer data) {
+        tree.root = data.getChar();
+        tree.freenode = data.getChar();
+        tree.length = data.getInt();
+        tree.lo = readChars(data);
+        tree.hi = readChars(data);
+        tree.eq = readChars(data);
+        tree.sc = readChars(data);
+        tree.kv = new CharVector(readChars(data));
+    }
+
+    private static void writeChars(char[] chars, int length, DataOutputStream data) throws IOException {
+        data.writeInt(length);
+        for (int i = 0; i < length; i++) {
+            data.writeChar(chars[i]);
+        }
+    }
+
+    private static char[] readChars(ByteBuffer data) {
+        char[] chars = new char[data.getInt()];
+        data.asCharBuffer().get(chars);
+        data.position(data.position() + 2 * chars.length);
+        return chars;
+    }
+
+    private static void writeString(String str, DataOutputStream data) throws IOException {
+        if (str == null) {
+            data.writeInt(-1);
+        } else {
+            writeChars(str.toCharArray(), str.length(), data);
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getInt(data.position());
+        if (length < 0) {
+            data.getInt();
+            return null;
+        }
+        return new String(readChars(data));
+    }
+}
@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,9 +46,9 @@ public final class Hyphenator {
      */
     private static Logger log = LoggerFactory.getLogger(Hyphenator.class);
 
-    private static HyphenationTreeCache hTreeCache;
+    private static volatile HyphenationTreeCache hTreeCache = new HyphenationTreeCache();
 
-    private static List<String> additionalHyphenationFileDirectories;
+    private static final List<String> additionalHyphenationFileDirectories = new CopyOnWriteArrayList<>();
 
     protected String lang;
     protected String country;
@@ -89,10 +90,7 @@ public final class Hyphenator {
      *
      * @param directory directory to register
      */
-    public static synchronized void registerAdditionalHyphenationFileDirectory(String directory) {
-        if (additionalHyphenationFileDirectories == null) {
-            additionalHyphenationFileDirectories = new ArrayList<>();
-        }
+    public static void registerAdditionalHyphenationFileDirectory(String directory) {
         additionalHyphenationFileDirectories.add(directory);
     }
 
@@ -101,17 +99,14 @@ public final class Hyphenator {
      *
      * @return the default (static) hyphenation tree cache
      */
-    public static synchronized HyphenationTreeCache getHyphenationTreeCache() {
-        if (hTreeCache == null) {
-            hTreeCache = new HyphenationTreeCache();
-        }
+    public static HyphenationTreeCache getHyphenationTreeCache() {
         return hTreeCache;
     }
 
     /**
      * Clears the default hyphenation tree cache. This method can be used if the underlying data files are changed at runtime.
      */
-    public static synchronized void clearHyphenationTreeCache() {
+    public static void clearHyphenationTreeCache() {
         hTreeCache = new HyphenationTreeCache();
     }
 
@@ -195,17 +190,23 @@ public final class Hyphenator {
             key = llccKey;
         }
 
-        if (additionalHyphenationFileDirectories != null) {
-            for (String dir : additionalHyphenationFileDirectories) {
-                hTree = getHyphenationTree(dir, key);
-                if (hTree != null) {
-                    break;
-                }
+        for (String dir : additionalHyphenationFileDirectories) {
+            hTree = getHyphenationTree(dir, key);
+            if (hTree != null) {
+                break;
+            }
+        }
+
+        if (hTree == null) {
+            // get from the default directory, the compiled patterns are preferred
+            InputStream compiledHyphenationResourceStream = ResourceUtil.getResourceStream(
+                    HYPHENATION_DEFAULT_RESOURCE + key + HyphenationTreeCompiler.COMPILED_PATTERNS_EXTENSION);
+            if (compiledHyphenationResourceStream != null) {
+                hTree = getCompiledHyphenationTree(compiledHyphenationResourceStream, key);
             }
         }
 
         if (hTree == null) {
-            // get from the default directory
             InputStream defaultHyphenationResourceStream = ResourceUtil.getResourceStream(HYPHENATION_DEFAULT_RESOURCE + key + ".xml");
             if (defaultHyphenationResourceStream != null) {
                 hTree = getHyphenationTree(defaultHyphenationResourceStream, key);
@@ -221,13 +222,28 @@ public final class Hyphenator {
     }
 
     /**
-     * Load tree from xml file using configuration settings.
+     * Load tree from compiled patterns or xml file using configuration settings.
      *
      * @param searchDirectory the directory to search the file into
      * @param key language key for the requested hyphenation file
      * @return the requested HyphenationTree or null if it is not available
      */
     public static HyphenationTree getHyphenationTree(String searchDirectory, String key) {
+        // try the compiled patterns first
+        File compiledFile = new File(searchDirectory, key + HyphenationTreeCompiler.COMPILED_PATTERNS_EXTENSION);
+        if (compiledFile.isFile()) {
+            try {
+                HyphenationTree hTree = getCompiledHyphenationTree(new FileInputStream(compiledFile), compiledFile.getName());
+                if (hTree != null) {
+                    return hTree;
+                }
+            } catch (IOException ioe) {
+                if (log.isDebugEnabled()) {
+                    log.debug("I/O problem while trying to load " + compiledFile.getName() + ": " + ioe.getMessage());
+                }
+            }
+        }
+
         // try the raw XML file
         String name = key + ".xml";
         try {
@@ -269,6 +285,30 @@ public final class Hyphenator {
         return hTree;
     }
 
+    /**
+     * Load tree from the stream of the compiled patterns.
+     *
+     * @param in the input stream to load the tree from
+     * @param name unique key representing country-language combination
+     * @return the requested HyphenationTree or null if it is not available
+     * @see HyphenationTreeCompiler
+     */
+    public static HyphenationTree getCompiledHyphenationTree(InputStream in, String name) {
+        if (in == null) {
+            return null;
+        }
+        try {
+            return HyphenationTreeCompiler.read(in);
+        } catch (IOException ex) {
+            log.error("Can't load compiled patterns " + name + ": " + ex.getMessage());
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (Exception ignored) {}
+        }
+    }
+
     /**
      * Hyphenates a word.
      *
@@ -0,0 +1,371 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2016 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The storage of layout properties, keyed by the {@link Property} constants.
+ * <p>
+ * Properties are kept in an array indexed by the property key, so that looking a property up is a single array
+ * access instead of hashing. The keys present are tracked separately, as {@code null} is a valid property value.
+ * Keys which are too large for the array are kept in a {@link HashMap}.
+ * <p>
+ * Maps created by {@link #PropertyMap(Map)}, or filled by {@link #putAll(Map)} while empty, share the storage
+ * of another {@link PropertyMap} until either of them is modified. This makes copying the properties of a
+ * renderer to its split and overflow renderers cheap.
+ * The iteration order is the order of the keys.
+ */
+public final class PropertyMap extends AbstractMap<Integer, Object> {
+
+    /**
+     * Keys from zero up to this value are stored in the array.
+     */
+    static final int MAX_ARRAY_KEY = 255;
+
+    private Object[] values;
+    private BitSet keys;
+    private int size;
+
+    /**
+     * Whether {@link #values} and {@link #keys} may be used by another map.
+     */
+    private boolean shared;
+
+    /**
+     * The properties whose keys don't fit into the array.
+     */
+    private Map<Integer, Object> otherValues;
+
+    private int modCount;
+    private Set<Map.Entry<Integer, Object>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public PropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same properties as the specified map.
+     *
+     * @param properties the properties to be copied
+     */
+    public PropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    @Override
+    public int size() {
+        return otherValues != null ? size + otherValues.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Integer)) {
+            return false;
+        }
+        int property = (int) (Integer) key;
+        if (isArrayKey(property)) {
+            return keys != null && keys.get(property);
+        }
+        return otherValues != null && otherValues.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int property = (int) (Integer) key;
+        if (isArrayKey(property)) {
+            return values != null && property < values.length ? values[property] : null;
+        }
+        return otherValues != null ? otherValues.get(key) : null;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        int property = (int) key;
+        if (!isArrayKey(property)) {
+            if (otherValues == null) {
+                otherValues = new HashMap<>();
+            }
+            modCount++;
+            return otherValues.put(key, value);
+        }
+        prepareForModification();
+        if (values == null) {
+            values = new Object[property + 1];
+            keys = new BitSet(property + 1);
+        } else if (property >= values.length) {
+            Object[] newValues = new Object[Math.min(Math.max(property + 1, values.length * 2), MAX_ARRAY_KEY + 1)];
+            System.arraycopy(values, 0, newValues, 0, values.length);
+            values = newValues;
+        }
+        Object previous = values[property];
+        values[property] = value;
+        if (!keys.get(property)) {
+            keys.set(property);
+            size++;
+            modCount++;
+        }
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> m) {
+        if (isEmpty() && m instanceof PropertyMap) {
+            PropertyMap other = (PropertyMap) m;
+            if (other.values != null) {
+                values = other.values;
+                keys = other.keys;
+                size = other.size;
+                shared = true;
+                other.shared = true;
+            }
+            if (other.otherValues != null) {
+                otherValues = new HashMap<>(other.otherValues);
+            }
+            modCount++;
+        } else {
+            super.putAll(m);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int property = (int) (Integer) key;
+        if (!isArrayKey(property)) {
+            if (otherValues == null) {
+                return null;
+            }
+            modCount++;
+            return otherValues.remove(key);
+        }
+        if (keys == null || !keys.get(property)) {
+            return null;
+        }
+        prepareForModification();
+        Object previous = values[property];
+        removeAt(property);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        values = null;
+        keys = null;
+        size = 0;
+        shared = false;
+        otherValues = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private static boolean isArrayKey(int property) {
+        return property >= 0 && property <= MAX_ARRAY_KEY;
+    }
+
+    /**
+     * Copies the storage, if it may be used by another map.
+     */
+    private void prepareForModification() {
+        if (shared) {
+            values = values.clone();
+            keys = (BitSet) keys.clone();
+            shared = false;
+        }
+    }
+
+    private void removeAt(int property) {
+        values[property] = null;
+        keys.clear(property);
+        size--;
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Integer, Object>> {
+        @Override
+        public Iterator<Map.Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PropertyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            PropertyMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, Object>> {
+        private int next = keys != null ? keys.nextSetBit(0) : -1;
+        private int last = -1;
+        private Iterator<Map.Entry<Integer, Object>> otherIterator;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            if (next >= 0) {
+                return true;
+            }
+            return getOtherIterator() != null && otherIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<Integer, Object> next() {
+            checkModCount();
+            if (next >= 0) {
+                last = next;
+                next = keys.nextSetBit(next + 1);
+                return new ArrayEntry(last);
+            }
+            last = -1;
+            if (getOtherIterator() == null) {
+                throw new NoSuchElementException();
+            }
+            return otherIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            checkModCount();
+            if (last >= 0) {
+                prepareForModification();
+                removeAt(last);
+                last = -1;
+            } else if (otherIterator != null) {
+                otherIterator.remove();
+                modCount++;
+            } else {
+                throw new IllegalStateException();
+            }
+            expectedModCount = modCount;
+        }
+
+        private Iterator<Map.Entry<Integer, Object>> getOtherIterator() {
+            if (otherIterator == null && otherValues != null) {
+                otherIterator = otherValues.entrySet().iterator();
+            }
+            return otherIterator;
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class ArrayEntry implements Map.Entry<Integer, Object> {
+        private final int key;
+
+        ArrayEntry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(entry.getKey()) && (value == null ? entry.getValue() == null : value.equals(entry.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
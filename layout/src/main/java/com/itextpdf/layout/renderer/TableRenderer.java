@@ -48,9 +48,11 @@ import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfVersion;
 import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.kernel.pdf.tagutils.IAccessibleElement;
 import com.itextpdf.kernel.pdf.tagutils.TagStructureContext;
 import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.layout.border.Border;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Table;
@@ -85,6 +87,19 @@ public class TableRenderer extends AbstractRenderer {
     private float[] columnWidths = null;
     private List<Float> heights = new ArrayList<>();
 
+    /**
+     * The state of the repeated header, shared by all the parts of the table,
+     * if the header is to be reused, see {@link Table#setReuseRepeatedHeader(boolean)}.
+     */
+    private ReusableHeader reusableHeader;
+
+    /**
+     * For a header renderer, the state of the reusable header, which this renderer is drawn with.
+     */
+    private ReusableHeader reusedHeader;
+    private Rectangle headerLayoutBox;
+    private Rectangle headerOccupiedBox;
+
     private TableRenderer() {}
 
     /**
@@ -172,12 +187,29 @@ public class TableRenderer extends AbstractRenderer {
         boolean isFirstHeader = rowRange.getStartRow() == 0 && isOriginalNonSplitRenderer;
         boolean headerShouldBeApplied = !rows.isEmpty() && (!isOriginalNonSplitRenderer || isFirstHeader && !tableModel.isSkipFirstHeader());
         if (headerElement != null && headerShouldBeApplied) {
-            headerRenderer = (TableRenderer) headerElement.createRendererSubTree().setParent(this);
-            LayoutResult result = headerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
-            if (result.getStatus() != LayoutResult.FULL) {
-                return new LayoutResult(LayoutResult.NOTHING, null, null, this, result.getCauseOfNothing());
+            if (reusableHeader == null && tableModel.isReuseRepeatedHeader()) {
+                reusableHeader = new ReusableHeader();
+            }
+            float headerHeight;
+            if (!isFirstHeader && reusableHeader != null && reusableHeader.canBeReused(layoutBox)) {
+                // the header is drawn from the form XObject, so its children are not needed
+                headerRenderer = (TableRenderer) headerElement.getRenderer().setParent(this);
+                headerRenderer.reusedHeader = reusableHeader;
+                headerRenderer.occupiedArea = new LayoutArea(area.getPageNumber(), reusableHeader.getOccupiedBox(layoutBox));
+                headerHeight = headerRenderer.occupiedArea.getBBox().getHeight();
+            } else {
+                headerRenderer = (TableRenderer) headerElement.createRendererSubTree().setParent(this);
+                LayoutResult result = headerRenderer.layout(new LayoutContext(new LayoutArea(area.getPageNumber(), layoutBox)));
+                if (result.getStatus() != LayoutResult.FULL) {
+                    return new LayoutResult(LayoutResult.NOTHING, null, null, this, result.getCauseOfNothing());
+                }
+                if (reusableHeader != null) {
+                    headerRenderer.reusedHeader = reusableHeader;
+                    headerRenderer.headerLayoutBox = layoutBox.clone();
+                    headerRenderer.headerOccupiedBox = result.getOccupiedArea().getBBox().clone();
+                }
+                headerHeight = result.getOccupiedArea().getBBox().getHeight();
             }
-            float headerHeight = result.getOccupiedArea().getBBox().getHeight();
             layoutBox.decreaseHeight(headerHeight);
             occupiedArea.getBBox().moveDown(headerHeight).increaseHeight(headerHeight);
         }
@@ -531,6 +563,10 @@ public class TableRenderer extends AbstractRenderer {
      */
     @Override
     public void draw(DrawContext drawContext) {
+        if (reusedHeader != null && !reusedHeader.disabled && !drawContext.isTaggingEnabled()) {
+            drawReusedHeader(drawContext);
+            return;
+        }
         PdfDocument document = drawContext.getDocument();
         boolean isTagged = drawContext.isTaggingEnabled() && getModelElement() instanceof IAccessibleElement;
         boolean ignoreTag = false;
@@ -567,6 +603,9 @@ public class TableRenderer extends AbstractRenderer {
         } else {
             super.draw(drawContext);
         }
+        // The rows of the split renderers are views of one shared list, so the drawn rows are released
+        // in that list, otherwise the renderers of the following pages would keep them reachable.
+        Collections.fill(rows, null);
     }
 
     /**
@@ -742,6 +781,7 @@ public class TableRenderer extends AbstractRenderer {
         splitRenderer.addAllProperties(getOwnProperties());
         splitRenderer.headerRenderer = headerRenderer;
         splitRenderer.footerRenderer = footerRenderer;
+        splitRenderer.reusableHeader = reusableHeader;
         splitRenderer.isLastRendererForModelElement = false;
         return splitRenderer;
     }
@@ -753,6 +793,7 @@ public class TableRenderer extends AbstractRenderer {
         overflowRenderer.modelElement = modelElement;
         overflowRenderer.addAllProperties(getOwnProperties());
         overflowRenderer.isOriginalNonSplitRenderer = false;
+        overflowRenderer.reusableHeader = reusableHeader;
         return overflowRenderer;
     }
 
@@ -886,6 +927,51 @@ public class TableRenderer extends AbstractRenderer {
         }
     }
 
+    /**
+     * Draws the header renderer from the form XObject of the reusable header. The XObject is created
+     * from this renderer, if it hasn't been created yet and the header can be drawn into a form XObject.
+     */
+    private void drawReusedHeader(DrawContext drawContext) {
+        Rectangle bBox = occupiedArea.getBBox();
+        if (reusedHeader.xObject == null) {
+            ReusableHeader header = reusedHeader;
+            reusedHeader = null;
+            if (hasInteractiveContent(this)) {
+                header.disabled = true;
+                draw(drawContext);
+                return;
+            }
+            // The content is drawn at its position on the page and is not clipped
+            PdfFormXObject xObject = new PdfFormXObject(new Rectangle(-INF, -INF, 2 * INF, 2 * INF));
+            draw(new DrawContext(drawContext.getDocument(), new PdfCanvas(xObject, drawContext.getDocument()), false));
+            header.xObject = xObject;
+            header.xObjectBox = bBox.clone();
+            header.layoutBox = headerLayoutBox;
+            header.occupiedBox = headerOccupiedBox;
+            reusedHeader = header;
+        }
+        drawContext.getCanvas().addXObject(reusedHeader.xObject,
+                bBox.getX() - reusedHeader.xObjectBox.getX(), bBox.getY() - reusedHeader.xObjectBox.getY());
+        flushed = true;
+    }
+
+    /**
+     * Checks if the renderer or any of its descendants adds annotations or destinations to the page,
+     * which can't be reused with the drawn content.
+     */
+    private static boolean hasInteractiveContent(IRenderer renderer) {
+        if (renderer instanceof LinkRenderer || renderer.hasProperty(Property.ACTION)
+                || renderer.hasProperty(Property.DESTINATION)) {
+            return true;
+        }
+        for (IRenderer child : renderer.getChildRenderers()) {
+            if (hasInteractiveContent(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * If there is some space left, we move footer up, because initially footer will be at the very bottom of the area.
      * We also adjust occupied area by footer size if it is present.
@@ -1115,4 +1201,45 @@ public class TableRenderer extends AbstractRenderer {
             this.finishRowInd = finishRow;
         }
     }
+
+    /**
+     * The layout and the appearance of a repeated header, which are reused by the headers of all the parts
+     * of the table, see {@link Table#setReuseRepeatedHeader(boolean)}.
+     */
+    private static final class ReusableHeader {
+        /**
+         * The area the header drawn into {@link #xObject} was laid out in, and the area it occupied then.
+         */
+        private Rectangle layoutBox;
+        private Rectangle occupiedBox;
+
+        private PdfFormXObject xObject;
+
+        /**
+         * The area occupied by the header drawn into {@link #xObject}, at the moment of drawing.
+         */
+        private Rectangle xObjectBox;
+
+        /**
+         * Whether the header can't be drawn into a form XObject.
+         */
+        private boolean disabled;
+
+        /**
+         * Checks if the header laid out in the specified area would be the same as the reusable header.
+         */
+        boolean canBeReused(Rectangle layoutBox) {
+            return xObject != null && Math.abs(layoutBox.getWidth() - this.layoutBox.getWidth()) < EPS
+                    && layoutBox.getHeight() + EPS >= this.layoutBox.getTop() - occupiedBox.getY();
+        }
+
+        /**
+         * Gets the area the header would occupy, if it was laid out in the specified area.
+         */
+        Rectangle getOccupiedBox(Rectangle layoutBox) {
+            return occupiedBox.clone()
+                    .moveRight(layoutBox.getX() - this.layoutBox.getX())
+                    .moveUp(layoutBox.getTop() - this.layoutBox.getTop());
+        }
+    }
 }
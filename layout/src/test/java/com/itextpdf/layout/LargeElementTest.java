@@ -7,6 +7,11 @@ import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.renderer.CellRenderer;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import org.junit.Assert;
@@ -15,7 +20,11 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Category(IntegrationTest.class)
 public class LargeElementTest extends ExtendedITextTest {
@@ -247,4 +256,102 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void largeTableWithRowspanSplitTest01() throws IOException, InterruptedException {
+        String testName = "largeTableWithRowspanSplitTest01.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(3, true);
+        doc.add(table);
+
+        for (int i = 0; i < 3; i++) {
+            table.addHeaderCell(new Cell().add(new Paragraph("Header " + i)));
+        }
+
+        List<WeakReference<IRenderer>> firstRowRenderers = new ArrayList<>();
+        List<Boolean> firstRowReleasedOnDraw = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            if (i % 3 == 0) {
+                table.addCell(new Cell(2, 1).add(new Paragraph("Rowspan " + i)));
+            } else if (i % 3 == 1) {
+                table.addCell(new Cell().add(new Paragraph("Cell " + i)));
+            }
+            Cell cell = new Cell().add(new Paragraph("Cell " + i + ", 2"));
+            if (i == 0) {
+                cell.setNextRenderer(new TrackedCellRenderer(cell, firstRowRenderers, null));
+            } else if (i == 90) {
+                // the cell is drawn on a later page than the first row, but belongs to the same flushed part
+                cell.setNextRenderer(new TrackedCellRenderer(cell, firstRowRenderers, firstRowReleasedOnDraw));
+            }
+            table.addCell(cell);
+            // flush rarely, so that every flushed part spans several pages
+            if (i % 100 == 99) {
+                table.flush();
+            }
+            if (i == 99) {
+                // the laid out rows of the flushed part don't hold their cells anymore
+                Assert.assertFalse(firstRowRenderers.isEmpty());
+                Assert.assertTrue(areReleased(firstRowRenderers));
+            }
+        }
+
+        table.complete();
+
+        doc.close();
+
+        // the renderers of the following pages of the same part didn't hold the drawn rows either
+        Assert.assertEquals(Collections.singletonList(true), firstRowReleasedOnDraw);
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
+
+    private static boolean areReleased(List<WeakReference<IRenderer>> renderers) {
+        System.gc();
+        for (WeakReference<IRenderer> renderer : renderers) {
+            if (renderer.get() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remembers the laid out renderers of the tracked cell and, if the results list is passed, checks whether
+     * the remembered renderers have been released by the time the cell is drawn.
+     */
+    private static class TrackedCellRenderer extends CellRenderer {
+        private final List<WeakReference<IRenderer>> trackedRenderers;
+        private final List<Boolean> releasedOnDraw;
+
+        TrackedCellRenderer(Cell modelElement, List<WeakReference<IRenderer>> trackedRenderers, List<Boolean> releasedOnDraw) {
+            super(modelElement);
+            this.trackedRenderers = trackedRenderers;
+            this.releasedOnDraw = releasedOnDraw;
+        }
+
+        @Override
+        public LayoutResult layout(LayoutContext layoutContext) {
+            if (releasedOnDraw == null) {
+                trackedRenderers.add(new WeakReference<IRenderer>(this));
+            }
+            return super.layout(layoutContext);
+        }
+
+        @Override
+        public void draw(DrawContext drawContext) {
+            if (releasedOnDraw != null) {
+                releasedOnDraw.add(areReleased(trackedRenderers));
+            }
+            super.draw(drawContext);
+        }
+
+        @Override
+        public IRenderer getNextRenderer() {
+            return new TrackedCellRenderer(getModelElement(), trackedRenderers, releasedOnDraw);
+        }
+    }
 }
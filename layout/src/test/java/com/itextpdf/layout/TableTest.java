@@ -5,7 +5,11 @@ import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.kernel.color.Color;
 import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.utils.CompareTool;
@@ -949,4 +953,37 @@ public class TableTest extends ExtendedITextTest{
         doc.close();
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
+
+    @Test
+    public void reuseRepeatedHeaderTest() throws IOException, InterruptedException {
+        String testName = "reuseRepeatedHeaderTest.pdf";
+        String outFileName = destinationFolder + testName;
+        String cmpFileName = sourceFolder + "cmp_" + testName;
+
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(new float[]{50, 50, 50});
+        table.setReuseRepeatedHeader(true);
+        table.addHeaderCell(new Cell().add(new Paragraph("Header 1")).setBackgroundColor(Color.LIGHT_GRAY));
+        table.addHeaderCell(new Cell().add(new Paragraph("Header 2")).setBackgroundColor(Color.LIGHT_GRAY));
+        table.addHeaderCell(new Cell().add(new Paragraph("Header 3")).setBackgroundColor(Color.LIGHT_GRAY));
+        for (int i = 0; i < 300; i++) {
+            table.addCell(new Cell().add(new Paragraph("cell " + i)));
+        }
+        doc.add(table);
+        doc.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertTrue(resultDoc.getNumberOfPages() > 2);
+        PdfObject headerXObject = resultDoc.getFirstPage().getPdfObject().getAsDictionary(PdfName.Resources)
+                .getAsDictionary(PdfName.XObject).get(new PdfName("Fm1"), false);
+        for (int i = 2; i <= resultDoc.getNumberOfPages(); i++) {
+            PdfDictionary xObjects = resultDoc.getPage(i).getPdfObject().getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.XObject);
+            Assert.assertSame(headerXObject, xObjects.get(new PdfName("Fm1"), false));
+        }
+        resultDoc.close();
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
+    }
 }
@@ -0,0 +1,74 @@
+package com.itextpdf.layout.hyphenation;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(IntegrationTest.class)
+public class HyphenationTreeCompilerTest extends ExtendedITextTest {
+
+    public static final String sourceFolder = "./src/test/resources/com/itextpdf/layout/HyphenationTreeCompilerTest/";
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/HyphenationTreeCompilerTest/";
+
+    private static final String[] WORDS = {"bahia", "pudlagem", "computador", "biblioteca", "universidade", "x"};
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void compiledPatternsTest() throws IOException, HyphenationException {
+        HyphenationTree parsed = new HyphenationTree();
+        parsed.loadPatterns(sourceFolder + "pt.xml");
+
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        HyphenationTreeCompiler.write(parsed, compiled);
+        HyphenationTree loaded = HyphenationTreeCompiler.read(new ByteArrayInputStream(compiled.toByteArray()));
+
+        Assert.assertFalse(loaded.stoplist.isEmpty());
+        assertSameHyphenation(parsed, loaded);
+    }
+
+    @Test
+    public void compiledPatternsFromDirectoryTest() throws IOException, HyphenationException {
+        HyphenationTreeCompiler.main(new String[] {sourceFolder, destinationFolder});
+        HyphenationTree compiled = HyphenationTreeCompiler.read(new FileInputStream(destinationFolder + "pt.hyb"));
+
+        HyphenationTree parsed = new HyphenationTree();
+        parsed.loadPatterns(sourceFolder + "pt.xml");
+        assertSameHyphenation(parsed, compiled);
+        assertSameHyphenation(parsed, Hyphenator.getHyphenationTree(destinationFolder, "pt"));
+    }
+
+    @Test
+    @LogMessages(messages = {
+            @LogMessage(messageTemplate = "Can't load compiled patterns corrupted: Unsupported compiled hyphenation patterns format")
+    })
+    public void corruptedCompiledPatternsTest() {
+        Assert.assertNull(Hyphenator.getCompiledHyphenationTree(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}), "corrupted"));
+    }
+
+    private static void assertSameHyphenation(HyphenationTree expected, HyphenationTree actual) {
+        for (String word : WORDS) {
+            Hyphenation expectedHyphenation = expected.hyphenate(word, 2, 2);
+            Hyphenation actualHyphenation = actual.hyphenate(word, 2, 2);
+            if (expectedHyphenation == null) {
+                Assert.assertNull(word, actualHyphenation);
+            } else {
+                Assert.assertArrayEquals(word, expectedHyphenation.getHyphenationPoints(), actualHyphenation.getHyphenationPoints());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PropertyMapTest extends ExtendedITextTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.FONT_SIZE, 12f);
+        properties.put(Property.BORDER, null);
+        properties.put(1000, "custom");
+        properties.put(-1, "negative");
+
+        Assert.assertEquals(4, properties.size());
+        Assert.assertEquals(12f, properties.get(Property.FONT_SIZE));
+        Assert.assertTrue(properties.containsKey(Property.BORDER));
+        Assert.assertNull(properties.get(Property.BORDER));
+        Assert.assertFalse(properties.containsKey(Property.MARGIN_TOP));
+        Assert.assertEquals("custom", properties.get(1000));
+        Assert.assertEquals("negative", properties.get(-1));
+
+        Assert.assertEquals(12f, properties.remove(Property.FONT_SIZE));
+        Assert.assertFalse(properties.containsKey(Property.FONT_SIZE));
+        Assert.assertEquals("custom", properties.remove(1000));
+        Assert.assertEquals(2, properties.size());
+
+        Map<Integer, Object> expected = new HashMap<>();
+        expected.put(Property.BORDER, null);
+        expected.put(-1, "negative");
+        Assert.assertEquals(expected, properties);
+    }
+
+    @Test
+    public void iterationOrderTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.WIDTH, 1);
+        properties.put(Property.BACKGROUND, 2);
+        properties.put(Property.FONT, 3);
+
+        List<Integer> keys = new ArrayList<>(properties.keySet());
+        Assert.assertEquals(Arrays.asList(Property.BACKGROUND, Property.FONT, Property.WIDTH), keys);
+
+        Iterator<Integer> iterator = properties.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+        Assert.assertEquals(Arrays.asList(Property.FONT, Property.WIDTH), new ArrayList<>(properties.keySet()));
+    }
+
+    @Test
+    public void copyOnWriteTest() {
+        PropertyMap properties = new PropertyMap();
+        properties.put(Property.FONT_SIZE, 12f);
+        properties.put(Property.FONT_COLOR, null);
+
+        PropertyMap copy = new PropertyMap(properties);
+        PropertyMap otherCopy = new PropertyMap();
+        otherCopy.putAll(properties);
+        Assert.assertEquals(properties, copy);
+        Assert.assertEquals(properties, otherCopy);
+
+        copy.put(Property.FONT_SIZE, 10f);
+        copy.put(Property.WIDTH, 1);
+        otherCopy.remove(Property.FONT_COLOR);
+        properties.put(Property.HEIGHT, 2);
+
+        Assert.assertEquals(12f, properties.get(Property.FONT_SIZE));
+        Assert.assertTrue(properties.containsKey(Property.FONT_COLOR));
+        Assert.assertFalse(properties.containsKey(Property.WIDTH));
+        Assert.assertEquals(3, properties.size());
+
+        Assert.assertEquals(10f, copy.get(Property.FONT_SIZE));
+        Assert.assertFalse(copy.containsKey(Property.HEIGHT));
+        Assert.assertEquals(3, copy.size());
+
+        Assert.assertEquals(12f, otherCopy.get(Property.FONT_SIZE));
+        Assert.assertEquals(1, otherCopy.size());
+    }
+}